@@ -1,8 +1,10 @@
 package com.workflow.automation.workflowbackend;
 
+import com.workflow.automation.workflowbackend.config.StartupReport;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
@@ -10,7 +12,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 public class WorkflowBackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(WorkflowBackendApplication.class, args);
+		SpringApplication application = new SpringApplication(WorkflowBackendApplication.class);
+		// -Dworkflow.startup.report=true records startup steps for StartupReport and /actuator/startup
+		if (Boolean.getBoolean("workflow.startup.report")) {
+			application.setApplicationStartup(new BufferingApplicationStartup(StartupReport.CAPACITY));
+		}
+		application.run(args);
 	}
 
 }
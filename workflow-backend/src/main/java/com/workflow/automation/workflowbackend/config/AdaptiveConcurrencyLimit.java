@@ -0,0 +1,126 @@
+package com.workflow.automation.workflowbackend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows latency. A slow moving average of response time stands in
+ * for the no-load latency; while recent responses stay within {@code tolerance} of it the
+ * limit creeps up by about {@code sqrt(limit)}, and as they slow down it is scaled back by
+ * the ratio between the two (never by more than half per update). Requests that fail with
+ * a 5xx cut the limit multiplicatively, as in AIMD.
+ * <p>
+ * Admission takes a share of the limit, so lower-priority requests are turned away while
+ * there is still room for higher-priority ones.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final int WARMUP_SAMPLES = 10;
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+    private volatile double longRttNanos;
+    private double shortRttNanos;
+    private long samples;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the limit are in use. Every successful
+     * call must be paired with {@link #release}.
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) return false;
+            if (inflight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    void release(long rttNanos, boolean dropped) {
+        int inflightBefore = inflight.getAndDecrement();
+        // A drop always counts; an ordinary sample is skipped if another thread is updating
+        if (dropped) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, inflightBefore, dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees a slot without a latency sample, for requests whose duration is set by the
+     * client rather than the server. A failure still backs the limit off.
+     */
+    void releaseUnsampled(boolean dropped) {
+        inflight.decrementAndGet();
+        if (!dropped) return;
+        lock.lock();
+        try {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rttNanos, int inflightBefore, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        samples++;
+        if (samples <= WARMUP_SAMPLES) {
+            longRttNanos += (rttNanos - longRttNanos) / samples;
+            shortRttNanos = longRttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+
+        // After a slow spell the baseline stays inflated for a long time; let it catch up
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // Too little traffic to say anything about the limit
+        if (inflightBefore < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    double baselineRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+}
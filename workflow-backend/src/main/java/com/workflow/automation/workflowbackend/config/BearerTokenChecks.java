@@ -0,0 +1,83 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.jfr.TokenVerifyEvent;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The token phases shared by {@link JwtAuthFilter} and {@link ReactiveJwtAuthFilter}: each
+ * feeds its {@code auth.filter} timer and a JFR event, and a phase that throws still
+ * records as invalid.
+ */
+final class BearerTokenChecks {
+
+    static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * How a request's bearer token fared, for the request log.
+     */
+    record Outcome(String auth, String user, String detail) {
+
+        static final Outcome NO_TOKEN = new Outcome("none", null, null);
+
+        static Outcome ok(String user) {
+            return new Outcome("ok", user, null);
+        }
+
+        static Outcome rejected(String user, String detail) {
+            return new Outcome("rejected", user, detail);
+        }
+
+        static Outcome rejected(Throwable error) {
+            return rejected(null, error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+    }
+
+    private final JwtService jwtService;
+    private final Timer jwtParseTimer;
+    private final Timer userLookupTimer;
+    private final Timer tokenValidationTimer;
+
+    BearerTokenChecks(JwtService jwtService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.jwtParseTimer = phaseTimer("jwt_parse", meterRegistry);
+        this.userLookupTimer = phaseTimer("user_lookup", meterRegistry);
+        this.tokenValidationTimer = phaseTimer("token_validation", meterRegistry);
+    }
+
+    private static Timer phaseTimer(String phase, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.filter")
+                .description("Time spent authenticating bearer tokens, by phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    String parse(String jwt) {
+        TokenVerifyEvent event = TokenVerifyEvent.start(TokenVerifyEvent.PARSE);
+        String username = null;
+        try {
+            username = jwtParseTimer.record(() -> jwtService.extractUsername(jwt));
+            return username;
+        } finally {
+            event.finish(username != null);
+        }
+    }
+
+    boolean validate(String jwt, AuthenticatedUser userDetails) {
+        TokenVerifyEvent event = TokenVerifyEvent.start(TokenVerifyEvent.VALIDATE);
+        boolean valid = false;
+        try {
+            valid = Boolean.TRUE.equals(tokenValidationTimer.record(() -> jwtService.isTokenValid(jwt, userDetails)));
+            return valid;
+        } finally {
+            event.finish(valid);
+        }
+    }
+
+    Timer userLookupTimer() {
+        return userLookupTimer;
+    }
+}
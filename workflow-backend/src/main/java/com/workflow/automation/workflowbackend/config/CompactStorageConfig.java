@@ -0,0 +1,159 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.StorageFormat;
+import org.bson.Document;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.env.Environment;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mapping.model.FieldNamingStrategy;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps {@link Workflow} and {@link User} to the {@link CompactFormat} layout when
+ * {@code workflow.storage.compact=true}: short keys through the field naming strategy,
+ * enums and due dates through converters. Reading either layout is always possible, so
+ * documents written before a switch stay readable until the migrator has rewritten them.
+ */
+@Configuration
+public class CompactStorageConfig {
+
+    /**
+     * Short keys for {@link Workflow} and {@link User} properties, names for everything else.
+     */
+    public static final FieldNamingStrategy COMPACT_FIELD_NAMES = property -> {
+        Class<?> owner = property.getOwner().getType();
+        if (owner == Workflow.class) return CompactFormat.keyOf(CompactFormat.WORKFLOWS, property.getName());
+        if (owner == User.class) return CompactFormat.keyOf(CompactFormat.USERS, property.getName());
+        return property.getName();
+    };
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(StorageFormat storageFormat) {
+        return conversions(storageFormat.compact());
+    }
+
+    public static MongoCustomConversions conversions(boolean compact) {
+        List<Converter<?, ?>> converters = new ArrayList<>(List.of(
+                OrdinalToStatus.INSTANCE, OrdinalToRole.INSTANCE, EpochDayToDate.INSTANCE));
+        if (compact) {
+            converters.addAll(List.of(StatusToOrdinal.INSTANCE, RoleToOrdinal.INSTANCE, DateToEpochDay.INSTANCE));
+        }
+        return new MongoCustomConversions(converters);
+    }
+
+    // Static so it is registered before the mapping context and converter it post-processes.
+    // The compact layout also drops the _class type key; neither entity is polymorphic.
+    @Bean
+    public static BeanPostProcessor compactStorageLayout(Environment environment) {
+        boolean compact = environment.getProperty("workflow.storage.compact", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (compact && bean instanceof MongoMappingContext context) {
+                    context.setFieldNamingStrategy(COMPACT_FIELD_NAMES);
+                }
+                if (compact && bean instanceof MappingMongoConverter converter) {
+                    converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public AbstractMongoEventListener<Object> storageFormatReader(StorageFormat storageFormat) {
+        return new AbstractMongoEventListener<>() {
+            @Override
+            public void onAfterLoad(AfterLoadEvent<Object> event) {
+                String collection = event.getCollectionName();
+                if (!CompactFormat.WORKFLOWS.equals(collection) && !CompactFormat.USERS.equals(collection)) return;
+
+                Document document = event.getDocument();
+                if (document == null) return;
+                Document normalized = storageFormat.normalize(document, collection);
+                if (normalized != document) {
+                    document.clear();
+                    document.putAll(normalized);
+                }
+            }
+        };
+    }
+
+    @WritingConverter
+    enum StatusToOrdinal implements Converter<WorkflowStatus, Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer convert(WorkflowStatus source) {
+            return source.ordinal();
+        }
+    }
+
+    @ReadingConverter
+    enum OrdinalToStatus implements Converter<Integer, WorkflowStatus> {
+        INSTANCE;
+
+        @Override
+        public WorkflowStatus convert(Integer source) {
+            return WorkflowStatus.values()[source];
+        }
+    }
+
+    @WritingConverter
+    enum RoleToOrdinal implements Converter<UserRole, Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer convert(UserRole source) {
+            return source.ordinal();
+        }
+    }
+
+    @ReadingConverter
+    enum OrdinalToRole implements Converter<Integer, UserRole> {
+        INSTANCE;
+
+        @Override
+        public UserRole convert(Integer source) {
+            return UserRole.values()[source];
+        }
+    }
+
+    @WritingConverter
+    enum DateToEpochDay implements Converter<LocalDate, Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer convert(LocalDate source) {
+            return (int) source.toEpochDay();
+        }
+    }
+
+    @ReadingConverter
+    enum EpochDayToDate implements Converter<Integer, LocalDate> {
+        INSTANCE;
+
+        @Override
+        public LocalDate convert(Integer source) {
+            return LocalDate.ofEpochDay(source);
+        }
+    }
+}
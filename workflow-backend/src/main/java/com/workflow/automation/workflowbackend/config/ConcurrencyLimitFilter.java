@@ -0,0 +1,194 @@
+package com.workflow.automation.workflowbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caps how many workflow, user and login requests run at once, so that when Mongo slows
+ * down the excess is turned away with a 503 instead of tying up every Tomcat thread. The
+ * cap adapts to observed latency (see {@link AdaptiveConcurrencyLimit}).
+ * <p>
+ * Runs ahead of Spring Security because the bearer-token check loads the user from Mongo
+ * too. Each route has a {@link Priority}: list, search and export are shed first, login
+ * and status changes last. The limit, in-flight count and rejections are exported as
+ * {@code concurrency.limit}, {@code concurrency.inflight} and {@code concurrency.rejected}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum Priority { CRITICAL, NORMAL, SHEDDABLE }
+
+    // Streamed routes hold a slot but their time is not a latency sample (see doFilterInternal).
+    // Patterns are compiled once; a request only walks their parsed path elements.
+    record Route(String method, PathPattern pattern, Priority priority, boolean streamed) {
+
+        Route(String method, String pattern, Priority priority, boolean streamed) {
+            this(method, PathPatternParser.defaultInstance.parse(pattern), priority, streamed);
+        }
+
+        Route(String method, String pattern, Priority priority) {
+            this(method, pattern, priority, false);
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    // First match wins; method null matches any method, priority null leaves the route unlimited
+    private static final List<Route> ROUTES = List.of(
+            new Route("POST", "/api/auth/login", Priority.CRITICAL),
+            new Route("PATCH", "/api/workflows/*/status", Priority.CRITICAL),
+            new Route("GET", "/api/workflows", Priority.SHEDDABLE),
+            new Route("GET", "/api/workflows/export", Priority.SHEDDABLE, true),
+            new Route("GET", "/api/workflows/search", Priority.SHEDDABLE),
+            new Route("GET", "/api/workflows/me/**", Priority.SHEDDABLE),
+            new Route("GET", "/api/users", Priority.SHEDDABLE),
+            new Route("GET", "/api/users/role/*", Priority.SHEDDABLE),
+            // Attachment transfers run at the client's pace, which says nothing about Mongo
+            new Route("GET", "/api/workflows/*/attachments/*", null),
+            new Route("POST", "/api/workflows/*/attachments", null),
+            new Route(null, "/api/workflows/**", Priority.NORMAL),
+            new Route(null, "/api/users/**", Priority.NORMAL)
+    );
+
+    // Set by shouldNotFilter so doFilterInternal does not match the route a second time
+    private static final String ROUTE_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".route";
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\"Server is busy, retry shortly\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit limit;
+    private final Map<Priority, Double> shares = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(@Value("${workflow.concurrency.enabled:true}") boolean enabled,
+                                  @Value("${workflow.concurrency.initial-limit:50}") int initialLimit,
+                                  @Value("${workflow.concurrency.min-limit:10}") int minLimit,
+                                  @Value("${workflow.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${workflow.concurrency.latency-tolerance:1.5}") double tolerance,
+                                  @Value("${workflow.concurrency.share.normal:0.9}") double normalShare,
+                                  @Value("${workflow.concurrency.share.sheddable:0.6}") double sheddableShare,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance);
+        shares.put(Priority.CRITICAL, 1.0);
+        shares.put(Priority.NORMAL, normalShare);
+        shares.put(Priority.SHEDDABLE, sheddableShare);
+
+        Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive limit on concurrent API requests")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", limit, AdaptiveConcurrencyLimit::inflight)
+                .description("API requests currently holding a slot")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.baseline.rtt", limit, AdaptiveConcurrencyLimit::baselineRttMillis)
+                .description("Long-run average response time the limit compares against")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("concurrency.rejected")
+                    .description("Requests turned away with 503 by the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) return true;
+        Route route = routeOf(request.getMethod(), pathOf(request));
+        if (route == null) return true;
+        request.setAttribute(ROUTE_ATTRIBUTE, route);
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Route route = (Route) request.getAttribute(ROUTE_ATTRIBUTE);
+        Priority priority = route.priority();
+        if (!limit.tryAcquire(shares.get(priority))) {
+            rejected.get(priority).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            // An export's time is mostly the client draining the body, which says nothing about Mongo
+            if (route.streamed()) {
+                limit.releaseUnsampled(dropped);
+            } else {
+                limit.release(System.nanoTime() - start, dropped);
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    /**
+     * The route's priority, or {@code null} for routes the limit does not cover.
+     */
+    static Priority priorityOf(String method, String path) {
+        Route route = routeOf(method, PathContainer.parsePath(path));
+        return route != null ? route.priority() : null;
+    }
+
+    /**
+     * The first route matching the request, or {@code null} for routes the limit does not cover.
+     */
+    static Route routeOf(String method, PathContainer path) {
+        for (Route route : ROUTES) {
+            if (route.matches(method, path)) {
+                return route.priority() != null ? route : null;
+            }
+        }
+        return null;
+    }
+
+    // Parsed once per request and cached on it, where RateLimitFilter finds it again;
+    // matched within the application, so a servlet context path does not hide every route
+    private static PathContainer pathOf(HttpServletRequest request) {
+        return (ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : ServletRequestPathUtils.parseAndCache(request)).pathWithinApplication();
+    }
+}
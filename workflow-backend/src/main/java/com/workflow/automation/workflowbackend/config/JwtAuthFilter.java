@@ -1,13 +1,18 @@
 package com.workflow.automation.workflowbackend.config;
 
+import com.workflow.automation.workflowbackend.config.BearerTokenChecks.Outcome;
+import com.workflow.automation.workflowbackend.jfr.PrincipalLoadEvent;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.service.CustomUserDetailsService;
+import com.workflow.automation.workflowbackend.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,15 +20,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final com.workflow.automation.workflowbackend.service.JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final RequestLog requestLog;
+    private final BearerTokenChecks tokens;
 
-    public JwtAuthFilter(com.workflow.automation.workflowbackend.service.JwtService jwtService,
-                         UserDetailsService userDetailsService) {
-        this.jwtService = jwtService;
+    public JwtAuthFilter(JwtService jwtService,
+                         CustomUserDetailsService userDetailsService,
+                         RequestLog requestLog,
+                         MeterRegistry meterRegistry) {
         this.userDetailsService = userDetailsService;
+        this.requestLog = requestLog;
+        this.tokens = new BearerTokenChecks(jwtService, meterRegistry);
     }
 
     @Override
@@ -31,32 +41,39 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        // Debug print for incoming request
-        System.out.println("Processing request to: " + request.getRequestURI());
+        long start = System.nanoTime();
+        Outcome outcome = authenticate(request);
 
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Sampled on this thread, formatted and written by the request log's own thread
+            requestLog.record(request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                    failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    start, outcome, failure);
+        }
+    }
+
+    private Outcome authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
 
         // Skip if no Authorization header
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            System.out.println("No Bearer token found, continuing chain");
-            filterChain.doFilter(request, response);
-            return;
+        if (authHeader == null || !authHeader.startsWith(BearerTokenChecks.BEARER_PREFIX)) {
+            return Outcome.NO_TOKEN;
         }
 
         try {
-            final String jwt = authHeader.substring(7);
-            System.out.println("JWT Token received: " + jwt);
-
-            final String username = jwtService.extractUsername(jwt);
-            System.out.println("Extracted username from token: " + username);
+            final String jwt = authHeader.substring(BearerTokenChecks.BEARER_PREFIX.length());
+            final String username = tokens.parse(jwt);
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                System.out.println("Loading user details for: " + username);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    System.out.println("Token is valid for user: " + username);
+                AuthenticatedUser userDetails = loadPrincipal(username);
 
+                if (tokens.validate(jwt, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -69,22 +86,26 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     );
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                    // Debug prints (keeping your originals)
-                    System.out.println("Auth token authorities: " + authToken.getAuthorities());
-                    System.out.println("UserDetails authorities: " + userDetails.getAuthorities());
-                    System.out.println("SecurityContext auth: " +
-                            SecurityContextHolder.getContext().getAuthentication());
-                } else {
-                    System.out.println("Token validation failed for user: " + username);
+                    return Outcome.ok(username);
                 }
+                return Outcome.rejected(username, "token validation failed");
             }
+            return Outcome.rejected(null, "token has no subject");
         } catch (Exception e) {
-            // This will catch any JWT parsing or validation errors
-            System.err.println("Error processing JWT: " + e.getMessage());
-            // Continue with the filter chain - let the security layer handle unauthorized requests
+            // This will catch any JWT parsing or validation errors; the security layer
+            // then handles the request as unauthenticated
+            return Outcome.rejected(e);
         }
+    }
 
-        filterChain.doFilter(request, response);
+    private AuthenticatedUser loadPrincipal(String username) {
+        PrincipalLoadEvent event = PrincipalLoadEvent.start();
+        AuthenticatedUser user = null;
+        try {
+            user = tokens.userLookupTimer().record(() -> userDetailsService.loadTokenPrincipal(username));
+            return user;
+        } finally {
+            event.finish(user);
+        }
     }
-}
\ No newline at end of file
+}
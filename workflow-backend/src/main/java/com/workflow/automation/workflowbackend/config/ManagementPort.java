@@ -0,0 +1,33 @@
+package com.workflow.automation.workflowbackend.config;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * The port the actuator's own server listens on when {@code management.server.port} sets
+ * it apart from the API. Taken from the started server rather than the property, so a
+ * random port ({@code 0}) works too; -1 until then, or when actuator shares the API port.
+ * <p>
+ * Both security configs let Prometheus scrape without a JWT only on this port.
+ */
+@Component
+public class ManagementPort {
+
+    private static final String MANAGEMENT_NAMESPACE = "management";
+
+    private volatile int port = -1;
+
+    // The management child context publishes through to this one
+    @EventListener
+    void onServerStarted(WebServerInitializedEvent event) {
+        if (MANAGEMENT_NAMESPACE.equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    public boolean matches(int localPort) {
+        int managementPort = port;
+        return managementPort > 0 && managementPort == localPort;
+    }
+}
@@ -0,0 +1,15 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.service.MongoQueryProfiler;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoProfilerConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryProfilerCustomizer(MongoQueryProfiler profiler) {
+        return settings -> settings.addCommandListener(profiler);
+    }
+}
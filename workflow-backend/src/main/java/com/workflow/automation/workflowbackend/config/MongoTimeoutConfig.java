@@ -0,0 +1,24 @@
+package com.workflow.automation.workflowbackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoTimeoutConfig {
+
+    // The driver waits 30s for a primary by default; during a failover that is 30s per
+    // request before MongoCircuitBreaker even sees a failure
+    @Bean
+    public MongoClientSettingsBuilderCustomizer serverSelectionTimeoutCustomizer(
+            @Value("${workflow.mongo.server-selection-timeout-ms:0}") long timeoutMs) {
+        return settings -> {
+            if (timeoutMs > 0) {
+                settings.applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(timeoutMs, TimeUnit.MILLISECONDS));
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.jfr.RecordedPasswordEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Shared by the servlet and reactive security setups, and by UserService in either mode
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new RecordedPasswordEncoder(new BCryptPasswordEncoder());
+    }
+}
@@ -0,0 +1,210 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user rate limits, keyed by the JWT subject and applied after {@link JwtAuthFilter}
+ * has authenticated the request. A user's allowance on an endpoint is their role's rate
+ * times the endpoint's factor, with a burst of {@code burst-seconds} worth of requests;
+ * each endpoint pattern is its own bucket. Requests over the allowance get a 429 with
+ * Retry-After.
+ * <p>
+ * Unauthenticated requests, roles without a rate and paths matching no pattern pass
+ * untouched. Idle buckets are evicted in the background (see {@link TokenBucketTable}).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Patterns are compiled at startup; a request only walks their parsed path elements
+    record Endpoint(String method, PathPattern pattern, double factor) {
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final byte[] REJECTED_BODY =
+            "{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final List<Endpoint> endpoints;
+    private final TokenBucketTable buckets;
+    // Indexed [role][endpoint]; absent roles are unlimited
+    private final Map<UserRole, long[]> intervals = new EnumMap<>(UserRole.class);
+    private final Map<UserRole, long[]> bursts = new EnumMap<>(UserRole.class);
+    private final Map<UserRole, Counter[]> rejected = new EnumMap<>(UserRole.class);
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimitFilter(@Value("${workflow.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${workflow.rate-limit.role-rates:}") String roleRates,
+                           @Value("${workflow.rate-limit.endpoints:}") String endpointFactors,
+                           @Value("${workflow.rate-limit.burst-seconds:5}") double burstSeconds,
+                           @Value("${workflow.rate-limit.evict-interval-seconds:30}") long evictIntervalSeconds,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.endpoints = parseEndpoints(endpointFactors);
+        this.buckets = new TokenBucketTable(endpoints.size(), System::nanoTime);
+
+        parseRoleRates(roleRates).forEach((role, rate) -> {
+            long[] roleIntervals = new long[endpoints.size()];
+            long[] roleBursts = new long[endpoints.size()];
+            Counter[] roleRejected = new Counter[endpoints.size()];
+            for (int i = 0; i < endpoints.size(); i++) {
+                Endpoint endpoint = endpoints.get(i);
+                double perSecond = rate * endpoint.factor();
+                roleIntervals[i] = Math.max(1, (long) (NANOS_PER_SECOND / perSecond));
+                roleBursts[i] = Math.max(1, (long) (perSecond * burstSeconds));
+                roleRejected[i] = Counter.builder("rate.limit.rejected")
+                        .description("Requests turned away with 429 by per-user rate limits")
+                        .tag("role", role.name())
+                        .tag("endpoint", endpoint.method() != null ? endpoint.method() + " " + endpoint.pattern().getPatternString()
+                                : endpoint.pattern().getPatternString())
+                        .register(meterRegistry);
+            }
+            intervals.put(role, roleIntervals);
+            bursts.put(role, roleBursts);
+            rejected.put(role, roleRejected);
+        });
+
+        Gauge.builder("rate.limit.tracked.users", buckets, TokenBucketTable::size)
+                .description("Users holding a partly drained rate-limit bucket")
+                .register(meterRegistry);
+        if (enabled) {
+            evictor.scheduleWithFixedDelay(buckets::evictIdle, evictIntervalSeconds, evictIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictor.shutdownNow();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = enabled ? admit(request) : 0;
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private long admit(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return 0;
+        }
+        long[] roleIntervals = intervals.get(user.getRole());
+        if (roleIntervals == null) return 0;
+
+        int endpoint = endpointOf(request.getMethod(), pathOf(request));
+        if (endpoint < 0) return 0;
+
+        long wait = buckets.tryAcquire(user.getEmail(), endpoint, roleIntervals[endpoint], bursts.get(user.getRole())[endpoint]);
+        if (wait > 0) {
+            rejected.get(user.getRole())[endpoint].increment();
+        }
+        return wait;
+    }
+
+    int endpointOf(String method, PathContainer path) {
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (endpoints.get(i).matches(method, path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Parsed once per request and cached on it, where later path-pattern lookups find it
+    private static PathContainer pathOf(HttpServletRequest request) {
+        return (ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : ServletRequestPathUtils.parseAndCache(request)).pathWithinApplication();
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    // "ADMIN=40,MANAGER=20,STAFF=10", requests per second
+    static Map<UserRole, Double> parseRoleRates(String spec) {
+        Map<UserRole, Double> rates = new EnumMap<>(UserRole.class);
+        for (Map.Entry<String, Double> entry : parsePairs(spec, "workflow.rate-limit.role-rates").entrySet()) {
+            rates.put(UserRole.valueOf(entry.getKey().toUpperCase()), entry.getValue());
+        }
+        return rates;
+    }
+
+    // "GET /api/workflows/export=0.05,/api/workflows/**=1"; optional method, first match wins
+    static List<Endpoint> parseEndpoints(String spec) {
+        List<Endpoint> parsed = new ArrayList<>();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        parsePairs(spec, "workflow.rate-limit.endpoints").forEach((key, factor) -> {
+            int space = key.indexOf(' ');
+            parsed.add(space > 0
+                    ? new Endpoint(key.substring(0, space).toUpperCase(), parser.parse(key.substring(space + 1).trim()), factor)
+                    : new Endpoint(null, parser.parse(key), factor));
+        });
+        return parsed;
+    }
+
+    private static Map<String, Double> parsePairs(String spec, String property) {
+        Map<String, Double> pairs = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) return pairs;
+        for (String pair : spec.split(",")) {
+            int eq = pair.lastIndexOf('=');
+            double value = eq > 0 ? Double.parseDouble(pair.substring(eq + 1).trim()) : 0;
+            if (value <= 0) {
+                throw new IllegalArgumentException("Expected key=positive number in " + property + ": " + pair);
+            }
+            pairs.put(pair.substring(0, eq).trim(), value);
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,68 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.workflow.automation.workflowbackend.dto.RawWorkflowList;
+import com.workflow.automation.workflowbackend.dto.WorkflowBsonJsonTranscoder;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes {@link RawWorkflowList} as an array, transcoding each BSON document directly
+ * into the response stream. The factory decides the encoding (JSON, CBOR, Smile).
+ */
+public class RawWorkflowListHttpMessageConverter extends AbstractHttpMessageConverter<RawWorkflowList> {
+
+    private final JsonFactory jsonFactory;
+
+    public RawWorkflowListHttpMessageConverter(JsonFactory jsonFactory) {
+        this(jsonFactory, MediaType.APPLICATION_JSON);
+    }
+
+    public RawWorkflowListHttpMessageConverter(JsonFactory jsonFactory, MediaType mediaType) {
+        super(mediaType);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return RawWorkflowList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RawWorkflowList readInternal(Class<? extends RawWorkflowList> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("RawWorkflowList is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(RawWorkflowList workflows, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (JsonGenerator json = jsonFactory.createGenerator(outputMessage.getBody())) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            workflows.forEach(document -> {
+                try {
+                    WorkflowBsonJsonTranscoder.write(document, json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.workflow.automation.workflowbackend.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Structured per-request log written off the request path. Request threads decide whether
+ * to sample, then drop an {@link Entry} into a bounded lock-free ring; a single background
+ * thread formats and writes entries to the {@code workflow.request} logger. When the ring
+ * is full the entry is dropped and counted in {@code request.log.dropped} instead of
+ * blocking the request.
+ * <p>
+ * Sampling is by level, with per-endpoint overrides for INFO: warnings (rejected tokens,
+ * 4xx) and errors (5xx) are kept at their own rates so they survive heavy INFO sampling.
+ */
+@Component
+public class RequestLog {
+
+    private static final Logger log = LoggerFactory.getLogger("workflow.request");
+    private static final int DRAIN_BATCH = 512;
+
+    // Three base64url segments: a compact JWS wherever it turns up
+    private static final Pattern JWT = Pattern.compile("[A-Za-z0-9_-]{8,}\\.[A-Za-z0-9_-]{8,}\\.[A-Za-z0-9_-]{8,}");
+    private static final Pattern BEARER = Pattern.compile("(?i)(bearer\\s+)\\S+");
+    private static final Pattern SECRET_PARAM = Pattern.compile("(?i)((?:password|token|access_token|secret)=)[^&\\s]*");
+
+    /**
+     * One finished request. {@code auth} is {@code none}, {@code ok} or {@code rejected}.
+     * {@code path} and {@code detail} are raw; the writer redacts them.
+     */
+    public record Entry(Instant timestamp, Level level, String method, String path, int status,
+                        long durationMicros, String user, String auth, String detail) {
+    }
+
+    private final boolean enabled;
+    private final double infoRate;
+    private final double warnRate;
+    private final double errorRate;
+    private final Map<String, Double> endpointRates;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final RequestLogBuffer<Entry> buffer;
+    private final LongAdder written = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public RequestLog(@Value("${workflow.request-log.enabled:true}") boolean enabled,
+                      @Value("${workflow.request-log.capacity:8192}") int capacity,
+                      @Value("${workflow.request-log.sample.info:0.1}") double infoRate,
+                      @Value("${workflow.request-log.sample.warn:1.0}") double warnRate,
+                      @Value("${workflow.request-log.sample.error:1.0}") double errorRate,
+                      @Value("${workflow.request-log.sample.endpoints:}") String endpointRates,
+                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.infoRate = infoRate;
+        this.warnRate = warnRate;
+        this.errorRate = errorRate;
+        this.endpointRates = parseEndpointRates(endpointRates);
+        this.buffer = new RequestLogBuffer<>(capacity);
+
+        FunctionCounter.builder("request.log.written", written, LongAdder::sum)
+                .description("Request log entries written")
+                .register(meterRegistry);
+        FunctionCounter.builder("request.log.dropped", buffer, RequestLogBuffer::dropped)
+                .description("Request log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("request.log.pending", buffer, RequestLogBuffer::size)
+                .description("Request log entries waiting for the writer")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drainLoop, "request-log-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Sampling decision for a finished request, made before anything is allocated for it.
+     */
+    public boolean shouldLog(Level level, String path) {
+        if (!enabled) return false;
+        double rate = switch (level) {
+            case ERROR -> errorRate;
+            case WARN -> warnRate;
+            default -> infoRate(path);
+        };
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    public void submit(Entry entry) {
+        buffer.offer(entry);
+    }
+
+    /**
+     * Logs a finished request if sampling keeps it. Rejected tokens and other 4xx responses
+     * log at WARN, 5xx at ERROR, the rest at INFO.
+     */
+    void record(String method, String path, String query, int status, long startNanos,
+                BearerTokenChecks.Outcome outcome, Throwable failure) {
+        Level level = status >= 500 ? Level.ERROR
+                : status >= 400 || outcome.auth().equals("rejected") ? Level.WARN
+                : Level.INFO;
+        if (!shouldLog(level, path)) return;
+
+        String detail = failure != null ? failure.getClass().getSimpleName() + ": " + failure.getMessage() : outcome.detail();
+        submit(new Entry(Instant.now(), level, method, query != null ? path + '?' + query : path, status,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), outcome.user(), outcome.auth(), detail));
+    }
+
+    private double infoRate(String path) {
+        for (Map.Entry<String, Double> override : endpointRates.entrySet()) {
+            if (matcher.match(override.getKey(), path)) return override.getValue();
+        }
+        return infoRate;
+    }
+
+    /**
+     * Masks bearer tokens, anything shaped like a JWT, and credential query parameters.
+     */
+    public static String redact(String text) {
+        if (text == null || text.isEmpty()) return text;
+        String redacted = BEARER.matcher(text).replaceAll("$1[redacted]");
+        redacted = JWT.matcher(redacted).replaceAll("[jwt]");
+        return SECRET_PARAM.matcher(redacted).replaceAll("$1[redacted]");
+    }
+
+    // "/api/auth/**=1.0,/api/workflows/export=0.01"; first match wins
+    static Map<String, Double> parseEndpointRates(String spec) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) return rates;
+        for (String pair : spec.split(",")) {
+            int eq = pair.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected pattern=rate in workflow.request-log.sample.endpoints: " + pair);
+            }
+            rates.put(pair.substring(0, eq).trim(), Double.parseDouble(pair.substring(eq + 1).trim()));
+        }
+        return rates;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+        }
+        buffer.drain(this::write, Integer.MAX_VALUE);
+    }
+
+    private void write(Entry entry) {
+        if (!log.isEnabledForLevel(entry.level())) return;
+        StringBuilder line = new StringBuilder(160)
+                .append("ts=").append(entry.timestamp())
+                .append(" method=").append(entry.method())
+                .append(" path=").append(redact(entry.path()))
+                .append(" status=").append(entry.status())
+                .append(" duration_us=").append(entry.durationMicros())
+                .append(" auth=").append(entry.auth());
+        if (entry.user() != null) line.append(" user=").append(entry.user());
+        if (entry.detail() != null) line.append(" detail=\"").append(redact(entry.detail())).append('"');
+        log.atLevel(entry.level()).log(line.toString());
+        written.increment();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(2));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.workflow.automation.workflowbackend.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring for many producers and a single consumer. Producers claim a
+ * slot with one CAS and never wait: when the ring is full the item is dropped and
+ * counted. The consumer is the only thread that advances {@code head}.
+ */
+final class RequestLogBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long head;
+
+    RequestLogBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(T item) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head >= slots.length()) {
+                dropped.increment();
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.lazySet((int) (claimed & mask), item);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} items to the consumer in order and returns how many it took.
+     * Stops early at a slot that has been claimed but not yet filled.
+     */
+    int drain(Consumer<? super T> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            T item = slots.get(index);
+            if (item == null) break;
+            slots.lazySet(index, null);
+            position++;
+            head = position;
+            drained++;
+            consumer.accept(item);
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,61 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.dto.RawWorkflowList;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rows returned per call of each list endpoint, as the {@code api.list.size} distribution.
+ */
+@Component
+public class ResultSizeMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public ResultSizeMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T extends Collection<?>> T record(String endpoint, T rows) {
+        summary(endpoint).record(rows.size());
+        return rows;
+    }
+
+    /**
+     * Counts documents as they stream through and records the total once the source is
+     * exhausted, so streamed responses are measured without buffering them.
+     */
+    public RawWorkflowList.Source counting(String endpoint, RawWorkflowList.Source source) {
+        return consumer -> {
+            long[] rows = new long[1];
+            source.forEach(document -> {
+                rows[0]++;
+                consumer.accept(document);
+            });
+            summary(endpoint).record(rows[0]);
+        };
+    }
+
+    /**
+     * Records a row count taken by the caller, such as a reactive stream counting as it
+     * completes.
+     */
+    public void record(String endpoint, long rows) {
+        summary(endpoint).record(rows);
+    }
+
+    private DistributionSummary summary(String endpoint) {
+        return summaries.computeIfAbsent(endpoint, name -> DistributionSummary.builder("api.list.size")
+                .description("Rows returned by list endpoints")
+                .baseUnit("rows")
+                .tag("endpoint", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,61 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.dto.LoginRequest;
+import com.workflow.automation.workflowbackend.dto.LoginResponse;
+import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints that AOT processing cannot work out on its own, for the
+ * native image built with {@code -Pnative}. Mongo entities and JSON DTOs are read and
+ * written reflectively by Spring Data and Jackson; JJWT instantiates its implementation and
+ * compression codecs by class name and finds its Jackson serializer through ServiceLoader.
+ */
+@Configuration
+@ImportRuntimeHints(RuntimeHintsConfig.WorkflowRuntimeHints.class)
+public class RuntimeHintsConfig {
+
+    static class WorkflowRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> DATA_TYPES = List.of(
+                Workflow.class, WorkflowStatus.class, User.class, UserRole.class,
+                WorkflowDTO.class, LoginRequest.class, LoginResponse.class);
+
+        // jjwt-impl and jjwt-jackson are runtime-only, hence names rather than classes
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : DATA_TYPES) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+            hints.resources().registerPattern("jfr/workflow.jfc");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.service.StaleReadStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Marks responses built from results kept by {@link StaleReadStore} with {@code Age} (seconds
+ * since the result was read from Mongo) and {@code Warning: 110}, so clients can tell a
+ * degraded answer from a current one.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(StaleReadStore.SERVED_STALE_ATTRIBUTE) instanceof Instant storedAt) {
+            long age = Math.max(0, Duration.between(storedAt, Instant.now()).toSeconds());
+            response.getHeaders().set(HttpHeaders.AGE, Long.toString(age));
+            response.getHeaders().set(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+        }
+        return body;
+    }
+}
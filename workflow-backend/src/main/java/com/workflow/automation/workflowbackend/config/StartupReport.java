@@ -0,0 +1,78 @@
+package com.workflow.automation.workflowbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs where boot time went when the application was started with
+ * {@code -Dworkflow.startup.report=true}: JVM and context start times, whether AOT and a
+ * CDS archive were in use, and the slowest recorded startup steps. The full timeline stays
+ * available at {@code /actuator/startup}.
+ */
+@Component
+public class StartupReport {
+
+    public static final int CAPACITY = 8192;
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private final int top;
+
+    public StartupReport(@Value("${workflow.startup.report.top:15}") int top) {
+        this.top = top;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        List<StartupTimeline.TimelineEvent> slowest = timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .toList();
+
+        StringBuilder report = new StringBuilder(256 + 96 * slowest.size())
+                .append("Startup: ready in ").append(event.getTimeTaken().toMillis()).append(" ms")
+                .append(", JVM up ").append(ManagementFactory.getRuntimeMXBean().getUptime()).append(" ms")
+                .append(", aot=").append(Boolean.getBoolean("spring.aot.enabled"))
+                .append(", cds=").append(cdsArchive())
+                .append(", steps recorded=").append(timeline.getEvents().size())
+                .append("\nSlowest steps (duration includes nested steps):");
+        for (StartupTimeline.TimelineEvent step : slowest) {
+            report.append(String.format("%n  %6d ms  %s%s", step.getDuration().toMillis(),
+                    step.getStartupStep().getName(), tags(step.getStartupStep())));
+        }
+        log.info(report.toString());
+    }
+
+    private static String tags(StartupStep step) {
+        String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+        return tags.isEmpty() ? "" : " [" + tags + "]";
+    }
+
+    private static String cdsArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(arg -> arg.startsWith("-XX:SharedArchiveFile="))
+                .map(arg -> arg.substring("-XX:SharedArchiveFile=".length()))
+                .findFirst()
+                .orElse("none");
+    }
+}
@@ -0,0 +1,240 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.UserRepository;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import com.workflow.automation.workflowbackend.service.CustomUserDetailsService;
+import com.workflow.automation.workflowbackend.service.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the instance before it takes traffic. Boot reports readiness
+ * ({@code /actuator/health/readiness}) only after application runners return, so a rolling
+ * deploy keeps routing to the old instances while this runs:
+ * <ol>
+ *   <li>{@code mongo-pool}: waits for the driver to open {@code workflow.mongo.min-pool-size} connections</li>
+ *   <li>{@code users}: loads every user and keeps each one as the principal for its email</li>
+ *   <li>{@code recent-workflows}: renders the most recently updated workflows into the JSON fragment cache</li>
+ *   <li>{@code jit}: repeats token verification and DTO serialization until they are compiled</li>
+ * </ol>
+ * The whole phase shares {@code workflow.warmup.budget-seconds}; a step that runs out of
+ * budget stops where it is and the instance goes ready anyway. If Mongo cannot be reached
+ * the Mongo steps are skipped. Progress is exported as {@code warmup.progress}, per-step
+ * times as {@code warmup.step} and work done as {@code warmup.items}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final List<String> STEPS = List.of("mongo-pool", "users", "recent-workflows", "jit");
+
+    private final MongoClient mongoClient;
+    private final UserRepository userRepository;
+    private final WorkflowRepository workflowRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final WorkflowJsonFragmentCache fragmentCache;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String database;
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final int minPoolSize;
+    private final int recentWorkflows;
+    private final int jitIterations;
+    private final AtomicInteger completedSteps = new AtomicInteger();
+
+    public StartupWarmup(MongoClient mongoClient,
+                         UserRepository userRepository,
+                         WorkflowRepository workflowRepository,
+                         CustomUserDetailsService userDetailsService,
+                         WorkflowJsonFragmentCache fragmentCache,
+                         JwtService jwtService,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${spring.data.mongodb.database:workflowbackend}") String database,
+                         @Value("${workflow.warmup.enabled:true}") boolean enabled,
+                         @Value("${workflow.warmup.budget-seconds:60}") long budgetSeconds,
+                         @Value("${workflow.mongo.min-pool-size:0}") int minPoolSize,
+                         @Value("${workflow.warmup.recent-workflows:2000}") int recentWorkflows,
+                         @Value("${workflow.warmup.jit-iterations:5000}") int jitIterations) {
+        this.mongoClient = mongoClient;
+        this.userRepository = userRepository;
+        this.workflowRepository = workflowRepository;
+        this.userDetailsService = userDetailsService;
+        this.fragmentCache = fragmentCache;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.database = database;
+        this.enabled = enabled;
+        this.budgetNanos = TimeUnit.SECONDS.toNanos(budgetSeconds);
+        this.minPoolSize = minPoolSize;
+        this.recentWorkflows = recentWorkflows;
+        this.jitIterations = jitIterations;
+
+        Gauge.builder("warmup.progress", completedSteps, done -> (double) done.get() / STEPS.size())
+                .description("Share of startup warm-up steps finished")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            completedSteps.set(STEPS.size());
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        boolean mongoUp = step("mongo-pool", deadline, () -> warmPool(deadline));
+        if (mongoUp) {
+            step("users", deadline, () -> preloadUsers(deadline));
+            step("recent-workflows", deadline, () -> renderRecentWorkflows(deadline));
+        } else {
+            skip("users");
+            skip("recent-workflows");
+        }
+        step("jit", deadline, () -> exerciseHotPaths(deadline));
+
+        log.info("Warm-up finished in {} ms{}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                System.nanoTime() > deadline ? ", over its budget" : "");
+    }
+
+    private interface Step {
+        int run() throws Exception;
+    }
+
+    // Returns false if the step failed
+    private boolean step(String name, long deadline, Step step) {
+        long start = System.nanoTime();
+        String outcome = "ok";
+        int items = 0;
+        try {
+            if (start > deadline) {
+                outcome = "out_of_budget";
+            } else {
+                items = step.run();
+                if (System.nanoTime() > deadline) outcome = "out_of_budget";
+            }
+            return true;
+        } catch (Exception e) {
+            outcome = "failed";
+            log.warn("Warm-up step {} failed: {}", name, e.getMessage());
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("warmup.step")
+                    .description("Time spent in each startup warm-up step")
+                    .tag("step", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            Counter.builder("warmup.items")
+                    .description("Items loaded or iterations run by each warm-up step")
+                    .tag("step", name)
+                    .register(meterRegistry)
+                    .increment(items);
+            completedSteps.incrementAndGet();
+            log.info("Warm-up step {}: {} items in {} ms ({})", name, items,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), outcome);
+        }
+    }
+
+    private void skip(String name) {
+        completedSteps.incrementAndGet();
+        log.info("Warm-up step {} skipped, Mongo unreachable", name);
+    }
+
+    private int warmPool(long deadline) throws InterruptedException {
+        // Also the reachability check: throws after the server-selection timeout
+        mongoClient.getDatabase(database).runCommand(new Document("ping", 1));
+        int open = openConnections();
+        while (open < minPoolSize && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            open = openConnections();
+        }
+        return open;
+    }
+
+    private int openConnections() {
+        return (int) meterRegistry.find("mongodb.driver.pool.size").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private int preloadUsers(long deadline) {
+        int loaded = 0;
+        for (User user : userRepository.findAll()) {
+            if (System.nanoTime() > deadline) break;
+            userDetailsService.primeTokenPrincipal(user);
+            loaded++;
+        }
+        return loaded;
+    }
+
+    private int renderRecentWorkflows(long deadline) throws Exception {
+        int rendered = 0;
+        for (Workflow workflow : workflowRepository.findAllByOrderByUpdatedAtDesc(Limit.of(recentWorkflows))) {
+            if (System.nanoTime() > deadline) break;
+            fragmentCache.get(workflow);
+            rendered++;
+        }
+        return rendered;
+    }
+
+    private int exerciseHotPaths(long deadline) throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser("warmup", "warmup@localhost", "Warm-up", UserRole.STAFF, null);
+        String token = jwtService.generateToken(user);
+        Workflow workflow = sampleWorkflow();
+
+        int i = 0;
+        for (; i < jitIterations && System.nanoTime() < deadline; i++) {
+            if (!user.getUsername().equals(jwtService.extractUsername(token)) || !jwtService.isTokenValid(token, user)) {
+                throw new IllegalStateException("Warm-up token did not verify");
+            }
+            objectMapper.writeValueAsBytes(WorkflowDTO.fromWorkflow(workflow));
+        }
+        return i;
+    }
+
+    // No id, so the fragment cache does not keep it
+    private static Workflow sampleWorkflow() {
+        Workflow workflow = new Workflow();
+        workflow.setTitle("Warm-up");
+        workflow.setDescription("Serialized repeatedly at startup to compile the DTO path");
+        workflow.setStatus(WorkflowStatus.PENDING);
+        workflow.setAssignedTo("warmup@localhost");
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setCreatedBy("warmup@localhost");
+        workflow.setCreatedAt(Instant.now());
+        workflow.setUpdatedAt(Instant.now());
+        return workflow;
+    }
+}
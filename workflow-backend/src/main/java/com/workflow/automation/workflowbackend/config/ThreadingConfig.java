@@ -0,0 +1,58 @@
+package com.workflow.automation.workflowbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Request threading mode. The {@code virtual-threads} profile turns on
+ * {@code spring.threads.virtual.enabled}; on Java 21 and later Boot then runs Tomcat request
+ * handling and its task executors on virtual threads, so a request blocked on Mongo parks
+ * instead of holding one of Tomcat's platform threads. Concurrency is then capped by the
+ * Mongo connection pool rather than the thread pool, hence {@code workflow.mongo.max-pool-size}.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    private final Environment environment;
+
+    public ThreadingConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    // A minimum size makes the driver open that many connections in the background at
+    // startup; StartupWarmup waits for them before the instance reports ready
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${workflow.mongo.max-pool-size:0}") int maxPoolSize,
+            @Value("${workflow.mongo.min-pool-size:0}") int minPoolSize) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> {
+            if (maxPoolSize > 0) {
+                pool.maxSize(maxPoolSize);
+            }
+            if (minPoolSize > 0) {
+                pool.minSize(minPoolSize);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Serving requests on virtual threads; watch jdk.VirtualThreadPinned in jfr/workflow.jfc recordings");
+        } else if (requested) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; serving requests on platform threads",
+                    Runtime.version().feature());
+        }
+    }
+}
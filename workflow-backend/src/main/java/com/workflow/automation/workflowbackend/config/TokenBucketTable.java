@@ -0,0 +1,76 @@
+package com.workflow.automation.workflowbackend.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per key, kept as GCRA "theoretical arrival times": one {@code long} per
+ * bucket, advanced with a CAS, so taking a token is lock-free and allocates nothing once
+ * the key has been seen. Each key gets a fixed number of slots, one per quota.
+ * <p>
+ * A bucket whose arrival time has passed is full, and a full bucket behaves exactly like
+ * one that was never created, so {@link #evictIdle} drops such keys without changing any
+ * outcome. The table therefore holds only keys that used a quota within its burst window.
+ */
+final class TokenBucketTable {
+
+    private final int slots;
+    private final LongSupplier clock;
+    private final long epoch;
+    private final Map<String, AtomicLongArray> buckets = new ConcurrentHashMap<>();
+
+    TokenBucketTable(int slots, LongSupplier nanoClock) {
+        this.slots = slots;
+        this.clock = nanoClock;
+        this.epoch = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one token from {@code key}'s bucket in {@code slot}, which refills one token
+     * every {@code intervalNanos} and holds {@code burst} tokens.
+     *
+     * @return 0 if the token was taken, otherwise nanoseconds until one is available
+     */
+    long tryAcquire(String key, int slot, long intervalNanos, long burst) {
+        long now = now();
+        AtomicLongArray cells = buckets.get(key);
+        if (cells == null) {
+            cells = buckets.computeIfAbsent(key, k -> new AtomicLongArray(slots));
+        }
+        long tolerance = intervalNanos * burst;
+        while (true) {
+            long arrival = cells.get(slot);
+            long next = Math.max(arrival, now) + intervalNanos;
+            long wait = next - tolerance - now;
+            if (wait > 0) return wait;
+            if (cells.compareAndSet(slot, arrival, next)) return 0;
+        }
+    }
+
+    /**
+     * Removes keys whose buckets have all refilled. A token taken concurrently with the
+     * removal of its key may go uncounted; that is one request in a burst window.
+     */
+    int evictIdle() {
+        long now = now();
+        int before = buckets.size();
+        buckets.values().removeIf(cells -> {
+            for (int i = 0; i < slots; i++) {
+                if (cells.get(i) > now) return false;
+            }
+            return true;
+        });
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // Relative to construction so that a fresh bucket's zero is always in the past
+    private long now() {
+        return clock.getAsLong() - epoch + 1;
+    }
+}
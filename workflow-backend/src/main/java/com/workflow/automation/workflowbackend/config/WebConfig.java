@@ -0,0 +1,52 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final WorkflowJsonFragmentCache fragmentCache;
+    private final ObjectMapper objectMapper;
+
+    public WebConfig(WorkflowJsonFragmentCache fragmentCache, ObjectMapper objectMapper) {
+        this.fragmentCache = fragmentCache;
+        this.objectMapper = objectMapper;
+    }
+
+    // Built from Boot's customized builder so binary responses carry the same field
+    // names and date formats as JSON; these replace MVC's default CBOR/Smile converters.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Ahead of the Jackson converter so JSON list responses skip per-row DTO serialization
+        converters.add(0, new WorkflowListHttpMessageConverter(fragmentCache));
+        converters.add(1, new RawWorkflowListHttpMessageConverter(objectMapper.getFactory()));
+        converters.add(2, new RawWorkflowListHttpMessageConverter(new CBORFactory(), MediaType.APPLICATION_CBOR));
+        converters.add(3, new RawWorkflowListHttpMessageConverter(new SmileFactory(), APPLICATION_SMILE));
+    }
+}
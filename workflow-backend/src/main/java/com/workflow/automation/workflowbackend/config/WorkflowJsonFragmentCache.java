@@ -0,0 +1,99 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UTF-8 JSON of each workflow's DTO, keyed by id and valid while the workflow's revision is
+ * unchanged. Every write goes through WorkflowRules and bumps the revision, so a changed row
+ * misses the cache and is serialized again. updatedAt is compared as well, which tells apart
+ * two concurrent writes that started from the same revision.
+ * <p>
+ * Bounded by entry count with approximate LRU eviction: hits never lock, and the thread
+ * whose insert crosses the bound trims the least recently used tenth.
+ */
+@Component
+public class WorkflowJsonFragmentCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<String, Fragment> fragments = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public WorkflowJsonFragmentCache(ObjectMapper objectMapper,
+                                     @Value("${workflow.json-cache.max-entries:100000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    private static final class Fragment {
+        final long revision;
+        final Instant updatedAt;
+        final byte[] json;
+        volatile long lastUsed;
+
+        Fragment(long revision, Instant updatedAt, byte[] json, long tick) {
+            this.revision = revision;
+            this.updatedAt = updatedAt;
+            this.json = json;
+            this.lastUsed = tick;
+        }
+    }
+
+    public byte[] get(Workflow workflow) throws JsonProcessingException {
+        String id = workflow.getId();
+
+        if (id != null) {
+            Fragment cached = fragments.get(id);
+            if (cached != null && cached.revision == workflow.getRevision()
+                    && Objects.equals(cached.updatedAt, workflow.getUpdatedAt())) {
+                cached.lastUsed = clock.incrementAndGet();
+                return cached.json;
+            }
+        }
+
+        byte[] json = objectMapper.writeValueAsBytes(WorkflowDTO.fromWorkflow(workflow));
+        if (id != null) {
+            fragments.put(id, new Fragment(workflow.getRevision(), workflow.getUpdatedAt(), json, clock.incrementAndGet()));
+            if (fragments.size() > maxEntries) {
+                evict();
+            }
+        }
+        return json;
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    // Writers that find an eviction already running skip it rather than wait for the sort
+    private void evict() {
+        if (!evictionLock.tryLock()) return;
+        try {
+            List<Map.Entry<String, Fragment>> byAge = new ArrayList<>(fragments.entrySet());
+            byAge.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            for (Map.Entry<String, Fragment> entry : byAge) {
+                if (fragments.size() <= target) break;
+                fragments.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.dto.WorkflowList;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes {@link WorkflowList} as a JSON array by copying cached per-workflow fragments
+ * straight to the response stream.
+ */
+public class WorkflowListHttpMessageConverter extends AbstractHttpMessageConverter<WorkflowList> {
+
+    private final WorkflowJsonFragmentCache fragmentCache;
+
+    public WorkflowListHttpMessageConverter(WorkflowJsonFragmentCache fragmentCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WorkflowList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected WorkflowList readInternal(Class<? extends WorkflowList> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("WorkflowList is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(WorkflowList workflowList, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        OutputStream out = outputMessage.getBody();
+        List<Workflow> workflows = workflowList.getWorkflows();
+
+        out.write('[');
+        for (int i = 0; i < workflows.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(fragmentCache.get(workflows.get(i)));
+        }
+        out.write(']');
+    }
+}
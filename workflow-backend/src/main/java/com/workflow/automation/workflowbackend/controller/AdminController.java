@@ -0,0 +1,56 @@
+package com.workflow.automation.workflowbackend.controller;
+
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.service.MongoQueryProfiler;
+import com.workflow.automation.workflowbackend.service.StorageFormatMigrator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final MongoQueryProfiler queryProfiler;
+    private final StorageFormatMigrator storageMigrator;
+
+    public AdminController(MongoQueryProfiler queryProfiler, StorageFormatMigrator storageMigrator) {
+        this.queryProfiler = queryProfiler;
+        this.storageMigrator = storageMigrator;
+    }
+
+    // sort: total (default), p99, max or count
+    @GetMapping("/query-profile")
+    public ResponseEntity<Map<String, Object>> getQueryProfile(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "total") String sort) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("shapes", queryProfiler.worstShapes(Math.min(limit, 500), sort));
+        body.put("untrackedQueries", queryProfiler.untrackedQueries());
+        return ResponseEntity.ok(body);
+    }
+
+    @DeleteMapping("/query-profile")
+    public ResponseEntity<Void> resetQueryProfile() {
+        queryProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Migration progress plus, for a random sample, the average document size in each layout
+    @GetMapping("/storage-format")
+    public ResponseEntity<Map<String, Object>> getStorageFormat(@RequestParam(defaultValue = "1000") int sample) {
+        Map<String, Object> body = new LinkedHashMap<>(storageMigrator.report());
+        int sampleSize = Math.min(Math.max(sample, 1), 10_000);
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        sizes.put(CompactFormat.USERS, storageMigrator.sampleSizes(CompactFormat.USERS, sampleSize));
+        sizes.put(CompactFormat.WORKFLOWS, storageMigrator.sampleSizes(CompactFormat.WORKFLOWS, sampleSize));
+        body.put("sampledSizes", sizes);
+        return ResponseEntity.ok(body);
+    }
+}
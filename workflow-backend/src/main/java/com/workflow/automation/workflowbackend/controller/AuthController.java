@@ -3,39 +3,41 @@ package com.workflow.automation.workflowbackend.controller;
 import com.workflow.automation.workflowbackend.dto.LoginRequest;
 import com.workflow.automation.workflowbackend.dto.LoginResponse;
 import com.workflow.automation.workflowbackend.exception.AuthenticationFailedException;
-import com.workflow.automation.workflowbackend.model.User;
-import com.workflow.automation.workflowbackend.repository.UserRepository;
+import com.workflow.automation.workflowbackend.jfr.LoginEvent;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
 import com.workflow.automation.workflowbackend.service.JwtService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
+@Timed(value = "api.controller", histogram = true)
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          JwtService jwtService,
-                          UserRepository userRepository) {
+                          JwtService jwtService) {
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
     }
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+        LoginEvent event = LoginEvent.start();
+        boolean success = false;
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -44,11 +46,9 @@ public class AuthController {
                     )
             );
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtService.generateToken(userDetails);
-
-            User user = userRepository.findByEmail(loginRequest.getEmail())
-                    .orElseThrow(() -> new AuthenticationFailedException("User not found"));
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+            String token = jwtService.generateToken(user);
+            success = true;
 
             return ResponseEntity.ok(
                     new LoginResponse(
@@ -61,6 +61,8 @@ public class AuthController {
             );
         } catch (BadCredentialsException e) {
             throw new AuthenticationFailedException("Invalid email or password");
+        } finally {
+            event.finish(success);
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.workflow.automation.workflowbackend.controller;
 
+import com.workflow.automation.workflowbackend.config.ResultSizeMetrics;
 import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
 import com.workflow.automation.workflowbackend.model.User;
 import com.workflow.automation.workflowbackend.model.UserRole;
 import com.workflow.automation.workflowbackend.service.UserService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -12,27 +16,28 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/users")
+@Timed(value = "api.controller", histogram = true)
 public class UserController {
 
     private final UserService userService;
+    private final ResultSizeMetrics resultSizeMetrics;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ResultSizeMetrics resultSizeMetrics) {
         this.userService = userService;
+        this.resultSizeMetrics = resultSizeMetrics;
     }
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<User> createUser(@RequestBody User user,
-                                           @AuthenticationPrincipal org.springframework.security.core.userdetails.User authUser) {
-        User creator = userService.findByEmail(authUser.getUsername())
-                .orElseThrow(() -> new AccessDeniedException("Invalid creator user"));
-
-        if (creator.getRole() == UserRole.MANAGER && user.getRole() != UserRole.STAFF) {
+                                           @AuthenticationPrincipal AuthenticatedUser authUser) {
+        if (authUser.isManager() && user.getRole() != UserRole.STAFF) {
             throw new AccessDeniedException("MANAGER can only create STAFF users");
         }
 
-        return ResponseEntity.ok(userService.createUser(user, creator));
+        return ResponseEntity.ok(userService.createUser(user, authUser));
     }
 
     @PostMapping("/{userId}/role")
@@ -40,38 +45,32 @@ public class UserController {
     public ResponseEntity<User> changeUserRole(
             @PathVariable String userId,
             @RequestParam UserRole newRole,
-            @AuthenticationPrincipal org.springframework.security.core.userdetails.User authUser) {
-        User adminUser = userService.findByEmail(authUser.getUsername())
-                .orElseThrow(() -> new AccessDeniedException("Invalid admin user"));
-
-        if (adminUser.getId().equals(userId)) {
+            @AuthenticationPrincipal AuthenticatedUser authUser) {
+        if (authUser.getId().equals(userId)) {
             throw new AccessDeniedException("ADMIN cannot change their own role");
         }
 
-        return ResponseEntity.ok(userService.changeUserRole(userId, newRole, adminUser));
+        return ResponseEntity.ok(userService.changeUserRole(userId, newRole, authUser));
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'STAFF')")
     public ResponseEntity<List<User>> getUsers() {
-        return ResponseEntity.ok(userService.findAll());
+        return ResponseEntity.ok(resultSizeMetrics.record("users", userService.findAll()));
     }
 
     @GetMapping("/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'STAFF')")
     public ResponseEntity<User> getUserById(@PathVariable String userId,
-                                            @AuthenticationPrincipal org.springframework.security.core.userdetails.User authUser) {
-        User requester = userService.findByEmail(authUser.getUsername())
-                .orElseThrow(() -> new AccessDeniedException("Invalid requester"));
-
+                                            @AuthenticationPrincipal AuthenticatedUser authUser) {
         User user = userService.findById(userId);
 
         // Allow users to view themselves regardless of role
-        if (requester.getId().equals(userId)) {
+        if (authUser.getId().equals(userId)) {
             return ResponseEntity.ok(user);
         }
 
-        if (!requester.getRole().canManage(user.getRole())) {
+        if (!authUser.getRole().canManage(user.getRole())) {
             throw new AccessDeniedException("Cannot view user with higher role");
         }
 
@@ -83,22 +82,19 @@ public class UserController {
     public ResponseEntity<User> updateUser(
             @PathVariable String userId,
             @RequestBody User updatedUser,
-            @AuthenticationPrincipal org.springframework.security.core.userdetails.User authUser) {
-        User editor = userService.findByEmail(authUser.getUsername())
-                .orElseThrow(() -> new AccessDeniedException("Invalid editor"));
-
+            @AuthenticationPrincipal AuthenticatedUser authUser) {
         User existingUser = userService.findById(userId);
 
         // Allow users to update themselves (except role)
-        if (editor.getId().equals(userId)) {
+        if (authUser.getId().equals(userId)) {
             if (updatedUser.getRole() != null && !updatedUser.getRole().equals(existingUser.getRole())) {
                 throw new AccessDeniedException("Cannot change your own role");
             }
-            return ResponseEntity.ok(userService.updateUser(userId, updatedUser, editor));
+            return ResponseEntity.ok(userService.updateUser(userId, updatedUser, authUser));
         }
 
         // Check if editor can manage the target user
-        if (!editor.getRole().canManage(existingUser.getRole())) {
+        if (!authUser.getRole().canManage(existingUser.getRole())) {
             throw new AccessDeniedException("Cannot update user with higher role");
         }
 
@@ -107,41 +103,38 @@ public class UserController {
             throw new AccessDeniedException("Role can only be changed via role change endpoint");
         }
 
-        return ResponseEntity.ok(userService.updateUser(userId, updatedUser, editor));
+        return ResponseEntity.ok(userService.updateUser(userId, updatedUser, authUser));
     }
 
     @DeleteMapping("/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Void> deleteUser(
             @PathVariable String userId,
-            @AuthenticationPrincipal org.springframework.security.core.userdetails.User authUser) {
-        User deleter = userService.findByEmail(authUser.getUsername())
-                .orElseThrow(() -> new AccessDeniedException("Invalid deleter"));
-
+            @AuthenticationPrincipal AuthenticatedUser authUser) {
         User targetUser = userService.findById(userId);
 
         // Prevent self-deletion
-        if (deleter.getId().equals(userId)) {
+        if (authUser.getId().equals(userId)) {
             throw new AccessDeniedException("Cannot delete yourself");
         }
 
         // Check if deleter can manage the target user
-        if (!deleter.getRole().canManage(targetUser.getRole())) {
+        if (!authUser.getRole().canManage(targetUser.getRole())) {
             throw new AccessDeniedException("Cannot delete user with higher role");
         }
 
         // Additional checks for MANAGERs (can only delete STAFF)
-        if (deleter.getRole() == UserRole.MANAGER && targetUser.getRole() != UserRole.STAFF) {
+        if (authUser.isManager() && targetUser.getRole() != UserRole.STAFF) {
             throw new AccessDeniedException("MANAGER can only delete STAFF users");
         }
 
-        userService.deleteUser(userId, deleter);
+        userService.deleteUser(userId, authUser);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/role/{role}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<User>> getUsersByRole(@PathVariable UserRole role) {
-        return ResponseEntity.ok(userService.findByRole(role));
+        return ResponseEntity.ok(resultSizeMetrics.record("users_by_role", userService.findByRole(role)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.workflow.automation.workflowbackend.controller;
+
+import com.workflow.automation.workflowbackend.dto.AttachmentDTO;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.service.WorkflowAttachmentService;
+import com.workflow.automation.workflowbackend.service.WorkflowAttachmentService.AttachmentContent;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Attachments of a workflow. Uploads send the file as the raw request body with its name in
+ * {@code filename}, optionally with a {@code Content-Digest: sha-256=:...:} header to have it
+ * verified. Downloads answer {@code Range} requests with 206 (several ranges as
+ * multipart/byteranges) and carry the SHA-256 as a strong ETag and in {@code Repr-Digest}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/workflows/{id}/attachments")
+@Timed(value = "api.controller", histogram = true)
+public class WorkflowAttachmentController {
+
+    private static final String CONTENT_DIGEST = "Content-Digest";
+    private static final String REPR_DIGEST = "Repr-Digest";
+
+    private final WorkflowAttachmentService attachmentService;
+
+    public WorkflowAttachmentController(WorkflowAttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AttachmentDTO>> listAttachments(
+            @PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(attachmentService.listAttachments(id, currentUser));
+    }
+
+    @PostMapping
+    public ResponseEntity<AttachmentDTO> uploadAttachment(
+            @PathVariable String id,
+            @RequestParam String filename,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = CONTENT_DIGEST, required = false) String contentDigest,
+            HttpServletRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws IOException {
+        AttachmentDTO attachment = attachmentService.upload(id, filename, contentType, contentDigest,
+                request.getInputStream(), currentUser);
+        return ResponseEntity.created(URI.create("/api/workflows/" + id + "/attachments/" + attachment.id()))
+                .body(attachment);
+    }
+
+    // Spring turns a Resource body into 206/416 responses for Range requests, and into a
+    // 304 for a matching If-None-Match
+    @GetMapping("/{attachmentId}")
+    public ResponseEntity<Resource> downloadAttachment(
+            @PathVariable String id,
+            @PathVariable String attachmentId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        AttachmentContent content = attachmentService.open(id, attachmentId, currentUser);
+        AttachmentDTO attachment = content.attachment();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(attachment.contentType()))
+                .lastModified(attachment.uploadedAt())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(attachment.filename(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString());
+        if (attachment.sha256() != null) {
+            byte[] sha256 = HexFormat.of().parseHex(attachment.sha256());
+            response.eTag("\"" + attachment.sha256() + "\"")
+                    .header(REPR_DIGEST, "sha-256=:" + Base64.getEncoder().encodeToString(sha256) + ":");
+        }
+        return response.body(content);
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(
+            @PathVariable String id,
+            @PathVariable String attachmentId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        attachmentService.delete(id, attachmentId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+}
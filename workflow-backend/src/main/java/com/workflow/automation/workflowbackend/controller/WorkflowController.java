@@ -1,30 +1,44 @@
 package com.workflow.automation.workflowbackend.controller;
 
+import com.workflow.automation.workflowbackend.config.ResultSizeMetrics;
+import com.workflow.automation.workflowbackend.dto.RawWorkflowList;
 import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.dto.WorkflowList;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
 import com.workflow.automation.workflowbackend.model.Workflow;
 import com.workflow.automation.workflowbackend.service.WorkflowService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/workflows")
+@Timed(value = "api.controller", histogram = true)
 public class WorkflowController {
 
     @Autowired
     private WorkflowService workflowService;
 
+    @Autowired
+    private ResultSizeMetrics resultSizeMetrics;
+
+    @Value("${workflow.list.bson-passthrough:false}")
+    private boolean bsonPassthrough;
+
     @PostMapping
     public ResponseEntity<WorkflowDTO> createWorkflow(
             @RequestBody Workflow workflow,
-            @AuthenticationPrincipal UserDetails currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         // Validate assignee exists and has the correct role
         workflowService.validateAssignee(workflow.getAssignedTo(), workflow.getAssignedToRole());
 
@@ -33,26 +47,54 @@ public class WorkflowController {
     }
 
     @GetMapping
-    public ResponseEntity<List<WorkflowDTO>> getAllWorkflows(
-            @AuthenticationPrincipal UserDetails currentUser,
+    public ResponseEntity<?> getAllWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String assigneeId,
             @RequestParam(required = false) String assignedToRole,
-            @RequestParam(required = false) String createdBy) throws AccessDeniedException {
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(defaultValue = "false") boolean includeArchived) throws AccessDeniedException {
 
-        List<Workflow> workflows = workflowService.getAllWorkflows(currentUser, status, assigneeId, assignedToRole);
+        if (bsonPassthrough && !includeArchived) {
+            return ResponseEntity.ok(new RawWorkflowList(resultSizeMetrics.counting("workflows", consumer ->
+                    workflowService.streamWorkflows(currentUser, status, assigneeId, assignedToRole, consumer))));
+        }
 
-        List<WorkflowDTO> workflowDTOs = workflows.stream()
-                .map(WorkflowDTO::fromWorkflow)
-                .collect(Collectors.toList());
+        List<Workflow> workflows = workflowService.getAllWorkflows(currentUser, status, assigneeId, assignedToRole, includeArchived);
+        return ResponseEntity.ok(new WorkflowList(resultSizeMetrics.record("workflows", workflows)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<RawWorkflowList> exportWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) String assignedToRole) {
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"workflows.json\"")
+                .body(new RawWorkflowList(resultSizeMetrics.counting("workflows_export", consumer ->
+                        workflowService.streamWorkflows(currentUser, status, assigneeId, assignedToRole, consumer))));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<WorkflowList> searchWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) String assignedToRole,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        return ResponseEntity.ok(workflowDTOs);
+        List<Workflow> workflows = workflowService.searchWorkflows(q, currentUser, status, assigneeId, assignedToRole,
+                Math.min(limit, 500));
+        return ResponseEntity.ok(new WorkflowList(resultSizeMetrics.record("workflows_search", workflows)));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<WorkflowDTO> getWorkflowById(
             @PathVariable String id,
-            @AuthenticationPrincipal UserDetails currentUser) throws AccessDeniedException {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws AccessDeniedException {
         Workflow workflow = workflowService.getWorkflowById(id, currentUser);
         return ResponseEntity.ok(WorkflowDTO.fromWorkflow(workflow));
     }
@@ -61,7 +103,7 @@ public class WorkflowController {
     public ResponseEntity<WorkflowDTO> updateWorkflow(
             @PathVariable String id,
             @RequestBody Workflow workflowDetails,
-            @AuthenticationPrincipal UserDetails currentUser) throws AccessDeniedException {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws AccessDeniedException {
         Workflow updatedWorkflow = workflowService.updateWorkflow(id, workflowDetails, currentUser);
         return ResponseEntity.ok(WorkflowDTO.fromWorkflow(updatedWorkflow));
     }
@@ -69,36 +111,30 @@ public class WorkflowController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteWorkflow(
             @PathVariable String id,
-            @AuthenticationPrincipal UserDetails currentUser) throws AccessDeniedException {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws AccessDeniedException {
         workflowService.deleteWorkflow(id, currentUser);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/me/assigned")
-    public ResponseEntity<List<WorkflowDTO>> getMyAssignedWorkflows(
-            @AuthenticationPrincipal UserDetails currentUser) throws AccessDeniedException {
-        List<Workflow> workflows = workflowService.getWorkflowsByAssignee(currentUser.getUsername(), currentUser);
-        List<WorkflowDTO> workflowDTOs = workflows.stream()
-                .map(WorkflowDTO::fromWorkflow)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(workflowDTOs);
+    public ResponseEntity<WorkflowList> getMyAssignedWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws AccessDeniedException {
+        List<Workflow> workflows = workflowService.getWorkflowsByAssignee(currentUser.getEmail(), currentUser);
+        return ResponseEntity.ok(new WorkflowList(resultSizeMetrics.record("workflows_me_assigned", workflows)));
     }
 
     @GetMapping("/me/created")
-    public ResponseEntity<List<WorkflowDTO>> getMyCreatedWorkflows(
-            @AuthenticationPrincipal UserDetails currentUser) throws AccessDeniedException {
-        List<Workflow> workflows = workflowService.getWorkflowsByCreator(currentUser.getUsername(), currentUser);
-        List<WorkflowDTO> workflowDTOs = workflows.stream()
-                .map(WorkflowDTO::fromWorkflow)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(workflowDTOs);
+    public ResponseEntity<WorkflowList> getMyCreatedWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws AccessDeniedException {
+        List<Workflow> workflows = workflowService.getWorkflowsByCreator(currentUser.getEmail(), currentUser);
+        return ResponseEntity.ok(new WorkflowList(resultSizeMetrics.record("workflows_me_created", workflows)));
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<WorkflowDTO> updateWorkflowStatus(
             @PathVariable String id,
             @RequestParam String newStatus,
-            @AuthenticationPrincipal UserDetails currentUser) throws AccessDeniedException {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) throws AccessDeniedException {
         Workflow updatedWorkflow = workflowService.updateWorkflowStatus(id, newStatus, currentUser);
         return ResponseEntity.ok(WorkflowDTO.fromWorkflow(updatedWorkflow));
     }
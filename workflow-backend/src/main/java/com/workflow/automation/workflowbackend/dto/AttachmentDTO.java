@@ -0,0 +1,33 @@
+package com.workflow.automation.workflowbackend.dto;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.Document;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a workflow attachment, read from the GridFS files collection only.
+ */
+public record AttachmentDTO(
+        String id,
+        String workflowId,
+        String filename,
+        String contentType,
+        long length,
+        Instant uploadedAt,
+        String uploadedBy,
+        String sha256) {
+
+    public static AttachmentDTO fromFile(GridFSFile file) {
+        Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+        return new AttachmentDTO(
+                file.getObjectId().toHexString(),
+                metadata.getString("workflowId"),
+                file.getFilename(),
+                metadata.getString("contentType"),
+                file.getLength(),
+                file.getUploadDate().toInstant(),
+                metadata.getString("uploadedBy"),
+                metadata.getString("sha256"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.workflow.automation.workflowbackend.dto;
+
+import org.bson.RawBsonDocument;
+
+import java.util.function.Consumer;
+
+/**
+ * Response body that is written while the Mongo cursor is read, one raw document at a
+ * time. No entity or DTO objects are created for its rows.
+ */
+public class RawWorkflowList {
+
+    public interface Source {
+        void forEach(Consumer<RawBsonDocument> consumer);
+    }
+
+    private final Source source;
+
+    public RawWorkflowList(Source source) {
+        this.source = source;
+    }
+
+    public void forEach(Consumer<RawBsonDocument> consumer) {
+        source.forEach(consumer);
+    }
+}
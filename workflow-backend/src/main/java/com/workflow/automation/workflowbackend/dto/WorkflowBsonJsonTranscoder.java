@@ -0,0 +1,123 @@
+package com.workflow.automation.workflowbackend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.io.ByteBufferBsonInput;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streams a raw workflow document from the driver into the same JSON shape as
+ * {@link WorkflowDTO} without building the entity or the DTO. Fields are written in
+ * document order; DTO fields missing from the document are written as null at the end.
+ * Documents in either the standard or the compact storage layout are understood.
+ */
+public final class WorkflowBsonJsonTranscoder {
+
+    private static final String[] DTO_FIELDS = {
+            "id", "title", "description", "status", "createdBy",
+            "assignedTo", "assignedToRole", "createdAt", "updatedAt", "dueDate"
+    };
+
+    private static final int ID = 0;
+    private static final int STATUS = 3;
+    private static final int ASSIGNED_TO_ROLE = 6;
+    private static final int CREATED_AT = 7;
+    private static final int UPDATED_AT = 8;
+    private static final int DUE_DATE = 9;
+
+    // Both stored layouts, see CompactFormat
+    private static final Map<String, Integer> FIELD_INDEX = new HashMap<>();
+
+    static {
+        for (int i = 1; i < DTO_FIELDS.length; i++) {
+            FIELD_INDEX.put(DTO_FIELDS[i], i);
+            FIELD_INDEX.put(CompactFormat.keyOf(CompactFormat.WORKFLOWS, DTO_FIELDS[i]), i);
+        }
+    }
+
+    private WorkflowBsonJsonTranscoder() {
+    }
+
+    public static void write(RawBsonDocument document, JsonGenerator json) throws IOException {
+        int written = 0;
+        json.writeStartObject();
+
+        try (BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(document.getByteBuffer()))) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                int field = "_id".equals(name) ? ID : fieldIndex(name);
+                if (field < 0) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                json.writeFieldName(DTO_FIELDS[field]);
+                writeValue(reader, field, json);
+                written |= 1 << field;
+            }
+            reader.readEndDocument();
+        }
+
+        for (int field = 0; field < DTO_FIELDS.length; field++) {
+            if ((written & (1 << field)) == 0) {
+                json.writeNullField(DTO_FIELDS[field]);
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeValue(BsonBinaryReader reader, int field, JsonGenerator json) throws IOException {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case OBJECT_ID -> json.writeString(reader.readObjectId().toHexString());
+            case STRING -> json.writeString(reader.readString());
+            case DATE_TIME -> {
+                long millis = reader.readDateTime();
+                if (field == DUE_DATE) {
+                    // Spring Data stores LocalDate as midnight in the server's zone
+                    json.writeString(Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDate().toString());
+                } else if (field == CREATED_AT || field == UPDATED_AT) {
+                    json.writeString(Instant.ofEpochMilli(millis).toString());
+                } else {
+                    json.writeNumber(millis);
+                }
+            }
+            case INT32 -> {
+                int value = reader.readInt32();
+                if (field == STATUS) {
+                    json.writeString(WorkflowStatus.values()[value].name());
+                } else if (field == ASSIGNED_TO_ROLE) {
+                    json.writeString(UserRole.values()[value].name());
+                } else if (field == DUE_DATE) {
+                    json.writeString(LocalDate.ofEpochDay(value).toString());
+                } else {
+                    json.writeNumber(value);
+                }
+            }
+            case NULL -> {
+                reader.readNull();
+                json.writeNull();
+            }
+            default -> {
+                reader.skipValue();
+                json.writeNull();
+            }
+        }
+    }
+
+    private static int fieldIndex(String name) {
+        return FIELD_INDEX.getOrDefault(name, -1);
+    }
+}
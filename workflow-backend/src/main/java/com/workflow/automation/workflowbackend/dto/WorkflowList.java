@@ -0,0 +1,30 @@
+package com.workflow.automation.workflowbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.workflow.automation.workflowbackend.model.Workflow;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Response body for workflow list endpoints. JSON responses are assembled from cached
+ * per-workflow fragments; other encodings fall back to the regular DTO mapping.
+ */
+public class WorkflowList {
+    private final List<Workflow> workflows;
+
+    public WorkflowList(List<Workflow> workflows) {
+        this.workflows = workflows;
+    }
+
+    public List<Workflow> getWorkflows() {
+        return workflows;
+    }
+
+    @JsonValue
+    public List<WorkflowDTO> toDTOs() {
+        return workflows.stream()
+                .map(WorkflowDTO::fromWorkflow)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,11 @@
+package com.workflow.automation.workflowbackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class AttachmentTooLargeException extends RuntimeException {
+    public AttachmentTooLargeException(String message) {
+        super(message);
+    }
+}
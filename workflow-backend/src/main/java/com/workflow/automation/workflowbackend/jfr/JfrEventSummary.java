@@ -0,0 +1,166 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the workflow events in a {@code .jfr} dump: count, latency percentiles and
+ * total time per event and key, where the key is the token phase, the login outcome, the
+ * hash operation, or the query type and filter shape. Queries also report mean rows and
+ * the share of their time spent in Mongo. Virtual thread pinning (Java 21+) is keyed by
+ * the first Mongo driver, Spring Security or application frame on the pinned stack.
+ * Groups are listed by total time, largest first.
+ *
+ * <pre>
+ * java -cp target/classes com.workflow.automation.workflowbackend.jfr.JfrEventSummary workflow.jfr
+ * </pre>
+ */
+public final class JfrEventSummary {
+
+    static final String PREFIX = "com.workflow.";
+    static final Set<String> JDK_EVENTS = Set.of("jdk.VirtualThreadPinned", "jdk.VirtualThreadSubmitFailed");
+
+    // Where pinning is worth attributing: the driver, the security filters and our own code
+    private static final List<String> PINNING_PACKAGES = List.of(
+            "com.mongodb.", "org.springframework.security.", "com.workflow.");
+
+    private JfrEventSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: JfrEventSummary <recording.jfr>");
+            System.exit(2);
+        }
+        print(summarize(Path.of(args[0])), System.out);
+    }
+
+    record Group(String event, String key, long count, double p50Ms, double p99Ms, double maxMs,
+                 double totalMs, double meanRows, double mongoShare) {
+    }
+
+    static List<Group> summarize(Path recording) throws IOException {
+        Map<String, Accumulator> groups = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                String type;
+                if (name.startsWith(PREFIX)) {
+                    type = name.substring(PREFIX.length());
+                } else if (JDK_EVENTS.contains(name)) {
+                    type = name.substring("jdk.".length());
+                } else {
+                    continue;
+                }
+
+                String key = keyOf(type, event);
+                groups.computeIfAbsent(type + '\0' + key, k -> new Accumulator(type, key)).add(event);
+            }
+        }
+
+        List<Group> summary = new ArrayList<>();
+        for (Accumulator accumulator : groups.values()) {
+            summary.add(accumulator.toGroup());
+        }
+        summary.sort(Comparator.comparingDouble(Group::totalMs).reversed());
+        return summary;
+    }
+
+    private static String keyOf(String event, RecordedEvent recorded) {
+        return switch (event) {
+            case "TokenVerify" -> recorded.getString("phase") + (recorded.getBoolean("valid") ? "" : " (invalid)");
+            case "PrincipalLoad" -> recorded.getBoolean("found") ? String.valueOf(recorded.getString("role")) : "not found";
+            case "Login" -> recorded.getBoolean("success") ? "success" : "failure";
+            case "PasswordHash" -> recorded.getString("operation");
+            case "WorkflowQuery" -> recorded.getString("queryType") + ' ' + recorded.getString("filterShape");
+            case "VirtualThreadPinned", "VirtualThreadSubmitFailed" -> pinningSite(recorded.getStackTrace());
+            default -> "";
+        };
+    }
+
+    private static String pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) return "(no stack)";
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) continue;
+            String type = frame.getMethod().getType().getName();
+            for (String prefix : PINNING_PACKAGES) {
+                if (type.startsWith(prefix)) return type + '.' + frame.getMethod().getName();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + '.' + top.getMethod().getName();
+    }
+
+    static void print(List<Group> summary, PrintStream out) {
+        if (summary.isEmpty()) {
+            out.println("No " + PREFIX + "* events; was the recording started with jfr/workflow.jfc?");
+            return;
+        }
+        out.printf("%-26s %8s %10s %10s %10s %12s %8s %6s  %s%n",
+                "event", "count", "p50 ms", "p99 ms", "max ms", "total ms", "rows", "mongo", "key");
+        for (Group group : summary) {
+            boolean query = group.event().equals("WorkflowQuery");
+            out.printf("%-26s %8d %10.3f %10.3f %10.3f %12.1f %8s %6s  %s%n",
+                    group.event(), group.count(), group.p50Ms(), group.p99Ms(), group.maxMs(), group.totalMs(),
+                    query ? String.format("%.1f", group.meanRows()) : "",
+                    query ? String.format("%.0f%%", group.mongoShare() * 100) : "",
+                    group.key());
+        }
+    }
+
+    private static final class Accumulator {
+        private final String event;
+        private final String key;
+        private long[] durations = new long[64];
+        private int count;
+        private long rows;
+        private long mongoNanos;
+
+        Accumulator(String event, String key) {
+            this.event = event;
+            this.key = key;
+        }
+
+        void add(RecordedEvent recorded) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = recorded.getDuration().toNanos();
+            if (recorded.hasField("resultCount")) {
+                rows += recorded.getInt("resultCount");
+                mongoNanos += recorded.getDuration("mongoTime").toNanos();
+            }
+        }
+
+        Group toGroup() {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            long total = Arrays.stream(sorted).sum();
+            return new Group(event, key, count, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted[count - 1]), millis(total), (double) rows / count,
+                    total > 0 ? Math.min(1.0, (double) mongoNanos / total) : 0);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
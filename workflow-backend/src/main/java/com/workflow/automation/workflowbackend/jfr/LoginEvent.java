@@ -0,0 +1,37 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call to {@code POST /api/auth/login}, from credential check to issued token. The
+ * password hash inside it shows up as a nested {@link PasswordHashEvent} on the same thread.
+ */
+@Name("com.workflow.Login")
+@Label("Login")
+@Description("Credential check and token issue in AuthController.login")
+@Category({"Workflow", "Auth"})
+@StackTrace(false)
+public class LoginEvent extends Event {
+
+    @Label("Success")
+    private boolean success;
+
+    public static LoginEvent start() {
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One BCrypt operation: {@code matches} during login, {@code encode} when a password is set.
+ */
+@Name("com.workflow.PasswordHash")
+@Label("Password Hash")
+@Description("Password encoder call, usually the dominant cost of a login")
+@Category({"Workflow", "Auth"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    private final String operation;
+
+    @Label("Matched")
+    private boolean matched;
+
+    private PasswordHashEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public static PasswordHashEvent start(String operation) {
+        PasswordHashEvent event = new PasswordHashEvent(operation);
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean matched) {
+        end();
+        if (shouldCommit()) {
+            this.matched = matched;
+            commit();
+        }
+    }
+}
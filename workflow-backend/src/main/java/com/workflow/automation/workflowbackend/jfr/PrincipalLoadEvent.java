@@ -0,0 +1,42 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Loading the principal named by a bearer token. Records the role rather than the user
+ * so recordings can be shared without leaking who was signed in.
+ */
+@Name("com.workflow.PrincipalLoad")
+@Label("Principal Load")
+@Description("User lookup for an authenticated request in JwtAuthFilter")
+@Category({"Workflow", "Auth"})
+@StackTrace(false)
+public class PrincipalLoadEvent extends Event {
+
+    @Label("Found")
+    private boolean found;
+
+    @Label("Role")
+    private String role;
+
+    public static PrincipalLoadEvent start() {
+        PrincipalLoadEvent event = new PrincipalLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(AuthenticatedUser user) {
+        end();
+        if (shouldCommit()) {
+            found = user != null;
+            role = user != null && user.getRole() != null ? user.getRole().name() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Wraps the real encoder so each hash shows up as a {@link PasswordHashEvent}.
+ */
+public class RecordedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public RecordedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start("encode");
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            event.finish(false);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = PasswordHashEvent.start("matches");
+        boolean matched = false;
+        try {
+            matched = delegate.matches(rawPassword, encodedPassword);
+            return matched;
+        } finally {
+            event.finish(matched);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,47 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of bearer token handling in the auth filter: parsing the subject out of the
+ * token, or checking it against the loaded principal.
+ */
+@Name("com.workflow.TokenVerify")
+@Label("Token Verify")
+@Description("Bearer token parsing or validation in JwtAuthFilter")
+@Category({"Workflow", "Auth"})
+@StackTrace(false)
+public class TokenVerifyEvent extends Event {
+
+    public static final String PARSE = "parse";
+    public static final String VALIDATE = "validate";
+
+    @Label("Phase")
+    private final String phase;
+
+    @Label("Valid")
+    private boolean valid;
+
+    private TokenVerifyEvent(String phase) {
+        this.phase = phase;
+    }
+
+    public static TokenVerifyEvent start(String phase) {
+        TokenVerifyEvent event = new TokenVerifyEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean valid) {
+        end();
+        if (shouldCommit()) {
+            this.valid = valid;
+            commit();
+        }
+    }
+}
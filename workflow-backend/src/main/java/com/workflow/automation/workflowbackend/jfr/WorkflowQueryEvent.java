@@ -0,0 +1,118 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A workflow read in {@code WorkflowService}. The event spans the whole service call;
+ * {@code mongoTime} is the part of it spent in repository calls, including time waiting
+ * on a coalesced query another caller started.
+ */
+@Name("com.workflow.WorkflowQuery")
+@Label("Workflow Query")
+@Description("Workflow read with its filter shape, result count and Mongo time")
+@Category({"Workflow", "Query"})
+@StackTrace(false)
+public class WorkflowQueryEvent extends Event {
+
+    @Label("Query Type")
+    private final String queryType;
+
+    @Label("Filter Shape")
+    private String filterShape;
+
+    @Label("Result Count")
+    private int resultCount;
+
+    @Label("Mongo Time")
+    @Timespan
+    private long mongoTime;
+
+    private WorkflowQueryEvent(String queryType) {
+        this.queryType = queryType;
+    }
+
+    public static WorkflowQueryEvent start(String queryType) {
+        WorkflowQueryEvent event = new WorkflowQueryEvent(queryType);
+        event.begin();
+        return event;
+    }
+
+    public <T> T mongo(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            mongoTime += System.nanoTime() - start;
+        }
+    }
+
+    public void mongo(Runnable call) {
+        mongo(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public void finish(Supplier<Criteria> filter, int resultCount) {
+        end();
+        // Building and walking the filter is the only non-trivial work, so it waits until
+        // the event is wanted
+        if (shouldCommit()) {
+            Criteria criteria = filter.get();
+            this.filterShape = criteria != null ? shapeOf(criteria.getCriteriaObject()) : "{}";
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+
+    /**
+     * Structure of a criteria document with every literal replaced by {@code ?}, so
+     * queries that differ only in the user or status they ask about group together.
+     */
+    static String shapeOf(Object value) {
+        StringBuilder shape = new StringBuilder();
+        appendShape(shape, value);
+        return shape.toString();
+    }
+
+    private static void appendShape(StringBuilder shape, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> field : map.entrySet()) {
+                if (!first) shape.append(',');
+                first = false;
+                shape.append(field.getKey()).append(':');
+                appendShape(shape, field.getValue());
+            }
+            shape.append('}');
+        } else if (value instanceof Collection<?> items) {
+            if (items.stream().noneMatch(v -> v instanceof Map || v instanceof Collection)) {
+                // $in lists of any length share one shape
+                shape.append("[?]");
+                return;
+            }
+            shape.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) shape.append(',');
+                first = false;
+                appendShape(shape, item);
+            }
+            shape.append(']');
+        } else {
+            shape.append('?');
+        }
+    }
+}
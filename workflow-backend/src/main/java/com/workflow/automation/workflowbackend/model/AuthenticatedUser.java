@@ -0,0 +1,81 @@
+package com.workflow.automation.workflowbackend.model;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Security principal resolved once per request. Carries the caller's id and role so
+ * authorization checks are plain field compares instead of authority scans or user lookups.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final Map<UserRole, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final String id;
+    private final String email;
+    private final String name;
+    private final UserRole role;
+    private String password;
+
+    public AuthenticatedUser(String id, String email, String name, UserRole role, String password) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.role = role;
+        this.password = password;
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getPassword());
+    }
+
+    public String getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public String getName() { return name; }
+
+    public UserRole getRole() { return role; }
+
+    public boolean isAdmin() { return role == UserRole.ADMIN; }
+
+    public boolean isManager() { return role == UserRole.MANAGER; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{id=" + id + ", email=" + email + ", role=" + role + "}";
+    }
+}
@@ -0,0 +1,155 @@
+package com.workflow.automation.workflowbackend.model;
+
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compact storage layout of {@link Workflow} and {@link User} documents: short field
+ * keys, {@link WorkflowStatus} and {@link UserRole} as ordinals, {@code dueDate} as an
+ * epoch day, and no {@code _class} type key. The Java model is unchanged; see
+ * {@code CompactStorageConfig} for how it is mapped. Documents and queries can be
+ * translated between this and the standard layout, which is how both are served while
+ * stored documents are being migrated.
+ */
+public final class CompactFormat {
+
+    public static final String WORKFLOWS = "workflows";
+    public static final String USERS = "users";
+
+    private static final String TYPE_KEY = "_class";
+
+    private static final Map<String, String> WORKFLOW_KEYS = Map.of(
+            "title", "t",
+            "description", "d",
+            "status", "s",
+            "assignedTo", "a",
+            "assignedToRole", "r",
+            "createdBy", "c",
+            "createdAt", "ca",
+            "updatedAt", "u",
+            "dueDate", "dd",
+            "revision", "v");
+
+    private static final Map<String, String> USER_KEYS = Map.of(
+            "name", "n",
+            "email", "e",
+            "role", "r",
+            "createdAt", "ca",
+            "createdBy", "c",
+            "password", "p");
+
+    private static final Map<String, Map<String, String>> COMPACT_KEYS = Map.of(
+            WORKFLOWS, WORKFLOW_KEYS,
+            USERS, USER_KEYS);
+    private static final Map<String, Map<String, String>> STANDARD_KEYS = Map.of(
+            WORKFLOWS, inverse(WORKFLOW_KEYS),
+            USERS, inverse(USER_KEYS));
+
+    // Keyed by standard field name
+    private static final Map<String, Class<? extends Enum<?>>> ENUM_FIELDS = Map.of(
+            "status", WorkflowStatus.class,
+            "assignedToRole", UserRole.class,
+            "role", UserRole.class);
+    private static final String DATE_ONLY_FIELD = "dueDate";
+
+    private CompactFormat() {
+    }
+
+    /**
+     * Short key of a property, or the property name if it has none.
+     */
+    public static String keyOf(String collection, String property) {
+        return COMPACT_KEYS.getOrDefault(collection, Map.of()).getOrDefault(property, property);
+    }
+
+    /**
+     * A field that is always present in a document of the given layout, for telling
+     * the two apart.
+     */
+    public static String markerField(String collection, boolean compact) {
+        String standard = WORKFLOWS.equals(collection) ? "status" : "email";
+        return compact ? keyOf(collection, standard) : standard;
+    }
+
+    public static boolean isCompact(Document document, String collection) {
+        return document.containsKey(markerField(collection, true));
+    }
+
+    /**
+     * Translates a stored document or a mapped query filter into the compact layout
+     * ({@code compact == true}) or the standard one. Keys and values already in the target
+     * layout are left alone, as are {@code _id} and query operators.
+     */
+    public static Document translate(Document document, String collection, boolean compact) {
+        Map<String, String> keys = (compact ? COMPACT_KEYS : STANDARD_KEYS).getOrDefault(collection, Map.of());
+        Document translated = new Document();
+        for (Map.Entry<String, Object> entry : document.entrySet()) {
+            String key = entry.getKey();
+            if (compact && TYPE_KEY.equals(key)) continue;
+            if (key.startsWith("$")) {
+                // $and, $or, $nor: a list of filters
+                translated.put(key, translateValue(entry.getValue(), null, collection, compact));
+                continue;
+            }
+            String target = keys.getOrDefault(key, key);
+            String field = compact ? key : target;
+            translated.put(target, translateValue(entry.getValue(), field, collection, compact));
+        }
+        return translated;
+    }
+
+    // field is the standard name of the field the value belongs to, or null inside a
+    // logical operator, where nested documents are filters of their own
+    private static Object translateValue(Object value, String field, String collection, boolean compact) {
+        if (value instanceof Document document) {
+            if (field == null) return translate(document, collection, compact);
+            Document operators = new Document();
+            document.forEach((operator, operand) ->
+                    operators.put(operator, translateValue(operand, field, collection, compact)));
+            return operators;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> translated = new ArrayList<>(list.size());
+            for (Object element : list) {
+                translated.add(translateValue(element, field, collection, compact));
+            }
+            return translated;
+        }
+        if (field == null) return value;
+
+        Class<? extends Enum<?>> enumType = ENUM_FIELDS.get(field);
+        if (enumType != null) {
+            Enum<?>[] constants = enumType.getEnumConstants();
+            if (compact && value instanceof String name) {
+                for (Enum<?> constant : constants) {
+                    if (constant.name().equals(name)) return constant.ordinal();
+                }
+            } else if (!compact && value instanceof Integer ordinal && ordinal >= 0 && ordinal < constants.length) {
+                return constants[ordinal].name();
+            }
+            return value;
+        }
+        if (DATE_ONLY_FIELD.equals(field) && WORKFLOWS.equals(collection)) {
+            // Spring Data stores LocalDate as midnight in the server's zone
+            if (compact && value instanceof Date date) {
+                return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+            } else if (!compact && value instanceof Integer epochDay) {
+                return Date.from(LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant());
+            }
+        }
+        return value;
+    }
+
+    private static Map<String, String> inverse(Map<String, String> keys) {
+        Map<String, String> inverse = new HashMap<>();
+        keys.forEach((property, key) -> inverse.put(key, property));
+        return Map.copyOf(inverse);
+    }
+}
@@ -1,5 +1,6 @@
 package com.workflow.automation.workflowbackend.model;
 
+// Stored by ordinal in the compact storage layout (CompactFormat): add new constants at the end
 public enum UserRole {
     ADMIN(1),
     MANAGER(2),
@@ -18,6 +18,7 @@ public class Workflow {
     private Instant createdAt;
     private Instant updatedAt;
     private LocalDate dueDate;
+    private long revision; // Bumped by every write
 
     public Workflow() {}
 
@@ -51,4 +52,7 @@ public class Workflow {
 
     public LocalDate getDueDate() { return dueDate; }
     public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
 }
\ No newline at end of file
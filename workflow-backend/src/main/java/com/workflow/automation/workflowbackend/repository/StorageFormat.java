@@ -0,0 +1,64 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The layout documents are written in ({@code workflow.storage.compact}) and, per
+ * collection, whether documents in the other layout may still be stored. Until the
+ * migrator has confirmed a collection holds only the target layout, filters on it are
+ * widened to match documents in either layout.
+ */
+@Component
+public class StorageFormat {
+
+    private final boolean compact;
+    private final Set<String> settled = ConcurrentHashMap.newKeySet();
+
+    public StorageFormat(@Value("${workflow.storage.compact:false}") boolean compact) {
+        this.compact = compact;
+    }
+
+    public boolean compact() {
+        return compact;
+    }
+
+    public boolean isMixed(String collection) {
+        return !settled.contains(collection);
+    }
+
+    public void markSettled(String collection) {
+        settled.add(collection);
+    }
+
+    /**
+     * A stored document in the target layout, translated if it was written in the other.
+     */
+    public Document normalize(Document document, String collection) {
+        if (CompactFormat.isCompact(document, collection) == compact) return document;
+        return CompactFormat.translate(document, collection, compact);
+    }
+
+    /**
+     * A mapped filter, widened to also match documents in the other layout while the
+     * collection is mixed.
+     */
+    public Document filter(Document mapped, String collection) {
+        return isMixed(collection) ? filterAnyLayout(mapped, collection) : mapped;
+    }
+
+    /**
+     * A mapped filter widened to match documents in either layout, for collections that
+     * are never migrated.
+     */
+    public Document filterAnyLayout(Document mapped, String collection) {
+        if (mapped.isEmpty()) return mapped;
+        return new Document("$or", List.of(mapped, CompactFormat.translate(mapped, collection, !compact)));
+    }
+}
@@ -0,0 +1,20 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User lookups that find documents in either storage layout while the users collection
+ * is being migrated (see {@link StorageFormat}), so existing users keep logging in.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<User> findByEmail(String email);
+
+    List<User> findByRole(UserRole role);
+
+    List<User> findByRoleIn(List<UserRole> roles);
+}
@@ -0,0 +1,74 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.mongodb.client.MongoCollection;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.workflow.automation.workflowbackend.model.CompactFormat.USERS;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final StorageFormat storageFormat;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate, StorageFormat storageFormat) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.storageFormat = storageFormat;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        Criteria criteria = Criteria.where("email").is(email);
+        if (!storageFormat.isMixed(USERS)) {
+            return Optional.ofNullable(mongoTemplate.findOne(new Query(criteria), User.class));
+        }
+        return Optional.ofNullable(collection().find(filter(criteria)).limit(1).first()).map(this::read);
+    }
+
+    @Override
+    public List<User> findByRole(UserRole role) {
+        return findAll(Criteria.where("role").is(role));
+    }
+
+    @Override
+    public List<User> findByRoleIn(List<UserRole> roles) {
+        return findAll(Criteria.where("role").in(roles));
+    }
+
+    // See WorkflowRepositoryCustomImpl: a widened filter goes to the collection directly
+    private List<User> findAll(Criteria criteria) {
+        if (!storageFormat.isMixed(USERS)) {
+            return mongoTemplate.find(new Query(criteria), User.class);
+        }
+        List<User> found = new ArrayList<>();
+        collection().find(filter(criteria)).forEach(document -> found.add(read(document)));
+        return found;
+    }
+
+    private Document filter(Criteria criteria) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(User.class);
+        Document mapped = queryMapper.getMappedObject(new Query(criteria).getQueryObject(), entity);
+        return storageFormat.filter(mapped, USERS);
+    }
+
+    private User read(Document document) {
+        return mongoTemplate.getConverter().read(User.class, storageFormat.normalize(document, USERS));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(USERS);
+    }
+}
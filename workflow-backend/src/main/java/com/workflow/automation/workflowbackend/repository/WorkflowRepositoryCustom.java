@@ -0,0 +1,48 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.bson.RawBsonDocument;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface WorkflowRepositoryCustom {
+
+    /**
+     * Finished workflows moved out of the hot collection, in the same document layout.
+     */
+    String ARCHIVE_COLLECTION = "workflows_archive";
+
+    List<Workflow> findAllMatching(Criteria criteria);
+
+    Optional<Workflow> findOneMatching(Criteria criteria);
+
+    /**
+     * Ids of the matching workflows, without loading the documents.
+     */
+    List<String> findIdsMatching(Criteria criteria);
+
+    /**
+     * Hands each matching document to the consumer as raw BSON, skipping entity mapping.
+     */
+    void streamRawMatching(Criteria criteria, Consumer<RawBsonDocument> consumer);
+
+    List<Workflow> findAllArchivedMatching(Criteria criteria);
+
+    Optional<Workflow> findOneArchivedMatching(Criteria criteria);
+
+    void deleteArchivedById(String id);
+
+    /**
+     * Moves up to {@code limit} workflows matching {@code criteria} into the archive and
+     * returns their ids. A workflow saved while the batch is moved stays hot.
+     */
+    List<String> archiveMatching(Criteria criteria, int limit);
+
+    /**
+     * Creates the index that "changed since" queries on updatedAt use, for both layouts.
+     */
+    void ensureUpdatedAtIndex();
+}
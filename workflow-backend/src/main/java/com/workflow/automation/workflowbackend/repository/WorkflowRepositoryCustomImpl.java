@@ -0,0 +1,164 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.workflow.automation.workflowbackend.model.CompactFormat.WORKFLOWS;
+
+public class WorkflowRepositoryCustomImpl implements WorkflowRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final StorageFormat storageFormat;
+
+    public WorkflowRepositoryCustomImpl(MongoTemplate mongoTemplate, StorageFormat storageFormat) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.storageFormat = storageFormat;
+    }
+
+    // While documents in both layouts may be stored, the widened filter is not something
+    // the template would pass through unmapped, so the collection is queried directly
+    @Override
+    public List<Workflow> findAllMatching(Criteria criteria) {
+        if (!storageFormat.isMixed(WORKFLOWS)) {
+            return mongoTemplate.find(toQuery(criteria), Workflow.class);
+        }
+        List<Workflow> found = new ArrayList<>();
+        collection().find(filter(criteria)).forEach(document -> found.add(read(document)));
+        return found;
+    }
+
+    @Override
+    public Optional<Workflow> findOneMatching(Criteria criteria) {
+        if (!storageFormat.isMixed(WORKFLOWS)) {
+            return Optional.ofNullable(mongoTemplate.findOne(toQuery(criteria), Workflow.class));
+        }
+        return Optional.ofNullable(collection().find(filter(criteria)).limit(1).first()).map(this::read);
+    }
+
+    @Override
+    public List<String> findIdsMatching(Criteria criteria) {
+        return collection().find(filter(criteria))
+                .projection(Projections.include("_id"))
+                .map(document -> idOf(document.get("_id")))
+                .into(new ArrayList<>());
+    }
+
+    // Sparse, so the key of the layout a document does not use costs nothing
+    @Override
+    public void ensureUpdatedAtIndex() {
+        IndexOptions sparse = new IndexOptions().sparse(true);
+        collection().createIndex(Indexes.ascending("updatedAt"), sparse);
+        collection().createIndex(Indexes.ascending(CompactFormat.keyOf(WORKFLOWS, "updatedAt")), sparse);
+    }
+
+    @Override
+    public void streamRawMatching(Criteria criteria, Consumer<RawBsonDocument> consumer) {
+        collection().withDocumentClass(RawBsonDocument.class)
+                .find(filter(criteria))
+                .forEach(consumer);
+    }
+
+    // Archived documents keep the layout they were written in, so archive filters always
+    // match both layouts
+    @Override
+    public List<Workflow> findAllArchivedMatching(Criteria criteria) {
+        List<Workflow> found = new ArrayList<>();
+        archive().find(storageFormat.filterAnyLayout(mapped(criteria), WORKFLOWS))
+                .forEach(document -> found.add(read(document)));
+        return found;
+    }
+
+    @Override
+    public Optional<Workflow> findOneArchivedMatching(Criteria criteria) {
+        return Optional.ofNullable(archive().find(storageFormat.filterAnyLayout(mapped(criteria), WORKFLOWS))
+                .limit(1).first()).map(this::read);
+    }
+
+    @Override
+    public void deleteArchivedById(String id) {
+        archive().deleteOne(mapped(Criteria.where("_id").is(id)));
+    }
+
+    @Override
+    public List<String> archiveMatching(Criteria criteria, int limit) {
+        Document filter = filter(criteria);
+        List<Document> batch = collection().find(filter).limit(limit).into(new ArrayList<>());
+        if (batch.isEmpty()) return List.of();
+
+        List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+        // Copy first, so a failure in between leaves a duplicate rather than a loss
+        archive().bulkWrite(batch.stream()
+                .map(document -> new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document,
+                        new ReplaceOptions().upsert(true)))
+                .toList(), new BulkWriteOptions().ordered(false));
+        // Only documents that still match leave the hot collection; the archived copies of
+        // any that were saved in between are dropped again
+        collection().deleteMany(Filters.and(Filters.in("_id", ids), filter));
+        Set<Object> kept = collection().find(Filters.in("_id", ids))
+                .projection(Projections.include("_id"))
+                .map(document -> document.get("_id"))
+                .into(new HashSet<>());
+        if (!kept.isEmpty()) {
+            archive().deleteMany(Filters.in("_id", kept));
+        }
+        return ids.stream()
+                .filter(id -> !kept.contains(id))
+                .map(WorkflowRepositoryCustomImpl::idOf)
+                .toList();
+    }
+
+    private static String idOf(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id.toString();
+    }
+
+    private Document filter(Criteria criteria) {
+        return storageFormat.filter(mapped(criteria), WORKFLOWS);
+    }
+
+    private Document mapped(Criteria criteria) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Workflow.class);
+        return queryMapper.getMappedObject(toQuery(criteria).getQueryObject(), entity);
+    }
+
+    private Workflow read(Document document) {
+        return mongoTemplate.getConverter().read(Workflow.class, storageFormat.normalize(document, WORKFLOWS));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Workflow.class));
+    }
+
+    private MongoCollection<Document> archive() {
+        return mongoTemplate.getCollection(ARCHIVE_COLLECTION);
+    }
+
+    private static Query toQuery(Criteria criteria) {
+        return criteria != null ? new Query(criteria) : new Query();
+    }
+}
@@ -1,30 +1,64 @@
 package com.workflow.automation.workflowbackend.service;
 
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
 import com.workflow.automation.workflowbackend.model.User;
 import com.workflow.automation.workflowbackend.repository.UserRepository;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final String PRINCIPAL_KEY = "principal:";
+
     private final UserRepository userRepository;
+    private final MongoCircuitBreaker breaker;
+    private final StaleReadStore staleReads;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, MongoCircuitBreaker breaker,
+                                    StaleReadStore staleReads) {
         this.userRepository = userRepository;
+        this.breaker = breaker;
+        this.staleReads = staleReads;
     }
 
+    // Password login: always checked against the stored user, never a kept copy
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
+        User user = breaker.call(() -> userRepository.findByEmail(email))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return AuthenticatedUser.from(user);
+    }
+
+    /**
+     * The principal for an already verified bearer token. Runs for every request, so it falls
+     * back to the last known principal while Mongo is unavailable; otherwise no request could
+     * authenticate to be served a stale read. Kept principals carry no password hash.
+     */
+    public AuthenticatedUser loadTokenPrincipal(String email) throws UsernameNotFoundException {
+        return staleReads.read(PRINCIPAL_KEY + email, () -> principalFor(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+
+    /**
+     * Keeps the principal of a user loaded in bulk, such as at startup.
+     */
+    public void primeTokenPrincipal(User user) {
+        staleReads.prime(PRINCIPAL_KEY + user.getEmail(), Optional.of(withoutPassword(user)),
+                () -> principalFor(user.getEmail()));
+    }
+
+    private Optional<AuthenticatedUser> principalFor(String email) {
+        return userRepository.findByEmail(email).map(CustomUserDetailsService::withoutPassword);
+    }
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .authorities("ROLE_" + user.getRole().name())
-                .build();
+    private static AuthenticatedUser withoutPassword(User user) {
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        principal.eraseCredentials();
+        return principal;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.workflow.automation.workflowbackend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for repository calls. After {@code failure-threshold} consecutive
+ * connectivity failures (timeouts, socket errors, primary step-downs) it opens, and calls
+ * fail at once with {@link ServiceUnavailableException} instead of each waiting out a
+ * server-selection timeout. After {@code open-seconds} a single call is let through as a
+ * probe; if it succeeds the circuit closes and recovery listeners run.
+ * <p>
+ * Other exceptions, such as duplicate keys or mapping errors, pass through without
+ * counting against Mongo.
+ */
+@Component
+public class MongoCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoCircuitBreaker.class);
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+    private final Counter rejected;
+    private volatile long openedAt;
+
+    public MongoCircuitBreaker(@Value("${workflow.mongo.breaker.enabled:true}") boolean enabled,
+                               @Value("${workflow.mongo.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${workflow.mongo.breaker.open-seconds:10}") long openSeconds,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+
+        Gauge.builder("mongo.circuit.state", state, s -> s.get().ordinal())
+                .description("Mongo circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("mongo.circuit.rejected")
+                .description("Repository calls failed fast because the circuit was open")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        if (!enabled) return action.get();
+
+        boolean probe = admit();
+        try {
+            T result = action.get();
+            onSuccess(probe);
+            return result;
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                onFailure(probe);
+                throw new ServiceUnavailableException("Database unavailable", e);
+            }
+            // Mongo answered; whatever went wrong, it is reachable
+            onSuccess(probe);
+            throw e;
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    /**
+     * Runs on a background thread each time the circuit closes after being open.
+     */
+    public void onRecovery(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    // True when this call is the half-open probe
+    private boolean admit() {
+        State current = state.get();
+        if (current == State.CLOSED) return false;
+        if (current == State.OPEN
+                && System.nanoTime() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return true;
+        }
+        rejected.increment();
+        throw new ServiceUnavailableException("Database unavailable, failing fast");
+    }
+
+    private void onSuccess(boolean probe) {
+        consecutiveFailures.set(0);
+        if (probe && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("Mongo reachable again, circuit closed");
+            Thread recovery = new Thread(() -> recoveryListeners.forEach(Runnable::run), "mongo-circuit-recovery");
+            recovery.setDaemon(true);
+            recovery.start();
+        }
+    }
+
+    private void onFailure(boolean probe) {
+        if (probe) {
+            openedAt = System.nanoTime();
+            state.set(State.OPEN);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            openedAt = System.nanoTime();
+            log.warn("{} consecutive Mongo failures, circuit open for {}s", failureThreshold,
+                    TimeUnit.NANOSECONDS.toSeconds(openNanos));
+        }
+    }
+
+    static boolean isUnavailable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DataAccessResourceFailureException
+                    || t instanceof TransientDataAccessException
+                    || t instanceof MongoSocketException
+                    || t instanceof MongoTimeoutException
+                    || t instanceof MongoNotPrimaryException
+                    || t instanceof MongoNodeIsRecoveringException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
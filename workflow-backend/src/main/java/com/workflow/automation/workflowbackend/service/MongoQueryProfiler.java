@@ -0,0 +1,459 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Driver command listener that groups queries by shape (collection, command and the
+ * filter/sort/projection structure with every literal replaced by {@code ?}), keeps
+ * rolling latency stats per shape and captures a queryPlanner explain the first time a
+ * shape runs slower than the threshold. Cursor getMores are charged to the shape of the
+ * query that opened the cursor.
+ */
+@Component
+public class MongoQueryProfiler implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoQueryProfiler.class);
+
+    private static final Set<String> PROFILED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    private static final int RECENT_SAMPLES = 256;
+    private static final int MAX_OPEN_CURSORS = 10_000;
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+    private final long planRefreshNanos;
+    private final int maxShapes;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, ShapeStats> openCursors = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    private final ExecutorService explainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mongo-query-explainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MongoQueryProfiler(ObjectProvider<MongoClient> mongoClient,
+                              @Value("${workflow.profiler.enabled:true}") boolean enabled,
+                              @Value("${workflow.profiler.slow-threshold-ms:100}") long slowThresholdMs,
+                              @Value("${workflow.profiler.plan-refresh-minutes:10}") long planRefreshMinutes,
+                              @Value("${workflow.profiler.max-shapes:500}") int maxShapes) {
+        this.mongoClient = mongoClient;
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.planRefreshNanos = TimeUnit.MINUTES.toNanos(planRefreshMinutes);
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Snapshot of one query shape, for the admin endpoint.
+     */
+    public record ShapeReport(String shape, String collection, String command, long count, double meanMs,
+                              double p50Ms, double p99Ms, double maxMs, double totalMs, long getMores,
+                              double getMoreTotalMs, String plan, Boolean collectionScan, Instant planCapturedAt,
+                              Document explain) {
+    }
+
+    private record InFlight(ShapeStats stats, BsonDocument command, String database, long cursorId) {
+    }
+
+    private record Plan(String summary, boolean collectionScan, Document explain, Instant capturedAt, long capturedNanos) {
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled) return;
+        String commandName = event.getCommandName();
+        BsonDocument command = event.getCommand();
+
+        if ("getMore".equals(commandName)) {
+            long cursorId = command.getInt64("getMore").getValue();
+            ShapeStats stats = openCursors.get(cursorId);
+            if (stats != null) inFlight.put(event.getRequestId(), new InFlight(stats, null, null, cursorId));
+            return;
+        }
+        if ("killCursors".equals(commandName)) {
+            command.getArray("cursors").forEach(id -> openCursors.remove(id.asInt64().getValue()));
+            return;
+        }
+        if (!PROFILED_COMMANDS.contains(commandName)) return;
+
+        String shape = fingerprint(commandName, command);
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                untracked.increment();
+                return;
+            }
+            BsonValue target = command.get(commandName);
+            String collection = target != null && target.isString() ? target.asString().getValue() : "";
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats(key, collection, commandName));
+        }
+        // The event's document is only valid during the callback; copy it only while a plan may still be needed
+        BsonDocument copy = stats.needsPlan(System.nanoTime(), planRefreshNanos) ? command.clone() : null;
+        inFlight.put(event.getRequestId(), new InFlight(stats, copy, event.getDatabaseName(), 0));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        InFlight call = inFlight.remove(event.getRequestId());
+        if (call == null) return;
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+
+        long cursorId = responseCursorId(event.getResponse());
+        if (call.cursorId() != 0) {
+            call.stats().recordGetMore(elapsed);
+            if (cursorId == 0) openCursors.remove(call.cursorId());
+            return;
+        }
+
+        call.stats().record(elapsed);
+        if (cursorId != 0 && openCursors.size() < MAX_OPEN_CURSORS) {
+            openCursors.put(cursorId, call.stats());
+        }
+        if (elapsed >= slowThresholdNanos && call.command() != null) {
+            requestExplain(call);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        InFlight call = inFlight.remove(event.getRequestId());
+        if (call == null) return;
+        if (call.cursorId() != 0) {
+            openCursors.remove(call.cursorId());
+        } else {
+            call.stats().record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    public List<ShapeReport> worstShapes(int limit, String sortBy) {
+        Comparator<ShapeReport> order = switch (sortBy) {
+            case "p99" -> Comparator.comparingDouble(ShapeReport::p99Ms);
+            case "max" -> Comparator.comparingDouble(ShapeReport::maxMs);
+            case "count" -> Comparator.comparingLong(ShapeReport::count);
+            default -> Comparator.comparingDouble(r -> r.totalMs() + r.getMoreTotalMs());
+        };
+        return shapes.values().stream()
+                .map(ShapeStats::report)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public long untrackedQueries() {
+        return untracked.sum();
+    }
+
+    public void reset() {
+        shapes.clear();
+        openCursors.clear();
+        untracked.reset();
+    }
+
+    private static long responseCursorId(BsonDocument response) {
+        BsonValue cursor = response != null ? response.get("cursor") : null;
+        if (cursor == null || !cursor.isDocument()) return 0;
+        BsonValue id = cursor.asDocument().get("id");
+        return id != null && id.isNumber() ? id.asNumber().longValue() : 0;
+    }
+
+    private void requestExplain(InFlight call) {
+        if (!call.stats().claimExplain()) return;
+        try {
+            explainer.execute(() -> explain(call));
+        } catch (RejectedExecutionException e) {
+            call.stats().releaseExplain();
+        }
+    }
+
+    private void explain(InFlight call) {
+        try {
+            BsonDocument command = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : call.command().entrySet()) {
+                String name = field.getKey();
+                // Session, cluster time, read preference and other envelope fields aren't allowed inside explain
+                if (!name.startsWith("$") && !name.equals("lsid") && !name.equals("txnNumber")
+                        && !name.equals("readConcern") && !name.equals("writeConcern")) {
+                    command.put(name, field.getValue());
+                }
+            }
+            Document explain = mongoClient.getObject().getDatabase(call.database())
+                    .runCommand(new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")));
+            String summary = summarizePlan(explain);
+            call.stats().plan = new Plan(summary, summary.contains("COLLSCAN"), explain, Instant.now(), System.nanoTime());
+            log.info("Captured plan for slow query shape {}: {}", call.stats().shape, summary);
+        } catch (Exception e) {
+            log.warn("Explain failed for query shape {}: {}", call.stats().shape, e.getMessage());
+        } finally {
+            call.stats().releaseExplain();
+        }
+    }
+
+    /**
+     * Shape key for a command: the command name and collection followed by the structure
+     * of its filter, sort, projection or pipeline with literal values replaced by {@code ?}.
+     */
+    static String fingerprint(String commandName, BsonDocument command) {
+        StringBuilder shape = new StringBuilder(commandName);
+        BsonValue target = command.get(commandName);
+        shape.append(' ').append(target != null && target.isString() ? target.asString().getValue() : "?");
+
+        switch (commandName) {
+            case "find" -> {
+                part(shape, "filter", command.get("filter"));
+                part(shape, "sort", command.get("sort"));
+                part(shape, "projection", command.get("projection"));
+            }
+            case "aggregate" -> part(shape, "pipeline", command.get("pipeline"));
+            case "count" -> part(shape, "query", command.get("query"));
+            case "distinct" -> {
+                part(shape, "key", command.get("key"));
+                part(shape, "query", command.get("query"));
+            }
+            case "findAndModify" -> {
+                part(shape, "query", command.get("query"));
+                part(shape, "sort", command.get("sort"));
+            }
+            case "update" -> part(shape, "q", firstStatementField(command, "updates", "q"));
+            case "delete" -> part(shape, "q", firstStatementField(command, "deletes", "q"));
+            default -> {
+            }
+        }
+        return shape.toString();
+    }
+
+    private static BsonValue firstStatementField(BsonDocument command, String list, String field) {
+        BsonValue statements = command.get(list);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) return null;
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get(field) : null;
+    }
+
+    private static void part(StringBuilder shape, String name, BsonValue value) {
+        if (value == null) return;
+        shape.append(' ').append(name).append('=');
+        // "key" in distinct is a field name, not a literal
+        if (name.equals("key") && value.isString()) {
+            shape.append(value.asString().getValue());
+        } else {
+            appendShape(shape, value, name.equals("sort") || name.equals("projection"));
+        }
+    }
+
+    private static void appendShape(StringBuilder shape, BsonValue value, boolean keepScalars) {
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                if (!first) shape.append(',');
+                first = false;
+                shape.append(field.getKey()).append(':');
+                appendShape(shape, field.getValue(), keepScalars);
+            }
+            shape.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            boolean structured = array.stream().anyMatch(v -> v.isDocument() || v.isArray());
+            if (!structured) {
+                // $in lists of any length share one shape
+                shape.append("[?]");
+                return;
+            }
+            shape.append('[');
+            for (int i = 0; i < array.size(); i++) {
+                if (i > 0) shape.append(',');
+                appendShape(shape, array.get(i), keepScalars);
+            }
+            shape.append(']');
+        } else if (keepScalars && value.isNumber()) {
+            shape.append(value.asNumber().intValue());
+        } else {
+            shape.append('?');
+        }
+    }
+
+    /**
+     * Stage chain of the winning plan, outermost first, e.g. {@code FETCH > IXSCAN(assignedTo_1)}.
+     */
+    static String summarizePlan(Document explain) {
+        Document planner = findDocument(explain, "queryPlanner");
+        Document plan = planner != null ? planner.get("winningPlan", Document.class) : null;
+        if (plan == null) return "unknown";
+        if (plan.get("queryPlan") instanceof Document queryPlan) {
+            plan = queryPlan;
+        }
+
+        List<String> stages = new ArrayList<>();
+        Document stage = plan;
+        while (stage != null) {
+            String name = stage.getString("stage");
+            String index = stage.getString("indexName");
+            stages.add(index != null ? name + "(" + index + ")" : name);
+            if (stage.get("inputStage") instanceof Document input) {
+                stage = input;
+            } else if (stage.get("inputStages") instanceof List<?> inputs && !inputs.isEmpty()) {
+                List<String> branches = new ArrayList<>();
+                for (Object input : inputs) {
+                    if (input instanceof Document branch) branches.add(summarizeStage(branch));
+                }
+                stages.add("[" + String.join(" | ", branches) + "]");
+                stage = null;
+            } else {
+                stage = null;
+            }
+        }
+        return String.join(" > ", stages);
+    }
+
+    private static String summarizeStage(Document stage) {
+        return summarizePlan(new Document("queryPlanner", new Document("winningPlan", stage)));
+    }
+
+    private static Document findDocument(Document document, String key) {
+        if (document.get(key) instanceof Document found) return found;
+        for (Object value : document.values()) {
+            Document found = null;
+            if (value instanceof Document nested) {
+                found = findDocument(nested, key);
+            } else if (value instanceof List<?> list) {
+                for (Object element : list) {
+                    if (element instanceof Document nested && (found = findDocument(nested, key)) != null) break;
+                }
+            }
+            if (found != null) return found;
+        }
+        return null;
+    }
+
+    private static final class ShapeStats {
+        final String shape;
+        final String collection;
+        final String command;
+        private final long[] recent = new long[RECENT_SAMPLES];
+        private int next;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long getMores;
+        private long getMoreNanos;
+        private final AtomicBoolean explaining = new AtomicBoolean();
+        // Not synchronized: this runs on request threads, and a contended monitor pins a
+        // virtual thread to its carrier on JDK 21
+        private final ReentrantLock lock = new ReentrantLock();
+        volatile Plan plan;
+
+        ShapeStats(String shape, String collection, String command) {
+            this.shape = shape;
+            this.collection = collection;
+            this.command = command;
+        }
+
+        void record(long nanos) {
+            lock.lock();
+            try {
+                recent[next] = nanos;
+                next = (next + 1) % RECENT_SAMPLES;
+                count++;
+                totalNanos += nanos;
+                maxNanos = Math.max(maxNanos, nanos);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void recordGetMore(long nanos) {
+            lock.lock();
+            try {
+                getMores++;
+                getMoreNanos += nanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean needsPlan(long now, long refreshNanos) {
+            Plan current = plan;
+            return current == null || now - current.capturedNanos() > refreshNanos;
+        }
+
+        boolean claimExplain() {
+            return explaining.compareAndSet(false, true);
+        }
+
+        void releaseExplain() {
+            explaining.set(false);
+        }
+
+        ShapeReport report() {
+            long count;
+            long totalNanos;
+            long maxNanos;
+            long getMores;
+            long getMoreNanos;
+            long[] sorted;
+            lock.lock();
+            try {
+                count = this.count;
+                totalNanos = this.totalNanos;
+                maxNanos = this.maxNanos;
+                getMores = this.getMores;
+                getMoreNanos = this.getMoreNanos;
+                sorted = Arrays.copyOf(recent, (int) Math.min(count, RECENT_SAMPLES));
+            } finally {
+                lock.unlock();
+            }
+            Arrays.sort(sorted);
+            Plan current = plan;
+            return new ShapeReport(shape, collection, command, count,
+                    count == 0 ? 0 : millis(totalNanos / count),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), millis(maxNanos), millis(totalNanos),
+                    getMores, millis(getMoreNanos),
+                    current != null ? current.summary() : null,
+                    current != null ? current.collectionScan() : null,
+                    current != null ? current.capturedAt() : null,
+                    current != null ? current.explain() : null);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return 0;
+            return millis(sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)]);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Last known good results of list queries, for serving while Mongo is unavailable. Each
+ * read goes through {@link MongoCircuitBreaker}; a successful result is kept under a key
+ * that already includes the caller's visibility scope, and when the breaker reports Mongo
+ * unavailable the kept result for that key is returned instead and the request is marked
+ * stale (see {@link #SERVED_STALE_ATTRIBUTE}).
+ * <p>
+ * Only lists, which many requests repeat, and the principals bearer tokens resolve to are
+ * kept. Lookups of a single workflow or user and free-text searches call the breaker
+ * directly: their keys rarely repeat, and keeping them would push out the lists an outage
+ * needs.
+ * <p>
+ * The store is bounded both by entries and by weight, the number of rows kept across all
+ * results, and evicts approximately least recently used: reads never lock, and the thread
+ * whose write crosses a bound trims the store to 90% of it. When the circuit closes again
+ * every kept query is re-run in the background, so the next outage starts from current data.
+ */
+@Component
+public class StaleReadStore {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleReadStore.class);
+
+    /**
+     * Request attribute holding the {@link Instant} of the oldest stale result a request used.
+     */
+    public static final String SERVED_STALE_ATTRIBUTE = StaleReadStore.class.getName() + ".servedStale";
+
+    private static final class Snapshot {
+        final Object value;
+        final Instant storedAt;
+        final Supplier<?> query;
+        final int weight;
+        volatile long lastUsed;
+
+        Snapshot(Object value, Instant storedAt, Supplier<?> query, long tick) {
+            this.value = value;
+            this.storedAt = storedAt;
+            this.query = query;
+            this.weight = weigh(value);
+            this.lastUsed = tick;
+        }
+    }
+
+    private final MongoCircuitBreaker breaker;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Counter served;
+
+    public StaleReadStore(MongoCircuitBreaker breaker,
+                          @Value("${workflow.degraded-reads.enabled:true}") boolean enabled,
+                          @Value("${workflow.degraded-reads.max-entries:2000}") int maxEntries,
+                          @Value("${workflow.degraded-reads.max-weight:200000}") long maxWeight,
+                          MeterRegistry meterRegistry) {
+        this.breaker = breaker;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+
+        this.served = Counter.builder("stale.reads.served")
+                .description("Reads answered from the stale store while Mongo was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("stale.reads.entries", this, StaleReadStore::size)
+                .description("Query results kept for degraded reads")
+                .register(meterRegistry);
+        Gauge.builder("stale.reads.weight", weight, AtomicLong::get)
+                .description("Rows held by the query results kept for degraded reads")
+                .register(meterRegistry);
+        breaker.onRecovery(this::revalidate);
+    }
+
+    /**
+     * Runs {@code query} through the breaker and keeps its result, or returns the kept
+     * result for {@code key} if Mongo is unavailable. The result must not be modified by
+     * the caller, since other requests may be handed the same instance.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String key, Supplier<T> query) {
+        if (!enabled) return breaker.call(query);
+        try {
+            T value = breaker.call(query);
+            store(key, value, query);
+            return value;
+        } catch (ServiceUnavailableException e) {
+            Snapshot snapshot = snapshots.get(key);
+            if (snapshot == null) throw e;
+            snapshot.lastUsed = clock.incrementAndGet();
+            served.increment();
+            markStale(snapshot.storedAt);
+            return (T) snapshot.value;
+        }
+    }
+
+    /**
+     * Keeps a result loaded some other way, such as in bulk at startup, as if {@code query}
+     * had returned it.
+     */
+    public <T> void prime(String key, T value, Supplier<T> query) {
+        if (enabled) store(key, value, query);
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    private void store(String key, Object value, Supplier<?> query) {
+        Snapshot snapshot = new Snapshot(value, Instant.now(), query, clock.incrementAndGet());
+        Snapshot previous = snapshots.put(key, snapshot);
+        long total = weight.addAndGet(snapshot.weight - (previous != null ? previous.weight : 0));
+        if (total > maxWeight || snapshots.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    private void remove(String key, Snapshot snapshot) {
+        if (snapshots.remove(key, snapshot)) {
+            weight.addAndGet(-snapshot.weight);
+        }
+    }
+
+    // Writers that find an eviction already running skip it; the store may briefly sit
+    // above its bounds, which is cheaper than queueing every writer behind the sort
+    private void evict() {
+        if (!evictionLock.tryLock()) return;
+        try {
+            List<Map.Entry<String, Snapshot>> byAge = new ArrayList<>(snapshots.entrySet());
+            byAge.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed));
+            long entryTarget = maxEntries * 9L / 10;
+            long weightTarget = maxWeight * 9 / 10;
+            for (Map.Entry<String, Snapshot> entry : byAge) {
+                if (snapshots.size() <= entryTarget && weight.get() <= weightTarget) break;
+                remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // Rows rather than bytes: a list of workflows costs one per element, anything else one
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> rows) return Math.max(1, rows.size());
+        if (value instanceof Optional<?> optional) return optional.map(StaleReadStore::weigh).orElse(1);
+        return 1;
+    }
+
+    private static void markStale(Instant storedAt) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) return;
+        Instant previous = (Instant) request.getAttribute(SERVED_STALE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (previous == null || storedAt.isBefore(previous)) {
+            request.setAttribute(SERVED_STALE_ATTRIBUTE, storedAt, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Stops at the first failure; the breaker has then opened again and will call back
+    void revalidate() {
+        List<Map.Entry<String, Snapshot>> kept = new ArrayList<>(snapshots.entrySet());
+
+        int refreshed = 0;
+        for (Map.Entry<String, Snapshot> entry : kept) {
+            Supplier<?> query = entry.getValue().query;
+            try {
+                store(entry.getKey(), breaker.call(query), query);
+                refreshed++;
+            } catch (ServiceUnavailableException e) {
+                break;
+            } catch (RuntimeException e) {
+                // Gone or no longer readable: better to fail than to serve it later
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+        log.info("Revalidated {} of {} stale-read entries", refreshed, kept.size());
+    }
+}
@@ -0,0 +1,205 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.repository.StorageFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rewrites stored users and workflows into the layout selected by
+ * {@code workflow.storage.compact}, in batches on a background thread. Users go first:
+ * there are few of them and every login looks one up, so their lookups are the first to
+ * drop the filter widened to both layouts.
+ * A document is only replaced if it is still in the old layout, so a concurrent save is
+ * never overwritten. Once a collection is done this is recorded in {@code storage_format},
+ * and later starts skip it.
+ */
+@Component
+public class StorageFormatMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageFormatMigrator.class);
+
+    static final String METADATA_COLLECTION = "storage_format";
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageFormat storageFormat;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Map<String, Progress> progress = new LinkedHashMap<>();
+
+    public StorageFormatMigrator(MongoTemplate mongoTemplate, StorageFormat storageFormat,
+                                 @Value("${workflow.storage.migration.batch-size:1000}") int batchSize,
+                                 @Value("${workflow.storage.migration.pause-ms:50}") long pauseMillis,
+                                 MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.storageFormat = storageFormat;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        for (String collection : List.of(CompactFormat.USERS, CompactFormat.WORKFLOWS)) {
+            progress.put(collection, new Progress(collection, meterRegistry));
+        }
+    }
+
+    private static final class Progress {
+        final AtomicLong documents = new AtomicLong();
+        final AtomicLong bytesBefore = new AtomicLong();
+        final AtomicLong bytesAfter = new AtomicLong();
+        volatile boolean complete;
+        final Counter migrated;
+
+        Progress(String collection, MeterRegistry meterRegistry) {
+            this.migrated = Counter.builder("storage.migration.documents")
+                    .description("Documents rewritten into the configured storage layout")
+                    .tag("collection", collection)
+                    .register(meterRegistry);
+        }
+
+        void record(long before, long after) {
+            documents.incrementAndGet();
+            bytesBefore.addAndGet(before);
+            bytesAfter.addAndGet(after);
+            migrated.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        Thread migrator = new Thread(this::migrate, "storage-format-migrator");
+        migrator.setDaemon(true);
+        migrator.start();
+    }
+
+    public void migrate() {
+        for (String collection : progress.keySet()) {
+            try {
+                migrate(collection);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Storage format migration of {} interrupted", collection);
+                return;
+            } catch (Exception e) {
+                log.warn("Storage format migration of {} stopped: {}", collection, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void migrate(String collection) throws InterruptedException {
+        String layout = layoutName();
+        MongoCollection<Document> metadata = mongoTemplate.getCollection(METADATA_COLLECTION);
+        Document recorded = metadata.find(Filters.eq("_id", collection)).first();
+        Progress collectionProgress = progress.get(collection);
+        if (recorded != null && layout.equals(recorded.getString("layout"))) {
+            storageFormat.markSettled(collection);
+            collectionProgress.complete = true;
+            return;
+        }
+
+        long start = System.nanoTime();
+        MongoCollection<Document> documents = mongoTemplate.getCollection(collection);
+        Bson oldLayout = Filters.exists(CompactFormat.markerField(collection, !storageFormat.compact()));
+        while (true) {
+            List<RawBsonDocument> batch = documents.withDocumentClass(RawBsonDocument.class)
+                    .find(oldLayout).limit(batchSize).into(new ArrayList<>());
+            if (batch.isEmpty()) break;
+
+            List<WriteModel<Document>> writes = new ArrayList<>(batch.size());
+            for (RawBsonDocument raw : batch) {
+                Document translated = CompactFormat.translate(raw.decode(DOCUMENT_CODEC), collection, storageFormat.compact());
+                writes.add(new ReplaceOneModel<>(Filters.and(Filters.eq("_id", translated.get("_id")), oldLayout), translated));
+                collectionProgress.record(raw.getByteBuffer().remaining(), sizeOf(translated));
+            }
+            // A rewritten document has none of the old keys, so the next batch moves on
+            // even where a concurrent save got there first
+            documents.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            Thread.sleep(pauseMillis);
+        }
+
+        metadata.replaceOne(Filters.eq("_id", collection),
+                new Document("_id", collection).append("layout", layout).append("migratedAt", Instant.now()),
+                new ReplaceOptions().upsert(true));
+        storageFormat.markSettled(collection);
+        collectionProgress.complete = true;
+        log.info("Storage format migration of {} to the {} layout done in {} ms: {}", collection, layout,
+                (System.nanoTime() - start) / 1_000_000, report(collectionProgress));
+    }
+
+    /**
+     * Migration progress per collection, with the average size of the documents
+     * rewritten so far in the old and the new layout.
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("layout", layoutName());
+        progress.forEach((collection, p) -> report.put(collection, report(p)));
+        return report;
+    }
+
+    /**
+     * Average size of up to {@code sampleSize} randomly sampled documents of a collection
+     * in each layout, whichever layout they are stored in.
+     */
+    public Map<String, Object> sampleSizes(String collection, int sampleSize) {
+        long standard = 0;
+        long compact = 0;
+        int sampled = 0;
+        for (RawBsonDocument raw : mongoTemplate.getCollection(collection).withDocumentClass(RawBsonDocument.class)
+                .aggregate(List.of(Aggregates.sample(sampleSize)))) {
+            Document document = raw.decode(DOCUMENT_CODEC);
+            standard += sizeOf(CompactFormat.translate(document, collection, false));
+            compact += sizeOf(CompactFormat.translate(document, collection, true));
+            sampled++;
+        }
+
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        sizes.put("sampled", sampled);
+        sizes.put("avgStandardBytes", sampled > 0 ? standard / sampled : 0);
+        sizes.put("avgCompactBytes", sampled > 0 ? compact / sampled : 0);
+        sizes.put("savedPercent", standard > 0 ? Math.round(100.0 * (standard - compact) / standard) : 0);
+        return sizes;
+    }
+
+    private static Map<String, Object> report(Progress p) {
+        long documents = p.documents.get();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("complete", p.complete);
+        report.put("migrated", documents);
+        report.put("avgBytesBefore", documents > 0 ? p.bytesBefore.get() / documents : 0);
+        report.put("avgBytesAfter", documents > 0 ? p.bytesAfter.get() / documents : 0);
+        return report;
+    }
+
+    private String layoutName() {
+        return storageFormat.compact() ? "compact" : "standard";
+    }
+
+    private static int sizeOf(Document document) {
+        return new RawBsonDocument(document, DOCUMENT_CODEC).getByteBuffer().remaining();
+    }
+}
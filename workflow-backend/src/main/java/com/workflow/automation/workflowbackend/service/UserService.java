@@ -2,9 +2,11 @@ package com.workflow.automation.workflowbackend.service;
 
 import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
 import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
 import com.workflow.automation.workflowbackend.model.User;
 import com.workflow.automation.workflowbackend.model.UserRole;
 import com.workflow.automation.workflowbackend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -13,17 +15,23 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "api.service", histogram = true)
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MongoCircuitBreaker breaker;
+    private final StaleReadStore staleReads;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       MongoCircuitBreaker breaker, StaleReadStore staleReads) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.breaker = breaker;
+        this.staleReads = staleReads;
     }
 
-    public User createUser(User user, User creator) {
+    public User createUser(User user, AuthenticatedUser creator) {
         if (!creator.getRole().canManage(user.getRole())) {
             throw new AccessDeniedException(
                     String.format("%s cannot create users with role %s",
@@ -35,15 +43,15 @@ public class UserService {
         // Set creator's email instead of ID
         user.setCreatedBy(creator.getEmail());
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        return breaker.call(() -> userRepository.save(user));
     }
 
-    public User changeUserRole(String userId, UserRole newRole, User adminUser) {
+    public User changeUserRole(String userId, UserRole newRole, AuthenticatedUser adminUser) {
         if (adminUser.getRole() != UserRole.ADMIN) {
             throw new AccessDeniedException("Only ADMIN can change user roles");
         }
 
-        User userToUpdate = userRepository.findById(userId)
+        User userToUpdate = breaker.call(() -> userRepository.findById(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         if (userToUpdate.getId().equals(adminUser.getId())) {
@@ -51,23 +59,24 @@ public class UserService {
         }
 
         userToUpdate.setRole(newRole);
-        return userRepository.save(userToUpdate);
+        return breaker.call(() -> userRepository.save(userToUpdate));
     }
 
     public List<User> findAll() {
-        return userRepository.findAll();
+        return staleReads.read("users:all", () -> List.copyOf(userRepository.findAll()));
     }
 
-    public List<User> getAccessibleUsers(User currentUser) {
+    public List<User> getAccessibleUsers(AuthenticatedUser currentUser) {
         return switch (currentUser.getRole()) {
-            case ADMIN -> userRepository.findAll();
-            case MANAGER -> userRepository.findByRoleIn(List.of(UserRole.MANAGER, UserRole.STAFF));
-            case STAFF -> userRepository.findByRole(UserRole.STAFF);
+            case ADMIN -> findAll();
+            case MANAGER -> staleReads.read("users:manager-visible",
+                    () -> List.copyOf(userRepository.findByRoleIn(List.of(UserRole.MANAGER, UserRole.STAFF))));
+            case STAFF -> findByRole(UserRole.STAFF);
         };
     }
 
-    public User updateUser(String userId, User updatedUser, User editor) {
-        User existingUser = userRepository.findById(userId)
+    public User updateUser(String userId, User updatedUser, AuthenticatedUser editor) {
+        User existingUser = breaker.call(() -> userRepository.findById(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         // Allow users to update themselves (except role)
@@ -80,7 +89,7 @@ public class UserService {
             if (updatedUser.getPassword() != null) {
                 existingUser.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
             }
-            return userRepository.save(existingUser);
+            return breaker.call(() -> userRepository.save(existingUser));
         }
 
         if (!editor.getRole().canManage(existingUser.getRole())) {
@@ -97,11 +106,11 @@ public class UserService {
             existingUser.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
         }
 
-        return userRepository.save(existingUser);
+        return breaker.call(() -> userRepository.save(existingUser));
     }
 
-    public void deleteUser(String userId, User deleter) {
-        User userToDelete = userRepository.findById(userId)
+    public void deleteUser(String userId, AuthenticatedUser deleter) {
+        User userToDelete = breaker.call(() -> userRepository.findById(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         if (userToDelete.getId().equals(deleter.getId())) {
@@ -117,19 +126,20 @@ public class UserService {
             throw new AccessDeniedException("MANAGER can only delete STAFF users");
         }
 
-        userRepository.delete(userToDelete);
+        breaker.run(() -> userRepository.delete(userToDelete));
     }
 
+    // Single users are not kept for degraded reads; see StaleReadStore
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return breaker.call(() -> userRepository.findByEmail(email));
     }
 
     public User findById(String id) {
-        return userRepository.findById(id)
+        return breaker.call(() -> userRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
     public List<User> findByRole(UserRole role) {
-        return userRepository.findByRole(role);
+        return staleReads.read("users:role:" + role, () -> List.copyOf(userRepository.findByRole(role)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves workflows that have been COMPLETED or REJECTED for longer than
+ * {@code workflow.archive.after-days} from the hot collection into
+ * {@link com.workflow.automation.workflowbackend.repository.WorkflowRepositoryCustom#ARCHIVE_COLLECTION},
+ * in batches with a pause in between so the primary keeps serving requests. Archived
+ * workflows drop out of the search index and column store; {@link WorkflowService}
+ * still finds them by id and restores them when they are changed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WorkflowArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowArchiver.class);
+
+    private final WorkflowRepository workflowRepository;
+    private final WorkflowSearchIndex searchIndex;
+    private final WorkflowColumnStore columnStore;
+    private final WorkflowQueryCoalescer queryCoalescer;
+    private final MongoCircuitBreaker breaker;
+    private final boolean enabled;
+    private final Duration age;
+    private final long intervalMinutes;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Counter archived;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "workflow-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WorkflowArchiver(WorkflowRepository workflowRepository, WorkflowSearchIndex searchIndex,
+                            WorkflowColumnStore columnStore, WorkflowQueryCoalescer queryCoalescer,
+                            MongoCircuitBreaker breaker,
+                            @Value("${workflow.archive.enabled:false}") boolean enabled,
+                            @Value("${workflow.archive.after-days:30}") long afterDays,
+                            @Value("${workflow.archive.interval-minutes:15}") long intervalMinutes,
+                            @Value("${workflow.archive.batch-size:500}") int batchSize,
+                            @Value("${workflow.archive.pause-ms:100}") long pauseMillis,
+                            MeterRegistry meterRegistry) {
+        this.workflowRepository = workflowRepository;
+        this.searchIndex = searchIndex;
+        this.columnStore = columnStore;
+        this.queryCoalescer = queryCoalescer;
+        this.breaker = breaker;
+        this.enabled = enabled;
+        this.age = Duration.ofDays(afterDays);
+        this.intervalMinutes = intervalMinutes;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.archived = Counter.builder("workflow.archive.moved")
+                .description("Finished workflows moved to the archive collection")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOnStartup() {
+        if (!enabled) return;
+        scheduler.scheduleWithFixedDelay(this::archive, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Archives every workflow that is due, batch by batch, and returns how many were moved.
+     */
+    public long archive() {
+        long start = System.nanoTime();
+        long moved = 0;
+        Criteria due = Criteria.where("status").in(WorkflowStatus.COMPLETED, WorkflowStatus.REJECTED)
+                .and("updatedAt").lt(Instant.now().minus(age));
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<String> ids = breaker.call(() -> workflowRepository.archiveMatching(due, batchSize));
+                if (ids.isEmpty()) break;
+
+                ids.forEach(id -> {
+                    searchIndex.remove(id);
+                    columnStore.remove(id);
+                });
+                queryCoalescer.invalidate();
+                archived.increment(ids.size());
+                moved += ids.size();
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Archiving stopped after {} workflows: {}", moved, e.getMessage());
+            return moved;
+        }
+        if (moved > 0) {
+            log.info("Archived {} finished workflows in {} ms", moved, (System.nanoTime() - start) / 1_000_000);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,110 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes the attachments of deleted workflows from the {@link WorkflowAttachmentService}
+ * bucket. Not tied to a web stack, so the servlet and reactive delete paths share it;
+ * the calls block and belong off event-loop threads.
+ * <p>
+ * The workflow is already gone when this runs, so a failed cleanup does not fail the
+ * delete: the workflow id is kept and retried every {@code cleanup-retry-seconds} until
+ * its attachments are removed. Pending ids live in memory only.
+ */
+@Component
+public class WorkflowAttachmentCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowAttachmentCleanup.class);
+
+    private final GridFSBucket bucket;
+    private final MongoCircuitBreaker breaker;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService retrier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attachment-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public WorkflowAttachmentCleanup(MongoDatabaseFactory databaseFactory, MongoCircuitBreaker breaker,
+                                     @Value("${workflow.attachments.cleanup-retry-seconds:30}") long retrySeconds,
+                                     MeterRegistry meterRegistry) {
+        this(GridFSBuckets.create(databaseFactory.getMongoDatabase(), WorkflowAttachmentService.BUCKET),
+                breaker, retrySeconds, meterRegistry);
+    }
+
+    WorkflowAttachmentCleanup(GridFSBucket bucket, MongoCircuitBreaker breaker, long retrySeconds,
+                              MeterRegistry meterRegistry) {
+        this.bucket = bucket;
+        this.breaker = breaker;
+
+        Gauge.builder("workflow.attachments.cleanup.pending", pending, Set::size)
+                .description("Deleted workflows whose attachments are still to be removed")
+                .register(meterRegistry);
+        retrier.scheduleWithFixedDelay(this::retryPending, retrySeconds, retrySeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retrier.shutdownNow();
+    }
+
+    /**
+     * Removes every attachment of a workflow that has been deleted, or queues the workflow
+     * for a retry if that fails.
+     */
+    public void deleteAll(String workflowId) {
+        try {
+            remove(workflowId);
+        } catch (RuntimeException e) {
+            pending.add(workflowId);
+            log.warn("Attachments of deleted workflow {} will be removed on retry: {}", workflowId, e.getMessage());
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    // Stops at the first failure; the rest wait for the next round
+    void retryPending() {
+        for (String workflowId : List.copyOf(pending)) {
+            try {
+                remove(workflowId);
+                pending.remove(workflowId);
+            } catch (RuntimeException e) {
+                log.debug("Attachment cleanup retry failed: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void remove(String workflowId) {
+        breaker.run(() -> {
+            List<ObjectId> ids = new ArrayList<>();
+            bucket.find(Filters.eq(WorkflowAttachmentService.WORKFLOW_ID, workflowId))
+                    .forEach(file -> ids.add(file.getObjectId()));
+            ids.forEach(bucket::delete);
+        });
+    }
+}
@@ -0,0 +1,309 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import com.workflow.automation.workflowbackend.dto.AttachmentDTO;
+import com.workflow.automation.workflowbackend.exception.AttachmentTooLargeException;
+import com.workflow.automation.workflowbackend.exception.InvalidAttachmentException;
+import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Files attached to workflows, kept in the GridFS bucket {@value #BUCKET}. Content is
+ * streamed both ways: an upload is copied from the request into GridFS one chunk at a
+ * time while its SHA-256 is computed, and a download reads at most
+ * {@code download-batch-chunks} chunks ahead, seeking to the requested range. Listing reads
+ * the files collection only.
+ * <p>
+ * Callers need read access to the workflow to list and download, and edit access (see
+ * {@link WorkflowRules#checkCanEdit}) to upload and delete. Attachments are never changed
+ * in place, so an id always names the same bytes. Deleting a workflow removes its
+ * attachments through {@link WorkflowAttachmentCleanup}.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Timed(value = "api.service", histogram = true)
+public class WorkflowAttachmentService {
+
+    public static final String BUCKET = "attachments";
+
+    static final String WORKFLOW_ID = "metadata.workflowId";
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final MongoDatabase database;
+    private final GridFSBucket bucket;
+    private final WorkflowService workflowService;
+    private final MongoCircuitBreaker breaker;
+    private final StaleReadStore staleReads;
+    private final long maxBytes;
+    private final int downloadBatchChunks;
+    private final DistributionSummary uploadedBytes;
+    private volatile boolean indexed;
+
+    @Autowired
+    public WorkflowAttachmentService(MongoDatabaseFactory databaseFactory, WorkflowService workflowService,
+                                     MongoCircuitBreaker breaker, StaleReadStore staleReads,
+                                     @Value("${workflow.attachments.max-bytes:26214400}") long maxBytes,
+                                     @Value("${workflow.attachments.chunk-size-kb:255}") int chunkSizeKb,
+                                     @Value("${workflow.attachments.download-batch-chunks:4}") int downloadBatchChunks,
+                                     MeterRegistry meterRegistry) {
+        this(databaseFactory.getMongoDatabase(),
+                GridFSBuckets.create(databaseFactory.getMongoDatabase(), BUCKET).withChunkSizeBytes(chunkSizeKb * 1024),
+                workflowService, breaker, staleReads, maxBytes, downloadBatchChunks, meterRegistry);
+    }
+
+    WorkflowAttachmentService(MongoDatabase database, GridFSBucket bucket, WorkflowService workflowService,
+                              MongoCircuitBreaker breaker, StaleReadStore staleReads, long maxBytes,
+                              int downloadBatchChunks, MeterRegistry meterRegistry) {
+        this.database = database;
+        this.bucket = bucket;
+        this.workflowService = workflowService;
+        this.breaker = breaker;
+        this.staleReads = staleReads;
+        this.maxBytes = maxBytes;
+        this.downloadBatchChunks = downloadBatchChunks;
+        this.uploadedBytes = DistributionSummary.builder("workflow.attachments.uploaded")
+                .description("Size of uploaded workflow attachments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<AttachmentDTO> listAttachments(String workflowId, AuthenticatedUser currentUser) {
+        workflowService.getWorkflowById(workflowId, currentUser);
+        return staleReads.read("attachments:" + workflowId, () -> {
+            List<AttachmentDTO> attachments = new ArrayList<>();
+            bucket.find(Filters.eq(WORKFLOW_ID, workflowId))
+                    .sort(Sorts.ascending("uploadDate"))
+                    .forEach(file -> attachments.add(AttachmentDTO.fromFile(file)));
+            return List.copyOf(attachments);
+        });
+    }
+
+    /**
+     * Stores {@code content} as a new attachment. If {@code contentDigest} carries a
+     * {@code sha-256} value (RFC 9530 Content-Digest), the upload is rejected unless the
+     * received bytes match it.
+     */
+    public AttachmentDTO upload(String workflowId, String filename, String contentType, String contentDigest,
+                                InputStream content, AuthenticatedUser currentUser) {
+        workflowService.getEditableWorkflow(workflowId, currentUser);
+        String name = sanitizeFilename(filename);
+        MediaType mediaType = mediaType(contentType);
+        byte[] expectedSha256 = sha256Of(contentDigest);
+
+        Document metadata = new Document("workflowId", workflowId)
+                .append("contentType", mediaType.toString())
+                .append("uploadedBy", currentUser.getEmail());
+        ObjectId id = breaker.call(() -> {
+            ensureIndex();
+            GridFSUploadStream upload = bucket.openUploadStream(name, new GridFSUploadOptions().metadata(metadata));
+            byte[] sha256;
+            try {
+                sha256 = copy(content, upload);
+                if (expectedSha256 != null && !MessageDigest.isEqual(expectedSha256, sha256)) {
+                    throw new InvalidAttachmentException("Content-Digest does not match the uploaded content");
+                }
+            } catch (RuntimeException e) {
+                upload.abort();
+                throw e;
+            }
+            upload.close();
+            database.getCollection(BUCKET + ".files").updateOne(Filters.eq("_id", upload.getObjectId()),
+                    Updates.set("metadata.sha256", HexFormat.of().formatHex(sha256)));
+            return upload.getObjectId();
+        });
+        AttachmentDTO attachment = AttachmentDTO.fromFile(findFile(workflowId, id));
+        uploadedBytes.record(attachment.length());
+        return attachment;
+    }
+
+    /**
+     * The attachment as a resource whose every {@link AttachmentContent#getInputStream()}
+     * opens a fresh GridFS download stream, so byte ranges can skip to the chunks they need.
+     */
+    public AttachmentContent open(String workflowId, String attachmentId, AuthenticatedUser currentUser) {
+        workflowService.getWorkflowById(workflowId, currentUser);
+        return new AttachmentContent(findFile(workflowId, objectId(attachmentId)));
+    }
+
+    public void delete(String workflowId, String attachmentId, AuthenticatedUser currentUser) {
+        workflowService.getEditableWorkflow(workflowId, currentUser);
+        GridFSFile file = findFile(workflowId, objectId(attachmentId));
+        breaker.run(() -> bucket.delete(file.getObjectId()));
+    }
+
+    private GridFSFile findFile(String workflowId, ObjectId id) {
+        Bson query = Filters.and(Filters.eq("_id", id), Filters.eq(WORKFLOW_ID, workflowId));
+        GridFSFile file = breaker.call(() -> bucket.find(query).first());
+        if (file == null) {
+            throw new ResourceNotFoundException("Attachment not found with id: " + id);
+        }
+        return file;
+    }
+
+    // Returns the SHA-256 of everything copied; fails once more than maxBytes arrive
+    private byte[] copy(InputStream content, GridFSUploadStream upload) {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        long total = 0;
+        try {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new AttachmentTooLargeException("Attachments are limited to " + maxBytes + " bytes");
+                }
+                digest.update(buffer, 0, read);
+                upload.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Attachment upload was interrupted", e);
+        }
+        return digest.digest();
+    }
+
+    // GridFS indexes its own collections on the first upload; listing needs one more
+    private void ensureIndex() {
+        if (indexed) return;
+        database.getCollection(BUCKET + ".files").createIndex(Indexes.ascending(WORKFLOW_ID, "uploadDate"));
+        indexed = true;
+    }
+
+    private static ObjectId objectId(String attachmentId) {
+        if (!ObjectId.isValid(attachmentId)) {
+            throw new ResourceNotFoundException("Attachment not found with id: " + attachmentId);
+        }
+        return new ObjectId(attachmentId);
+    }
+
+    // Keeps the last path segment only and drops control characters
+    static String sanitizeFilename(String filename) {
+        String name = filename == null ? "" : filename;
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1)
+                .replaceAll("\\p{Cntrl}", "")
+                .strip();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            throw new InvalidAttachmentException("An attachment needs a file name");
+        }
+        return name.length() > 255 ? name.substring(0, 255) : name;
+    }
+
+    // Multipart and form bodies are parsed by the servlet container before they get here, so
+    // the file has to be sent as the raw request body
+    private static MediaType mediaType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.getType().equals("multipart") || MediaType.APPLICATION_FORM_URLENCODED.includes(mediaType)) {
+                throw new InvalidAttachmentException("Send the file itself as the request body, not " + mediaType);
+            }
+            return mediaType;
+        } catch (InvalidMediaTypeException e) {
+            throw new InvalidAttachmentException("Invalid Content-Type: " + contentType);
+        }
+    }
+
+    // "sha-256=:<base64>:" from a Content-Digest header that may list several algorithms
+    static byte[] sha256Of(String contentDigest) {
+        if (contentDigest == null) return null;
+        for (String entry : contentDigest.split(",")) {
+            String value = entry.strip();
+            if (value.regionMatches(true, 0, "sha-256=:", 0, 9) && value.length() > 10 && value.endsWith(":")) {
+                try {
+                    return Base64.getDecoder().decode(value.substring(9, value.length() - 1));
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidAttachmentException("Invalid sha-256 value in Content-Digest");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * An attachment's content and metadata, readable as many times as needed.
+     */
+    public final class AttachmentContent extends AbstractResource {
+
+        private final GridFSFile file;
+
+        private AttachmentContent(GridFSFile file) {
+            this.file = file;
+        }
+
+        public AttachmentDTO attachment() {
+            return AttachmentDTO.fromFile(file);
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return breaker.call(() -> bucket.openDownloadStream(file.getObjectId()).batchSize(downloadBatchChunks));
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return file.getLength();
+        }
+
+        @Override
+        public long lastModified() {
+            return file.getUploadDate().getTime();
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Attachment " + file.getObjectId().toHexString() + " [" + file.getFilename() + "]";
+        }
+    }
+}
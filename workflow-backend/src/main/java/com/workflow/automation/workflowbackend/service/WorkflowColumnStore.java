@@ -0,0 +1,407 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Columnar copy of the attributes list queries filter on. Each workflow is a row;
+ * status and assigned role are stored as ordinals, assignee and creator emails as codes
+ * from a shared dictionary, and every column value has a compressed bitmap of the rows
+ * holding it. A list query then resolves filters and visibility to row ids by bitmap
+ * intersection, and only those ids are fetched from Mongo.
+ * <p>
+ * Kept in sync by {@link WorkflowService} writes and rebuilt from Mongo on startup and
+ * every {@code rebuild-minutes}. Writes made by other instances only reach the columns
+ * with the next rebuild, so callers also ask Mongo for workflows updated since
+ * {@link #changesSince()}.
+ */
+@Component
+public class WorkflowColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowColumnStore.class);
+
+    private static final int NO_VALUE = -1;
+
+    private final WorkflowRepository workflowRepository;
+    private final boolean enabled;
+    private final long rebuildMinutes;
+    private final Duration clockSkew;
+    private final int maxSelection;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "workflow-column-store-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock
+    private Columns columns = new Columns();
+    // Writes that arrive while a rebuild reads Mongo, replayed onto the rebuilt columns
+    private List<Consumer<Columns>> pending;
+    private volatile boolean ready;
+    private volatile Instant changesSince;
+
+    public WorkflowColumnStore(WorkflowRepository workflowRepository,
+                               @Value("${workflow.column-store.enabled:false}") boolean enabled,
+                               @Value("${workflow.column-store.rebuild-minutes:10}") long rebuildMinutes,
+                               @Value("${workflow.column-store.clock-skew-seconds:5}") long clockSkewSeconds,
+                               @Value("${workflow.column-store.max-selection:5000}") int maxSelection,
+                               MeterRegistry meterRegistry) {
+        this.workflowRepository = workflowRepository;
+        this.enabled = enabled;
+        this.rebuildMinutes = rebuildMinutes;
+        this.clockSkew = Duration.ofSeconds(clockSkewSeconds);
+        this.maxSelection = maxSelection;
+
+        Gauge.builder("workflow.columns.rows", this, WorkflowColumnStore::size)
+                .description("Workflows held in the columnar read model")
+                .register(meterRegistry);
+        Gauge.builder("workflow.columns.bitmap.bytes", this, WorkflowColumnStore::bitmapBytes)
+                .description("Serialized size of the column value bitmaps")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A row's values, copied out of the entity so later changes to it cannot leak in.
+     */
+    private record Row(String id, WorkflowStatus status, UserRole assignedToRole, String assignedTo, String createdBy) {
+
+        static Row of(Workflow workflow) {
+            return new Row(workflow.getId(), workflow.getStatus(), workflow.getAssignedToRole(),
+                    workflow.getAssignedTo(), workflow.getCreatedBy());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) return;
+        rebuilder.scheduleWithFixedDelay(this::rebuild, 0, rebuildMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * True once the columns have been loaded from Mongo; until then callers query Mongo.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * A time before which every workflow write is reflected in the columns, allowing for
+     * {@code clock-skew-seconds} between instances; null until the first build.
+     */
+    public Instant changesSince() {
+        return changesSince;
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        Columns rebuilt = new Columns();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Anything written from here on is either streamed below or newer than readFrom
+        Instant readFrom = Instant.now().minus(clockSkew);
+        try {
+            if (changesSince == null) {
+                workflowRepository.ensureUpdatedAtIndex();
+            }
+            try (Stream<Workflow> workflows = workflowRepository.streamAllBy()) {
+                workflows.forEach(workflow -> rebuilt.put(Row.of(workflow)));
+            }
+        } catch (Exception e) {
+            log.warn("Column store could not be built from Mongo: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(write -> write.accept(rebuilt));
+            pending = null;
+            rebuilt.optimize();
+            columns = rebuilt;
+            changesSince = readFrom;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Column store built with {} workflows in {} ms",
+                rebuilt.rowById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void index(Workflow workflow) {
+        if (!enabled || workflow.getId() == null) return;
+        Row row = Row.of(workflow);
+        apply(columns -> columns.put(row));
+    }
+
+    public void remove(String workflowId) {
+        if (!enabled) return;
+        apply(columns -> columns.remove(workflowId));
+    }
+
+    private void apply(Consumer<Columns> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(columns);
+            if (pending != null) {
+                pending.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * True if the columns are loaded and select at most {@code max-selection} workflows for
+     * these filters. Larger selections would load nearly as many documents by id as a
+     * plain query returns, so callers should query Mongo directly instead.
+     */
+    public boolean covers(WorkflowVisibility visibility, WorkflowStatus status,
+                          String assignedTo, UserRole assignedToRole) {
+        if (!ready) return false;
+        lock.readLock().lock();
+        try {
+            return rows(columns, visibility, status, assignedTo, assignedToRole).getLongCardinality() <= maxSelection;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the workflows matching every non-null filter that {@code visibility} allows,
+     * in row order.
+     */
+    public List<String> select(WorkflowVisibility visibility, WorkflowStatus status,
+                               String assignedTo, UserRole assignedToRole) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            RoaringBitmap rows = rows(c, visibility, status, assignedTo, assignedToRole);
+            List<String> ids = new ArrayList<>(rows.getCardinality());
+            rows.forEach((int row) -> ids.add(c.ids[row]));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap rows(Columns c, WorkflowVisibility visibility, WorkflowStatus status,
+                                      String assignedTo, UserRole assignedToRole) {
+        // Every value bitmap only holds live rows, so live is needed only without filters
+        List<RoaringBitmap> required = new ArrayList<>(4);
+        if (status != null) required.add(c.byStatus[status.ordinal()]);
+        if (assignedToRole != null) required.add(c.byRole[assignedToRole.ordinal()]);
+        if (assignedTo != null) required.add(c.rowsWith(c.byAssignee, assignedTo));
+        if (!visibility.unrestricted()) required.add(c.visibleTo(visibility));
+
+        RoaringBitmap rows = c.live;
+        if (!required.isEmpty()) {
+            // Smallest first, so each intersection only shrinks an already small set
+            required.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            rows = required.get(0);
+            for (int i = 1; i < required.size() && !rows.isEmpty(); i++) {
+                rows = RoaringBitmap.and(rows, required.get(i));
+            }
+        }
+        return rows;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long bitmapBytes() {
+        lock.readLock().lock();
+        try {
+            return columns.bitmapBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The columns and their bitmaps; not thread-safe, callers hold the store's lock.
+     * Rows of removed workflows are reused, and dictionary codes are only reclaimed by
+     * a rebuild.
+     */
+    private static final class Columns {
+
+        private String[] ids = new String[1024];
+        private byte[] status = new byte[1024];
+        private byte[] role = new byte[1024];
+        private int[] assignee = new int[1024];
+        private int[] creator = new int[1024];
+        private int rowCount;
+        private int[] freeRows = new int[64];
+        private int freeCount;
+
+        private final Map<String, Integer> rowById = new HashMap<>();
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final RoaringBitmap[] byStatus = bitmaps(WorkflowStatus.values().length);
+        private final RoaringBitmap[] byRole = bitmaps(UserRole.values().length);
+        // Indexed by dictionary code
+        private final List<RoaringBitmap> byAssignee = new ArrayList<>();
+        private final List<RoaringBitmap> byCreator = new ArrayList<>();
+
+        void put(Row r) {
+            Integer existing = rowById.get(r.id());
+            int row;
+            if (existing != null) {
+                row = existing;
+                clear(row);
+            } else {
+                row = allocate();
+                rowById.put(r.id(), row);
+            }
+
+            ids[row] = r.id();
+            status[row] = (byte) (r.status() != null ? r.status().ordinal() : NO_VALUE);
+            role[row] = (byte) (r.assignedToRole() != null ? r.assignedToRole().ordinal() : NO_VALUE);
+            assignee[row] = encode(r.assignedTo());
+            creator[row] = encode(r.createdBy());
+
+            live.add(row);
+            if (status[row] != NO_VALUE) byStatus[status[row]].add(row);
+            if (role[row] != NO_VALUE) byRole[role[row]].add(row);
+            if (assignee[row] != NO_VALUE) byAssignee.get(assignee[row]).add(row);
+            if (creator[row] != NO_VALUE) byCreator.get(creator[row]).add(row);
+        }
+
+        void remove(String id) {
+            Integer row = rowById.remove(id);
+            if (row == null) return;
+            clear(row);
+            ids[row] = null;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        }
+
+        private void clear(int row) {
+            live.remove(row);
+            if (status[row] != NO_VALUE) byStatus[status[row]].remove(row);
+            if (role[row] != NO_VALUE) byRole[role[row]].remove(row);
+            if (assignee[row] != NO_VALUE) byAssignee.get(assignee[row]).remove(row);
+            if (creator[row] != NO_VALUE) byCreator.get(creator[row]).remove(row);
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return freeRows[--freeCount];
+            }
+            if (rowCount == ids.length) {
+                int capacity = rowCount * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                status = Arrays.copyOf(status, capacity);
+                role = Arrays.copyOf(role, capacity);
+                assignee = Arrays.copyOf(assignee, capacity);
+                creator = Arrays.copyOf(creator, capacity);
+            }
+            return rowCount++;
+        }
+
+        // Assignee and creator share one dictionary, so both bitmap lists grow together
+        private int encode(String email) {
+            if (email == null) return NO_VALUE;
+            return dictionary.computeIfAbsent(email, e -> {
+                byAssignee.add(new RoaringBitmap());
+                byCreator.add(new RoaringBitmap());
+                return dictionary.size();
+            });
+        }
+
+        RoaringBitmap rowsWith(List<RoaringBitmap> column, String email) {
+            Integer code = dictionary.get(email);
+            return code != null ? column.get(code) : new RoaringBitmap();
+        }
+
+        // Same rule as WorkflowVisibility#toCriteria: a visible assigned role, or the
+        // caller's own workflows where the scope includes them
+        RoaringBitmap visibleTo(WorkflowVisibility visibility) {
+            List<RoaringBitmap> branches = new ArrayList<>(visibility.visibleRoles().size() + 2);
+            for (UserRole visibleRole : visibility.visibleRoles()) {
+                branches.add(byRole[visibleRole.ordinal()]);
+            }
+            if (visibility.seesAssigned()) branches.add(rowsWith(byAssignee, visibility.username()));
+            if (visibility.seesCreated()) branches.add(rowsWith(byCreator, visibility.username()));
+            return FastAggregation.or(branches.toArray(new RoaringBitmap[0]));
+        }
+
+        void optimize() {
+            live.runOptimize();
+            Stream.of(byStatus).forEach(RoaringBitmap::runOptimize);
+            Stream.of(byRole).forEach(RoaringBitmap::runOptimize);
+            byAssignee.forEach(RoaringBitmap::runOptimize);
+            byCreator.forEach(RoaringBitmap::runOptimize);
+        }
+
+        long bitmapBytes() {
+            long bytes = live.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : byStatus) bytes += bitmap.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : byRole) bytes += bitmap.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : byAssignee) bytes += bitmap.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : byCreator) bytes += bitmap.getLongSizeInBytes();
+            return bytes;
+        }
+
+        private static RoaringBitmap[] bitmaps(int count) {
+            RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+            for (int i = 0; i < count; i++) {
+                bitmaps[i] = new RoaringBitmap();
+            }
+            return bitmaps;
+        }
+    }
+}
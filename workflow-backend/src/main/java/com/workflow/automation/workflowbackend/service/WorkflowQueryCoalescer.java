@@ -0,0 +1,137 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.Workflow;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of list queries. Concurrent callers that build the same query
+ * share one Mongo round trip and one immutable result list. Completed results can be
+ * reused for a short freshness window. Every workflow write starts a new epoch: flights
+ * from an older epoch are neither joined nor kept, so a read that begins after a write
+ * never shares a query that was sent before it.
+ */
+@Component
+public class WorkflowQueryCoalescer {
+
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private final long freshnessNanos;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong writeEpoch = new AtomicLong();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    public WorkflowQueryCoalescer(@Value("${workflow.query.coalescing.freshness-ms:0}") long freshnessMs,
+                                  MeterRegistry meterRegistry) {
+        this.freshnessNanos = freshnessMs * 1_000_000;
+
+        FunctionCounter.builder("workflow.query.coalescing.requests", requests, LongAdder::sum)
+                .description("List queries submitted to the coalescer")
+                .register(meterRegistry);
+        FunctionCounter.builder("workflow.query.coalescing.executions", executions, LongAdder::sum)
+                .description("List queries actually sent to Mongo")
+                .register(meterRegistry);
+        Gauge.builder("workflow.query.coalescing.ratio", this, WorkflowQueryCoalescer::coalescingRatio)
+                .description("Share of list queries served by another caller's execution")
+                .register(meterRegistry);
+    }
+
+    public List<Workflow> execute(Criteria criteria, Supplier<List<Workflow>> loader) {
+        String key = criteria != null ? criteria.getCriteriaObject().toJson() : "{}";
+        requests.increment();
+
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null) {
+                if (flight.epoch == writeEpoch.get() && !flight.isExpired(System.nanoTime(), freshnessNanos)) {
+                    return flight.await();
+                }
+                flights.remove(key, flight);
+                continue;
+            }
+
+            Flight mine = new Flight(writeEpoch.get());
+            if (flights.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            return run(key, mine, loader);
+        }
+    }
+
+    /**
+     * Starts a new write epoch and drops every flight, so the next read goes to Mongo.
+     * In-flight queries still finish for the callers already waiting on them.
+     */
+    public void invalidate() {
+        long epoch = writeEpoch.incrementAndGet();
+        flights.values().removeIf(flight -> flight.epoch < epoch);
+    }
+
+    public double coalescingRatio() {
+        long total = requests.sum();
+        return total == 0 ? 0.0 : 1.0 - (double) executions.sum() / total;
+    }
+
+    private List<Workflow> run(String key, Flight mine, Supplier<List<Workflow>> loader) {
+        executions.increment();
+        try {
+            List<Workflow> result = List.copyOf(loader.get());
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            flights.remove(key, mine);
+            throw e;
+        } finally {
+            // A flight that was overtaken by a write must not be served from the map
+            if (freshnessNanos == 0 || mine.epoch != writeEpoch.get()) {
+                flights.remove(key, mine);
+            } else if (flights.size() > SWEEP_THRESHOLD) {
+                long now = System.nanoTime();
+                flights.values().removeIf(f -> f.isExpired(now, freshnessNanos));
+            }
+        }
+    }
+
+    private static final class Flight extends CompletableFuture<List<Workflow>> {
+        private final long epoch;
+        private volatile long completedAt;
+
+        Flight(long epoch) {
+            this.epoch = epoch;
+        }
+
+        @Override
+        public boolean complete(List<Workflow> value) {
+            completedAt = System.nanoTime();
+            return super.complete(value);
+        }
+
+        boolean isExpired(long now, long freshnessNanos) {
+            return isDone() && (isCompletedExceptionally() || now - completedAt > freshnessNanos);
+        }
+
+        List<Workflow> await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+    }
+}
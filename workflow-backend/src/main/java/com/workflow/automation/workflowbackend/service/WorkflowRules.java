@@ -0,0 +1,138 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Who may create, read, change and delete which workflows. Pure functions over loaded
+ * documents, shared by {@link WorkflowService} and {@link ReactiveWorkflowService} so the
+ * servlet and reactive stacks enforce the same rules.
+ */
+public final class WorkflowRules {
+
+    private WorkflowRules() {
+    }
+
+    public static void prepareNew(Workflow workflow, AuthenticatedUser creator) {
+        workflow.setCreatedBy(creator.getEmail());
+        workflow.setCreatedAt(Instant.now());
+        workflow.setUpdatedAt(Instant.now());
+        workflow.setRevision(1);
+        workflow.setStatus(WorkflowStatus.PENDING);
+    }
+
+    public static void checkAssignee(String assigneeId, UserRole assignedRole, Optional<User> assignee) {
+        if (assignee.isEmpty()) {
+            throw new ResourceNotFoundException("Assignee not found with id: " + assigneeId);
+        }
+        if (assignee.get().getRole() != assignedRole) {
+            throw new IllegalArgumentException("Assignee role doesn't match the required role");
+        }
+    }
+
+    public static List<Criteria> listFilters(String status, String assigneeId, String assignedToRole) {
+        List<Criteria> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add(Criteria.where("status").is(WorkflowStatus.valueOf(status.toUpperCase())));
+        }
+        if (assigneeId != null) {
+            filters.add(Criteria.where("assignedTo").is(assigneeId));
+        }
+        if (assignedToRole != null) {
+            filters.add(Criteria.where("assignedToRole").is(UserRole.valueOf(assignedToRole.toUpperCase())));
+        }
+        return filters;
+    }
+
+    public static void checkCanListAssignee(String assigneeId, AuthenticatedUser currentUser) {
+        if (!currentUser.isAdmin() && !currentUser.isManager()
+                && !assigneeId.equals(currentUser.getEmail())) {
+            throw new AccessDeniedException("You can only view your own assigned workflows");
+        }
+    }
+
+    public static UserRole checkCanListRole(String role, AuthenticatedUser currentUser) {
+        UserRole userRole = UserRole.valueOf(role.toUpperCase());
+
+        if (currentUser.isManager()) {
+            if (userRole != UserRole.MANAGER && userRole != UserRole.STAFF) {
+                throw new AccessDeniedException("You can only filter by MANAGER or STAFF roles");
+            }
+        } else if (!currentUser.isAdmin() && userRole != UserRole.STAFF) {
+            throw new AccessDeniedException("You can only view STAFF workflows");
+        }
+        return userRole;
+    }
+
+    public static void checkCanEdit(Workflow workflow, AuthenticatedUser currentUser) {
+        if (currentUser.isAdmin()) return;
+        if (workflow.getCreatedBy().equals(currentUser.getEmail())) return;
+        if (workflow.getAssignedTo().equals(currentUser.getEmail())) return;
+        throw new AccessDeniedException("Not authorized to edit this workflow");
+    }
+
+    /**
+     * Copies the fields the caller is allowed to change: the assignee may move the status,
+     * the creator or an admin may reassign.
+     */
+    public static void applyUpdate(Workflow workflow, Workflow workflowDetails, AuthenticatedUser currentUser) {
+        workflow.setTitle(workflowDetails.getTitle());
+        workflow.setDescription(workflowDetails.getDescription());
+
+        if (workflow.getAssignedTo().equals(currentUser.getEmail())) {
+            workflow.setStatus(workflowDetails.getStatus());
+        }
+
+        if (currentUser.isAdmin() ||
+                workflow.getCreatedBy().equals(currentUser.getEmail())) {
+            workflow.setAssignedTo(workflowDetails.getAssignedTo());
+            workflow.setAssignedToRole(workflowDetails.getAssignedToRole());
+        }
+        touch(workflow);
+    }
+
+    public static void checkCanDelete(Workflow workflow, AuthenticatedUser currentUser) {
+        if (!workflow.getCreatedBy().equals(currentUser.getEmail()) && !currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only admins or workflow creators can delete workflows");
+        }
+    }
+
+    public static void applyStatus(Workflow workflow, String newStatus, AuthenticatedUser currentUser) {
+        if (!workflow.getAssignedTo().equals(currentUser.getEmail())) {
+            throw new AccessDeniedException("Only the assignee can update workflow status");
+        }
+        workflow.setStatus(WorkflowStatus.valueOf(newStatus.toUpperCase()));
+        touch(workflow);
+    }
+
+    // Two writes can land in the same millisecond, so caches of rendered workflows key on
+    // the revision rather than on updatedAt
+    private static void touch(Workflow workflow) {
+        workflow.setUpdatedAt(Instant.now());
+        workflow.setRevision(workflow.getRevision() + 1);
+    }
+
+    /**
+     * Conjunction of the non-empty clauses; null when there are none.
+     */
+    public static Criteria and(Criteria... clauses) {
+        List<Criteria> present = new ArrayList<>();
+        for (Criteria clause : clauses) {
+            if (clause != null && !clause.getCriteriaObject().isEmpty()) present.add(clause);
+        }
+        if (present.isEmpty()) return null;
+        if (present.size() == 1) return present.get(0);
+        return new Criteria().andOperator(present);
+    }
+}
@@ -0,0 +1,303 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over workflow title and description.
+ * Kept in sync by {@link WorkflowService} writes and rebuilt from Mongo on startup; a write
+ * that lands while the rebuild is streaming wins over the row the rebuild read.
+ */
+@Component
+public class WorkflowSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final WorkflowRepository workflowRepository;
+    private final int maxPrefixExpansions;
+
+    // term -> (workflow id -> weighted term frequency)
+    private final ConcurrentSkipListMap<String, Map<String, Float>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Serializes writers; a lock rather than synchronized so a writer waiting here does not
+    // pin its carrier when requests run on virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock: ids indexed or removed while a rebuild reads Mongo. Their live
+    // state is newer than what the rebuild streams, so the rebuild leaves them alone.
+    private Set<String> writtenDuringRebuild;
+
+    public WorkflowSearchIndex(WorkflowRepository workflowRepository,
+                               @Value("${workflow.search.max-prefix-expansions:64}") int maxPrefixExpansions) {
+        this.workflowRepository = workflowRepository;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    /**
+     * Attributes kept next to the postings so filters and visibility can be applied
+     * before anything is fetched from Mongo.
+     */
+    public record Entry(String id, WorkflowStatus status, String assignedTo, UserRole assignedToRole,
+                        String createdBy, Set<String> terms, int length) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread loader = new Thread(this::rebuild, "workflow-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            writtenDuringRebuild = new HashSet<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        try (Stream<Workflow> workflows = workflowRepository.streamAllBy()) {
+            workflows.forEach(this::indexFromRebuild);
+            log.info("Search index built with {} workflows in {} ms",
+                    entries.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Search index could not be built from Mongo: {}", e.getMessage());
+        } finally {
+            writeLock.lock();
+            try {
+                writtenDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // A workflow deleted or changed after the cursor read it must not come back as it was
+    private void indexFromRebuild(Workflow workflow) {
+        if (workflow.getId() == null) return;
+        writeLock.lock();
+        try {
+            if (!writtenDuringRebuild.contains(workflow.getId())) {
+                indexLocked(workflow);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void index(Workflow workflow) {
+        if (workflow.getId() == null) return;
+        writeLock.lock();
+        try {
+            recordWrite(workflow.getId());
+            indexLocked(workflow);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void indexLocked(Workflow workflow) {
+        removeInternal(workflow.getId());
+
+        Map<String, Float> weights = new HashMap<>();
+        int length = addTokens(workflow.getTitle(), TITLE_WEIGHT, weights)
+                + addTokens(workflow.getDescription(), DESCRIPTION_WEIGHT, weights);
+
+        for (Map.Entry<String, Float> term : weights.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new ConcurrentHashMap<>())
+                    .put(workflow.getId(), term.getValue());
+        }
+        entries.put(workflow.getId(), new Entry(
+                workflow.getId(),
+                workflow.getStatus(),
+                workflow.getAssignedTo(),
+                workflow.getAssignedToRole(),
+                workflow.getCreatedBy(),
+                Set.copyOf(weights.keySet()),
+                Math.max(length, 1)
+        ));
+    }
+
+    public void remove(String workflowId) {
+        writeLock.lock();
+        try {
+            recordWrite(workflowId);
+            removeInternal(workflowId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void recordWrite(String workflowId) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(workflowId);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns ids of matching workflows ordered by descending relevance. Every query
+     * token must match a term exactly or as a prefix; exact matches score higher.
+     */
+    public List<String> search(String query, Predicate<Entry> filter, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) return Collections.emptyList();
+
+        // Rarest token first keeps the candidate set small for the remaining intersections
+        tokens.sort(Comparator.comparingLong(this::estimateMatches));
+
+        double totalDocs = Math.max(entries.size(), 1);
+        Map<String, Double> scores = null;
+
+        for (String token : tokens) {
+            Map<String, Double> tokenScores = scoreToken(token, totalDocs, scores);
+            if (tokenScores.isEmpty()) return Collections.emptyList();
+
+            if (scores != null) {
+                for (Map.Entry<String, Double> e : tokenScores.entrySet()) {
+                    e.setValue(e.getValue() + scores.get(e.getKey()));
+                }
+            }
+            scores = tokenScores;
+        }
+
+        PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> e : scores.entrySet()) {
+            Entry entry = entries.get(e.getKey());
+            if (entry == null || !filter.test(entry)) continue;
+
+            double score = e.getValue() / Math.sqrt(entry.length());
+            if (top.size() < limit) {
+                top.add(Map.entry(e.getKey(), score));
+            } else if (score > top.peek().getValue()) {
+                top.poll();
+                top.add(Map.entry(e.getKey(), score));
+            }
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        List<String> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<String, Double> e : ranked) {
+            ids.add(e.getKey());
+        }
+        return ids;
+    }
+
+    // Best score per workflow for one query token, restricted to candidates when given
+    private Map<String, Double> scoreToken(String token, double totalDocs, Map<String, Double> candidates) {
+        Map<String, Double> best = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<String, Float>> term : prefixMatches(token).entrySet()) {
+            // The exact term sorts first, so only prefix expansions are capped
+            boolean exact = term.getKey().equals(token);
+            if (!exact && ++expansions > maxPrefixExpansions) break;
+
+            Map<String, Float> docs = term.getValue();
+            double weight = Math.log(1 + totalDocs / (1 + docs.size())) * (exact ? 1.0 : PREFIX_MATCH_FACTOR);
+
+            if (candidates == null) {
+                for (Map.Entry<String, Float> doc : docs.entrySet()) {
+                    best.merge(doc.getKey(), doc.getValue() * weight, Math::max);
+                }
+            } else if (candidates.size() < docs.size()) {
+                for (String id : candidates.keySet()) {
+                    Float tf = docs.get(id);
+                    if (tf != null) best.merge(id, tf * weight, Math::max);
+                }
+            } else {
+                for (Map.Entry<String, Float> doc : docs.entrySet()) {
+                    if (candidates.containsKey(doc.getKey())) {
+                        best.merge(doc.getKey(), doc.getValue() * weight, Math::max);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private long estimateMatches(String token) {
+        long total = 0;
+        int terms = 0;
+        for (Map<String, Float> docs : prefixMatches(token).values()) {
+            total += docs.size();
+            if (++terms > maxPrefixExpansions) break;
+        }
+        return total;
+    }
+
+    private NavigableMap<String, Map<String, Float>> prefixMatches(String token) {
+        return postings.subMap(token, true, token + Character.MAX_VALUE, false);
+    }
+
+    private void removeInternal(String workflowId) {
+        Entry previous = entries.remove(workflowId);
+        if (previous == null) return;
+        for (String term : previous.terms()) {
+            Map<String, Float> docs = postings.get(term);
+            if (docs == null) continue;
+            docs.remove(workflowId);
+            if (docs.isEmpty()) {
+                postings.remove(term, docs);
+            }
+        }
+    }
+
+    private static int addTokens(String text, float weight, Map<String, Float> weights) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            weights.merge(token, weight, Float::sum);
+        }
+        return tokens.size();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return Collections.emptyList();
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                String token = current.toString();
+                tokens.add(token);
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+}
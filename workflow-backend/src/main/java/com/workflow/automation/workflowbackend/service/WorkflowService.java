@@ -2,249 +2,367 @@ package com.workflow.automation.workflowbackend.service;
 
 import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
 import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
-import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.jfr.WorkflowQueryEvent;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
 import com.workflow.automation.workflowbackend.model.UserRole;
 import com.workflow.automation.workflowbackend.model.Workflow;
 import com.workflow.automation.workflowbackend.model.WorkflowStatus;
 import com.workflow.automation.workflowbackend.repository.UserRepository;
 import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import io.micrometer.core.annotation.Timed;
+import org.bson.RawBsonDocument;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static com.workflow.automation.workflowbackend.service.WorkflowRules.and;
+
 @Service
+@Timed(value = "api.service", histogram = true)
 public class WorkflowService {
 
+    private static final int ID_BATCH_SIZE = 10_000;
+
     private final WorkflowRepository workflowRepository;
     private final UserRepository userRepository;
+    private final WorkflowSearchIndex searchIndex;
+    private final WorkflowQueryCoalescer queryCoalescer;
+    private final MongoCircuitBreaker breaker;
+    private final StaleReadStore staleReads;
+    private final WorkflowColumnStore columnStore;
+    private final WorkflowAttachmentCleanup attachmentCleanup;
 
     @Autowired
-    public WorkflowService(WorkflowRepository workflowRepository, UserRepository userRepository) {
+    public WorkflowService(WorkflowRepository workflowRepository, UserRepository userRepository,
+                           WorkflowSearchIndex searchIndex, WorkflowQueryCoalescer queryCoalescer,
+                           MongoCircuitBreaker breaker, StaleReadStore staleReads,
+                           WorkflowColumnStore columnStore, WorkflowAttachmentCleanup attachmentCleanup) {
         this.workflowRepository = workflowRepository;
         this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.queryCoalescer = queryCoalescer;
+        this.breaker = breaker;
+        this.staleReads = staleReads;
+        this.columnStore = columnStore;
+        this.attachmentCleanup = attachmentCleanup;
     }
 
-    public Workflow createWorkflow(Workflow workflow, UserDetails currentUser) {
+    public Workflow createWorkflow(Workflow workflow, AuthenticatedUser currentUser) {
         validateAssignee(workflow.getAssignedTo(), workflow.getAssignedToRole());
 
-        workflow.setCreatedBy(currentUser.getUsername());
-        workflow.setCreatedAt(Instant.now());
-        workflow.setUpdatedAt(Instant.now());
-        workflow.setStatus(WorkflowStatus.PENDING);
-        return workflowRepository.save(workflow);
+        WorkflowRules.prepareNew(workflow, currentUser);
+        return persist(workflow);
     }
 
-    public List<Workflow> getAllWorkflows(UserDetails currentUser, String status, String assigneeId, String assignedToRole) {
-        if (hasAuthority(currentUser, "ADMIN")) {
-            return getAllWorkflowsForAdmin(status, assigneeId, assignedToRole);
-        } else if (hasAuthority(currentUser, "MANAGER")) {
-            return getAllWorkflowsForManager(status, assigneeId, assignedToRole);
-        } else {
-            return getAllWorkflowsForStaff(status, currentUser);
+    public List<Workflow> getAllWorkflows(AuthenticatedUser currentUser, String status, String assigneeId, String assignedToRole) {
+        WorkflowVisibility visibility = WorkflowVisibility.forList(currentUser);
+        List<Criteria> filters = WorkflowRules.listFilters(status, assigneeId, assignedToRole);
+        WorkflowStatus statusFilter = status != null ? WorkflowStatus.valueOf(status.toUpperCase()) : null;
+        UserRole roleFilter = assignedToRole != null ? UserRole.valueOf(assignedToRole.toUpperCase()) : null;
+        if (columnStore.covers(visibility, statusFilter, assigneeId, roleFilter)) {
+            return findByColumns(visibility, filters, statusFilter, assigneeId, roleFilter);
         }
+        return findVisible("list", visibility, filters);
     }
 
-    private List<Workflow> getAllWorkflowsForAdmin(String status, String assigneeId, String assignedToRole) {
-        if (status != null && assigneeId != null) {
-            return workflowRepository.findByStatusAndAssignedTo(
-                    WorkflowStatus.valueOf(status.toUpperCase()),
-                    assigneeId
-            );
-        } else if (status != null) {
-            return workflowRepository.findByStatus(
-                    WorkflowStatus.valueOf(status.toUpperCase())
-            );
-        } else if (assigneeId != null) {
-            return workflowRepository.findByAssignedTo(assigneeId);
-        } else if (assignedToRole != null) {
-            return workflowRepository.findByAssignedToRole(
-                    UserRole.valueOf(assignedToRole.toUpperCase())
-            );
+    /**
+     * {@link #getAllWorkflows} plus, if asked for, matching workflows from the archive.
+     * A workflow present in both (mid-restore) is taken from the hot collection.
+     */
+    public List<Workflow> getAllWorkflows(AuthenticatedUser currentUser, String status, String assigneeId,
+                                          String assignedToRole, boolean includeArchived) {
+        List<Workflow> hot = getAllWorkflows(currentUser, status, assigneeId, assignedToRole);
+        if (!includeArchived) {
+            return hot;
         }
-        return workflowRepository.findAll();
-    }
-
-    private List<Workflow> getAllWorkflowsForManager(String status, String assigneeId, String assignedToRole) {
-        List<UserRole> allowedRoles = Arrays.asList(UserRole.MANAGER, UserRole.STAFF);
-
-        if (status != null && assigneeId != null) {
-            return workflowRepository.findByStatusAndAssignedToAndAssignedToRoleIn(
-                    WorkflowStatus.valueOf(status.toUpperCase()),
-                    assigneeId,
-                    allowedRoles
-            );
-        } else if (status != null) {
-            return workflowRepository.findByStatusAndAssignedToRoleIn(
-                    WorkflowStatus.valueOf(status.toUpperCase()),
-                    allowedRoles
-            );
-        } else if (assigneeId != null) {
-            return workflowRepository.findByAssignedToAndAssignedToRoleIn(
-                    assigneeId,
-                    allowedRoles
-            );
-        } else if (assignedToRole != null) {
-            UserRole role = UserRole.valueOf(assignedToRole.toUpperCase());
-            if (!allowedRoles.contains(role)) {
-                return Collections.emptyList();
-            }
-            return workflowRepository.findByAssignedToRole(role);
+
+        List<Criteria> clauses = WorkflowRules.listFilters(status, assigneeId, assignedToRole);
+        clauses.add(WorkflowVisibility.forList(currentUser).toCriteria());
+        Criteria query = and(clauses.toArray(new Criteria[0]));
+        WorkflowQueryEvent event = WorkflowQueryEvent.start("archived");
+        List<Workflow> archived = Collections.emptyList();
+        try {
+            archived = event.mongo(() -> staleReads.read("archived:" + (query != null ? query.getCriteriaObject().toJson() : "{}"),
+                    () -> List.copyOf(workflowRepository.findAllArchivedMatching(query))));
+        } finally {
+            event.finish(() -> query, archived.size());
         }
-        return workflowRepository.findByAssignedToRoleIn(allowedRoles);
+
+        Map<String, Workflow> merged = new LinkedHashMap<>();
+        hot.forEach(workflow -> merged.put(workflow.getId(), workflow));
+        archived.forEach(workflow -> merged.putIfAbsent(workflow.getId(), workflow));
+        return List.copyOf(merged.values());
     }
 
-    private List<Workflow> getAllWorkflowsForStaff(String status, UserDetails currentUser) {
-        if (status != null) {
-            return workflowRepository.findByStatusAndAssignedTo(
-                    WorkflowStatus.valueOf(status.toUpperCase()),
-                    currentUser.getUsername()
-            );
+    /**
+     * Same selection as {@link #getAllWorkflows} but hands out raw BSON documents, for
+     * read-only endpoints that transcode straight to the response.
+     */
+    public void streamWorkflows(AuthenticatedUser currentUser, String status, String assigneeId, String assignedToRole,
+                                Consumer<RawBsonDocument> consumer) {
+        List<Criteria> clauses = WorkflowRules.listFilters(status, assigneeId, assignedToRole);
+        clauses.add(WorkflowVisibility.forList(currentUser).toCriteria());
+        Criteria query = and(clauses.toArray(new Criteria[0]));
+
+        WorkflowQueryEvent event = WorkflowQueryEvent.start("stream");
+        int[] count = {0};
+        try {
+            // Streamed straight through, so there is no kept result to fall back on
+            event.mongo(() -> breaker.run(() -> workflowRepository.streamRawMatching(query, document -> {
+                count[0]++;
+                consumer.accept(document);
+            })));
+        } finally {
+            event.finish(() -> query, count[0]);
         }
-        return workflowRepository.findByAssignedTo(currentUser.getUsername());
     }
 
-    public Workflow getWorkflowById(String id, UserDetails currentUser) throws AccessDeniedException {
-        Workflow workflow = workflowRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Workflow not found with id: " + id));
+    public List<Workflow> searchWorkflows(String query, AuthenticatedUser currentUser, String status,
+                                          String assigneeId, String assignedToRole, int limit) {
+        WorkflowStatus statusFilter = status != null ? WorkflowStatus.valueOf(status.toUpperCase()) : null;
+        UserRole roleFilter = assignedToRole != null ? UserRole.valueOf(assignedToRole.toUpperCase()) : null;
+        WorkflowVisibility visibility = WorkflowVisibility.forList(currentUser);
+
+        Predicate<WorkflowSearchIndex.Entry> filter = entry -> {
+            if (statusFilter != null && entry.status() != statusFilter) return false;
+            if (assigneeId != null && !assigneeId.equals(entry.assignedTo())) return false;
+            if (roleFilter != null && entry.assignedToRole() != roleFilter) return false;
+            return visibility.test(entry.assignedTo(), entry.createdBy(), entry.assignedToRole());
+        };
+
+        WorkflowQueryEvent event = WorkflowQueryEvent.start("search");
+        List<Workflow> results = Collections.emptyList();
+        try {
+            List<String> rankedIds = searchIndex.search(query, filter, limit);
+            if (rankedIds.isEmpty()) {
+                return results;
+            }
 
-        validateWorkflowAccess(workflow, currentUser);
-        return workflow;
+            Map<String, Workflow> byId = new HashMap<>();
+            Criteria hydrate = and(visibility.toCriteria(), Criteria.where("_id").in(rankedIds));
+            // Keyed by free text, so hardly ever asked twice: not worth a kept result
+            event.mongo(() -> breaker.call(() -> workflowRepository.findAllMatching(hydrate)))
+                    .forEach(w -> byId.put(w.getId(), w));
+            results = rankedIds.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            return results;
+        } finally {
+            // The id list collapses to [?] in the shape, so an empty one stands in for it
+            event.finish(() -> and(visibility.toCriteria(), Criteria.where("_id").in(List.of())), results.size());
+        }
     }
 
-    public Workflow updateWorkflow(String id, Workflow workflowDetails, UserDetails currentUser) throws AccessDeniedException {
-        Workflow workflow = workflowRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Workflow not found with id: " + id));
-
-        validateWorkflowAccess(workflow, currentUser);
+    public Workflow getWorkflowById(String id, AuthenticatedUser currentUser) throws AccessDeniedException {
+        return findVisibleById(id, WorkflowVisibility.forDetail(currentUser)).workflow();
+    }
 
-        if (!canEditWorkflow(workflow, currentUser)) {
-            throw new AccessDeniedException("Not authorized to edit this workflow");
-        }
+    /**
+     * The workflow, if the caller may edit it; for changes stored outside the workflow
+     * document, such as attachments.
+     */
+    public Workflow getEditableWorkflow(String id, AuthenticatedUser currentUser) throws AccessDeniedException {
+        Workflow workflow = findVisibleById(id, WorkflowVisibility.forDetail(currentUser)).workflow();
 
-        updateWorkflowFields(workflow, workflowDetails, currentUser);
-        workflow.setUpdatedAt(Instant.now());
-        return workflowRepository.save(workflow);
+        WorkflowRules.checkCanEdit(workflow, currentUser);
+        return workflow;
     }
 
-    public void deleteWorkflow(String id, UserDetails currentUser) throws AccessDeniedException {
-        Workflow workflow = workflowRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Workflow not found with id: " + id));
+    public Workflow updateWorkflow(String id, Workflow workflowDetails, AuthenticatedUser currentUser) throws AccessDeniedException {
+        Located located = findVisibleById(id, WorkflowVisibility.forDetail(currentUser));
+        Workflow workflow = located.workflow();
 
-        if (!workflow.getCreatedBy().equals(currentUser.getUsername()) && !hasAuthority(currentUser, "ADMIN")) {
-            throw new AccessDeniedException("Only admins or workflow creators can delete workflows");
-        }
-
-        workflowRepository.delete(workflow);
+        WorkflowRules.checkCanEdit(workflow, currentUser);
+        WorkflowRules.applyUpdate(workflow, workflowDetails, currentUser);
+        return persist(located);
     }
 
-    public List<Workflow> getWorkflowsByAssignee(String assigneeId, UserDetails currentUser) throws AccessDeniedException {
-        if (hasAuthority(currentUser, "ADMIN")) {
-            return workflowRepository.findByAssignedTo(assigneeId);
-        } else if (hasAuthority(currentUser, "MANAGER")) {
-            List<Workflow> workflows = workflowRepository.findByAssignedTo(assigneeId);
-            return workflows.stream()
-                    .filter(w -> w.getAssignedToRole() == UserRole.MANAGER ||
-                            w.getAssignedToRole() == UserRole.STAFF)
-                    .collect(Collectors.toList());
+    public void deleteWorkflow(String id, AuthenticatedUser currentUser) throws AccessDeniedException {
+        Located located = findExisting(id);
+        Workflow workflow = located.workflow();
+
+        WorkflowRules.checkCanDelete(workflow, currentUser);
+
+        if (located.archived()) {
+            breaker.run(() -> workflowRepository.deleteArchivedById(workflow.getId()));
         } else {
-            if (!assigneeId.equals(currentUser.getUsername())) {
-                throw new AccessDeniedException("You can only view your own assigned workflows");
-            }
-            return workflowRepository.findByAssignedTo(assigneeId);
+            breaker.run(() -> workflowRepository.delete(workflow));
         }
+        searchIndex.remove(workflow.getId());
+        columnStore.remove(workflow.getId());
+        queryCoalescer.invalidate();
+        attachmentCleanup.deleteAll(workflow.getId());
     }
 
-    public List<Workflow> getWorkflowsByCreator(String creatorId, UserDetails currentUser) {
-        return workflowRepository.findByCreatedBy(creatorId);
+    public List<Workflow> getWorkflowsByAssignee(String assigneeId, AuthenticatedUser currentUser) throws AccessDeniedException {
+        WorkflowRules.checkCanListAssignee(assigneeId, currentUser);
+        return findVisible("assignee", WorkflowVisibility.forList(currentUser), List.of(Criteria.where("assignedTo").is(assigneeId)));
     }
 
-    public Workflow updateWorkflowStatus(String id, String newStatus, UserDetails currentUser) throws AccessDeniedException {
-        Workflow workflow = workflowRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Workflow not found with id: " + id));
+    public List<Workflow> getWorkflowsByCreator(String creatorId, AuthenticatedUser currentUser) {
+        return findVisible("creator", WorkflowVisibility.of(currentUser), List.of(Criteria.where("createdBy").is(creatorId)));
+    }
 
-        if (!workflow.getAssignedTo().equals(currentUser.getUsername())) {
-            throw new AccessDeniedException("Only the assignee can update workflow status");
-        }
+    public Workflow updateWorkflowStatus(String id, String newStatus, AuthenticatedUser currentUser) throws AccessDeniedException {
+        Located located = findExisting(id);
 
-        workflow.setStatus(WorkflowStatus.valueOf(newStatus.toUpperCase()));
-        workflow.setUpdatedAt(Instant.now());
-        return workflowRepository.save(workflow);
+        WorkflowRules.applyStatus(located.workflow(), newStatus, currentUser);
+        return persist(located);
     }
 
-    // Helper methods
-    private boolean hasAuthority(UserDetails user, String authority) {
-        return user.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_" + authority));
+    public void validateAssignee(String assigneeId, UserRole assignedRole) {
+        WorkflowRules.checkAssignee(assigneeId, assignedRole, breaker.call(() -> userRepository.findByEmail(assigneeId)));
     }
 
-    private boolean hasAccessToWorkflow(Workflow workflow, UserDetails currentUser) {
-        if (hasAuthority(currentUser, "ADMIN")) return true;
-        if (workflow.getAssignedTo().equals(currentUser.getUsername())) return true;
-        if (workflow.getCreatedBy().equals(currentUser.getUsername())) return true;
-        return false;
+    // A loaded workflow and whether it came from the archive. Lookups never write: an archived
+    // workflow moves back to the hot collection only once a change to it has been allowed.
+    private record Located(Workflow workflow, boolean archived) {
     }
 
-    private boolean canEditWorkflow(Workflow workflow, UserDetails currentUser) {
-        if (hasAuthority(currentUser, "ADMIN")) return true;
-        if (workflow.getCreatedBy().equals(currentUser.getUsername())) return true;
-        if (workflow.getAssignedTo().equals(currentUser.getUsername())) return true;
-        return false;
+    // Single workflows are not kept for degraded reads, so one-off lookups do not push the
+    // kept lists out of the stale-read store; while Mongo is down they fail with 503
+    private Located findVisibleById(String id, WorkflowVisibility visibility) throws AccessDeniedException {
+        Criteria query = and(Criteria.where("_id").is(id), visibility.toCriteria());
+        WorkflowQueryEvent event = WorkflowQueryEvent.start("by_id");
+        Optional<Workflow> workflow = Optional.empty();
+        try {
+            workflow = event.mongo(() -> breaker.call(() -> workflowRepository.findOneMatching(query)));
+            if (workflow.isPresent()) {
+                return new Located(workflow.get(), false);
+            }
+            workflow = event.mongo(() -> breaker.call(() -> workflowRepository.findOneArchivedMatching(query)));
+            if (workflow.isPresent()) {
+                return new Located(workflow.get(), true);
+            }
+            Criteria byId = Criteria.where("_id").is(id);
+            if (!event.mongo(() -> breaker.call(() -> workflowRepository.existsById(id)
+                    || workflowRepository.findOneArchivedMatching(byId).isPresent()))) {
+                throw new ResourceNotFoundException("Workflow not found with id: " + id);
+            }
+            throw new AccessDeniedException("Not authorized to access this workflow");
+        } finally {
+            event.finish(() -> query, workflow.isPresent() ? 1 : 0);
+        }
     }
 
-    private void updateWorkflowFields(Workflow workflow, Workflow workflowDetails, UserDetails currentUser) {
-        workflow.setTitle(workflowDetails.getTitle());
-        workflow.setDescription(workflowDetails.getDescription());
-
-        if (workflow.getAssignedTo().equals(currentUser.getUsername())) {
-            workflow.setStatus(workflowDetails.getStatus());
+    private Located findExisting(String id) {
+        Optional<Workflow> hot = breaker.call(() -> workflowRepository.findById(id));
+        if (hot.isPresent()) {
+            return new Located(hot.get(), false);
         }
+        return breaker.call(() -> workflowRepository.findOneArchivedMatching(Criteria.where("_id").is(id)))
+                .map(archived -> new Located(archived, true))
+                .orElseThrow(() -> new ResourceNotFoundException("Workflow not found with id: " + id));
+    }
 
-        if (hasAuthority(currentUser, "ADMIN") ||
-                workflow.getCreatedBy().equals(currentUser.getUsername())) {
-            workflow.setAssignedTo(workflowDetails.getAssignedTo());
-            workflow.setAssignedToRole(workflowDetails.getAssignedToRole());
+    // Saves a change that has passed its checks. An archived workflow moves back to the hot
+    // collection with it; the hot copy is written first, so a failure in between leaves it in
+    // both places, never neither.
+    private Workflow persist(Located located) {
+        Workflow saved = persist(located.workflow());
+        if (located.archived()) {
+            breaker.run(() -> workflowRepository.deleteArchivedById(saved.getId()));
         }
+        return saved;
     }
 
-    public void validateAssignee(String assigneeId, UserRole assignedRole) {
-        Optional<User> assignee = userRepository.findByEmail(assigneeId);
-        if (assignee.isEmpty()) {
-            throw new ResourceNotFoundException("Assignee not found with id: " + assigneeId);
-        }
-        if (assignee.get().getRole() != assignedRole) {
-            throw new IllegalArgumentException("Assignee role doesn't match the required role");
-        }
+    private Workflow persist(Workflow workflow) {
+        Workflow saved = breaker.call(() -> workflowRepository.save(workflow));
+        searchIndex.index(saved);
+        columnStore.index(saved);
+        queryCoalescer.invalidate();
+        return saved;
     }
 
-    private void validateWorkflowAccess(Workflow workflow, UserDetails currentUser) throws AccessDeniedException {
-        if (!hasAccessToWorkflow(workflow, currentUser)) {
-            throw new AccessDeniedException("Not authorized to access this workflow");
+    // The role-wide part of the visibility rule is identical for every caller with the same
+    // role and goes through the coalescer; the caller's own remainder is queried separately.
+    // Both halves are kept together under the caller's full visibility query.
+    private List<Workflow> findVisible(String queryType, WorkflowVisibility visibility, List<Criteria> filters) {
+        Criteria filter = and(filters.toArray(new Criteria[0]));
+        Criteria shared = visibility.toSharedCriteria();
+        Criteria personal = visibility.toPersonalCriteria();
+        Criteria combined = and(filter, visibility.toCriteria());
+        String key = queryType + ":" + (combined != null ? combined.getCriteriaObject().toJson() : "{}");
+
+        WorkflowQueryEvent event = WorkflowQueryEvent.start(queryType);
+        List<Workflow> workflows = Collections.emptyList();
+        try {
+            workflows = event.mongo(() -> staleReads.read(key, () -> {
+                List<Workflow> found = new ArrayList<>();
+                if (shared != null) {
+                    Criteria query = and(filter, shared);
+                    found.addAll(queryCoalescer.execute(query, () -> workflowRepository.findAllMatching(query)));
+                }
+                if (personal != null) {
+                    Criteria query = and(filter, personal);
+                    found.addAll(workflowRepository.findAllMatching(query));
+                }
+                return Collections.unmodifiableList(found);
+            }));
+            return workflows;
+        } finally {
+            event.finish(() -> combined, workflows.size());
         }
     }
 
-    public List<Workflow> getWorkflowsByAssignedToRole(String role, UserDetails currentUser) throws AccessDeniedException {
-        UserRole userRole = UserRole.valueOf(role.toUpperCase());
-
-        if (hasAuthority(currentUser, "ADMIN")) {
-            return workflowRepository.findByAssignedToRole(userRole);
-        } else if (hasAuthority(currentUser, "MANAGER")) {
-            if (userRole != UserRole.MANAGER && userRole != UserRole.STAFF) {
-                throw new AccessDeniedException("You can only filter by MANAGER or STAFF roles");
-            }
-            return workflowRepository.findByAssignedToRole(userRole);
-        } else {
-            if (userRole != UserRole.STAFF) {
-                throw new AccessDeniedException("You can only view STAFF workflows");
-            }
-            return workflowRepository.findByAssignedToRole(userRole);
+    // Filters and visibility resolve to ids in the column store, merged with the ids of
+    // matching workflows updated since the last rebuild, which writes from other instances
+    // have not reached the columns with yet. Mongo then loads only those documents, in
+    // batches that keep each $in well under the BSON limit. A loaded document is checked
+    // against the filters again, since such a write may also have moved it out of them.
+    private List<Workflow> findByColumns(WorkflowVisibility visibility, List<Criteria> filters,
+                                         WorkflowStatus statusFilter, String assigneeId, UserRole roleFilter) {
+        Criteria combined = and(and(filters.toArray(new Criteria[0])), visibility.toCriteria());
+        String key = "columns:" + (combined != null ? combined.getCriteriaObject().toJson() : "{}");
+
+        WorkflowQueryEvent event = WorkflowQueryEvent.start("columns");
+        List<Workflow> workflows = Collections.emptyList();
+        try {
+            // The ids are selected inside the query so the kept query holds only the filters
+            // and a revalidation picks up the column store's current answer
+            workflows = event.mongo(() -> staleReads.read(key, () -> {
+                Instant changesSince = columnStore.changesSince();
+                Set<String> selected = new LinkedHashSet<>(columnStore.select(visibility, statusFilter, assigneeId, roleFilter));
+                selected.addAll(workflowRepository.findIdsMatching(and(combined, Criteria.where("updatedAt").gt(changesSince))));
+                List<String> ids = new ArrayList<>(selected);
+
+                List<Workflow> found = new ArrayList<>(ids.size());
+                for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+                    List<String> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+                    workflowRepository.findAllMatching(Criteria.where("_id").in(batch)).stream()
+                            .filter(w -> statusFilter == null || w.getStatus() == statusFilter)
+                            .filter(w -> assigneeId == null || assigneeId.equals(w.getAssignedTo()))
+                            .filter(w -> roleFilter == null || w.getAssignedToRole() == roleFilter)
+                            .filter(w -> visibility.test(w.getAssignedTo(), w.getCreatedBy(), w.getAssignedToRole()))
+                            .forEach(found::add);
+                }
+                return Collections.unmodifiableList(found);
+            }));
+            return workflows;
+        } finally {
+            // The id list collapses to [?] in the shape, so an empty one stands in for it
+            event.finish(() -> Criteria.where("_id").in(List.of()), workflows.size());
         }
     }
-}
\ No newline at end of file
+
+    public List<Workflow> getWorkflowsByAssignedToRole(String role, AuthenticatedUser currentUser) throws AccessDeniedException {
+        UserRole userRole = WorkflowRules.checkCanListRole(role, currentUser);
+        return findVisible("role", WorkflowVisibility.forList(currentUser), List.of(Criteria.where("assignedToRole").is(userRole)));
+    }
+}
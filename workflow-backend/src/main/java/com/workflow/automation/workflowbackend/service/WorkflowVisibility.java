@@ -0,0 +1,146 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which workflows a caller may read, per kind of read. ADMIN sees everything on every
+ * path. Otherwise:
+ * <ul>
+ *   <li>{@link #forList lists} (list, search, by assignee, by role): MANAGER sees workflows
+ *       assigned to MANAGER or STAFF users, STAFF the workflows assigned to them;</li>
+ *   <li>{@link #forDetail single workflows} (by id, and the lookup before a change): the
+ *       assignee and the creator;</li>
+ *   <li>{@link #of everything else} (by creator): either of the two.</li>
+ * </ul>
+ * The same rule is compiled into Mongo criteria for queries and evaluated in memory for
+ * documents that are already loaded.
+ */
+public final class WorkflowVisibility {
+
+    private static final Set<UserRole> MANAGER_VISIBLE_ROLES = Collections.unmodifiableSet(
+            EnumSet.of(UserRole.MANAGER, UserRole.STAFF));
+
+    private final String username;
+    private final boolean unrestricted;
+    private final Set<UserRole> visibleRoles;
+    private final boolean assigned;
+    private final boolean created;
+
+    private WorkflowVisibility(String username, boolean unrestricted, Set<UserRole> visibleRoles,
+                               boolean assigned, boolean created) {
+        this.username = username;
+        this.unrestricted = unrestricted;
+        this.visibleRoles = visibleRoles;
+        this.assigned = assigned;
+        this.created = created;
+    }
+
+    public static WorkflowVisibility forList(AuthenticatedUser user) {
+        return switch (user.getRole()) {
+            case ADMIN -> unrestricted(user);
+            case MANAGER -> new WorkflowVisibility(user.getEmail(), false, MANAGER_VISIBLE_ROLES, false, false);
+            case STAFF -> new WorkflowVisibility(user.getEmail(), false, Collections.emptySet(), true, false);
+        };
+    }
+
+    public static WorkflowVisibility forDetail(AuthenticatedUser user) {
+        return user.getRole() == UserRole.ADMIN
+                ? unrestricted(user)
+                : new WorkflowVisibility(user.getEmail(), false, Collections.emptySet(), true, true);
+    }
+
+    /**
+     * Everything the caller can read through some path: the list rule or the detail rule.
+     */
+    public static WorkflowVisibility of(AuthenticatedUser user) {
+        return switch (user.getRole()) {
+            case ADMIN -> unrestricted(user);
+            case MANAGER -> new WorkflowVisibility(user.getEmail(), false, MANAGER_VISIBLE_ROLES, true, true);
+            case STAFF -> new WorkflowVisibility(user.getEmail(), false, Collections.emptySet(), true, true);
+        };
+    }
+
+    private static WorkflowVisibility unrestricted(AuthenticatedUser user) {
+        return new WorkflowVisibility(user.getEmail(), true, EnumSet.allOf(UserRole.class), true, true);
+    }
+
+    public boolean test(String assignedTo, String createdBy, UserRole assignedToRole) {
+        if (unrestricted) return true;
+        if (assignedToRole != null && visibleRoles.contains(assignedToRole)) return true;
+        return (assigned && username.equals(assignedTo)) || (created && username.equals(createdBy));
+    }
+
+    String username() {
+        return username;
+    }
+
+    boolean unrestricted() {
+        return unrestricted;
+    }
+
+    Set<UserRole> visibleRoles() {
+        return visibleRoles;
+    }
+
+    boolean seesAssigned() {
+        return assigned;
+    }
+
+    boolean seesCreated() {
+        return created;
+    }
+
+    /**
+     * Compiles the rule to Mongo criteria, or returns null when nothing is restricted.
+     */
+    public Criteria toCriteria() {
+        if (unrestricted) return null;
+
+        List<Criteria> branches = new ArrayList<>(3);
+        if (!visibleRoles.isEmpty()) {
+            branches.add(Criteria.where("assignedToRole").in(visibleRoles));
+        }
+        branches.addAll(ownBranches());
+        return branches.size() == 1 ? branches.get(0) : new Criteria().orOperator(branches);
+    }
+
+    /**
+     * The part of the rule that does not depend on who the caller is, so callers with
+     * the same role run an identical query. Returns an empty criteria when everything is
+     * visible and null when nothing is shared.
+     */
+    public Criteria toSharedCriteria() {
+        if (unrestricted) return new Criteria();
+        if (visibleRoles.isEmpty()) return null;
+        return Criteria.where("assignedToRole").in(visibleRoles);
+    }
+
+    /**
+     * The caller's own workflows that are not already covered by {@link #toSharedCriteria()},
+     * or null when there are none.
+     */
+    public Criteria toPersonalCriteria() {
+        if (unrestricted) return null;
+
+        List<Criteria> branches = ownBranches();
+        if (branches.isEmpty()) return null;
+        Criteria own = branches.size() == 1 ? branches.get(0) : new Criteria().orOperator(branches);
+        if (visibleRoles.isEmpty()) return own;
+        return new Criteria().andOperator(Criteria.where("assignedToRole").nin(visibleRoles), own);
+    }
+
+    private List<Criteria> ownBranches() {
+        List<Criteria> branches = new ArrayList<>(2);
+        if (assigned) branches.add(Criteria.where("assignedTo").is(username));
+        if (created) branches.add(Criteria.where("createdBy").is(username));
+        return branches;
+    }
+}
@@ -0,0 +1,79 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.repository.ReactiveUserRepository;
+import com.workflow.automation.workflowbackend.repository.ReactiveWorkflowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReactiveWorkflowServiceTest {
+
+    private final ReactiveWorkflowRepository workflowRepository = mock(ReactiveWorkflowRepository.class);
+    private final WorkflowAttachmentCleanup attachmentCleanup = mock(WorkflowAttachmentCleanup.class);
+    private ReactiveWorkflowService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveWorkflowService(workflowRepository, mock(ReactiveUserRepository.class),
+                mock(WorkflowSearchIndex.class), attachmentCleanup);
+        when(workflowRepository.findOneMatching(any(Criteria.class))).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void hiddenWorkflowIsDeniedRatherThanMissing() {
+        when(workflowRepository.existsById("w1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.getWorkflowById("w1", user(UserRole.STAFF)))
+                .expectError(AccessDeniedException.class)
+                .verify();
+    }
+
+    @Test
+    void absentWorkflowIsNotFound() {
+        when(workflowRepository.existsById("w1")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.getWorkflowById("w1", user(UserRole.STAFF)))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void ruleViolationsAreSignalledBeforeAnyQuery() {
+        StepVerifier.create(service.getWorkflowsByAssignedToRole("ADMIN", user(UserRole.STAFF)))
+                .expectError(AccessDeniedException.class)
+                .verify();
+
+        verifyNoInteractions(workflowRepository);
+    }
+
+    @Test
+    void deletingAWorkflowRemovesItsAttachments() {
+        Workflow workflow = new Workflow();
+        workflow.setId("w1");
+        workflow.setCreatedBy("staff@example.com");
+        when(workflowRepository.findById("w1")).thenReturn(Mono.just(workflow));
+        when(workflowRepository.delete(workflow)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.deleteWorkflow("w1", user(UserRole.STAFF)))
+                .verifyComplete();
+
+        verify(attachmentCleanup).deleteAll("w1");
+    }
+
+    private static AuthenticatedUser user(UserRole role) {
+        return new AuthenticatedUser("id-staff", "staff@example.com", "Staff", role, null);
+    }
+}
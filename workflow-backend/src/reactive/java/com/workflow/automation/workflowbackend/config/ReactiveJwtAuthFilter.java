@@ -0,0 +1,121 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.config.BearerTokenChecks.Outcome;
+import com.workflow.automation.workflowbackend.jfr.PrincipalLoadEvent;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link JwtAuthFilter} for the reactive stack: the same token checks, timers, JFR events
+ * and request log, with the principal loaded through {@link ReactiveUserDetailsService}
+ * and the authentication carried in the Reactor context instead of a thread local.
+ * Registered in {@link ReactiveSecurityConfig}'s chain only, so it is not a bean.
+ */
+public class ReactiveJwtAuthFilter implements WebFilter {
+
+    private final ReactiveUserDetailsService userDetailsService;
+    private final RequestLog requestLog;
+    private final BearerTokenChecks tokens;
+
+    public ReactiveJwtAuthFilter(JwtService jwtService,
+                                 ReactiveUserDetailsService userDetailsService,
+                                 RequestLog requestLog,
+                                 MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.requestLog = requestLog;
+        this.tokens = new BearerTokenChecks(jwtService, meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        Mono<Authenticated> authentication = authHeader == null || !authHeader.startsWith(BearerTokenChecks.BEARER_PREFIX)
+                ? Mono.just(new Authenticated(Outcome.NO_TOKEN, null))
+                : authenticate(authHeader.substring(BearerTokenChecks.BEARER_PREFIX.length()));
+
+        return authentication.flatMap(result -> {
+            Mono<Void> next = result.user() != null
+                    ? chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                            new UsernamePasswordAuthenticationToken(result.user(), null, result.user().getAuthorities())))
+                    : chain.filter(exchange);
+            Throwable[] failure = new Throwable[1];
+            return next
+                    .doOnError(e -> failure[0] = e)
+                    .doFinally(signal -> logRequest(exchange, start, result.outcome(), failure[0]));
+        });
+    }
+
+    private record Authenticated(Outcome outcome, AuthenticatedUser user) {
+    }
+
+    private Mono<Authenticated> authenticate(String jwt) {
+        String username;
+        try {
+            username = tokens.parse(jwt);
+        } catch (Exception e) {
+            return Mono.just(new Authenticated(Outcome.rejected(e), null));
+        }
+        if (username == null) {
+            return Mono.just(new Authenticated(Outcome.rejected(null, "token has no subject"), null));
+        }
+
+        return loadPrincipal(username)
+                .map(user -> tokens.validate(jwt, user)
+                        ? new Authenticated(Outcome.ok(username), user)
+                        : new Authenticated(Outcome.rejected(username, "token validation failed"), null))
+                .defaultIfEmpty(new Authenticated(Outcome.rejected(username, "user not found"), null))
+                // Any JWT or lookup error leaves the request unauthenticated for the security chain
+                .onErrorResume(e -> Mono.just(new Authenticated(Outcome.rejected(e), null)));
+    }
+
+    private Mono<AuthenticatedUser> loadPrincipal(String username) {
+        return Mono.defer(() -> {
+            PrincipalLoadEvent event = PrincipalLoadEvent.start();
+            Timer.Sample sample = Timer.start();
+            return userDetailsService.findByUsername(username)
+                    .cast(AuthenticatedUser.class)
+                    .doOnSuccess(user -> {
+                        sample.stop(tokens.userLookupTimer());
+                        event.finish(user);
+                    })
+                    .doOnError(e -> {
+                        sample.stop(tokens.userLookupTimer());
+                        event.finish(null);
+                    });
+        });
+    }
+
+    // Errors surface here before the exception handlers have set a status, so derive it
+    // the way they will
+    private void logRequest(ServerWebExchange exchange, long start, Outcome outcome, Throwable failure) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpStatusCode status = failure != null ? statusOf(failure) : exchange.getResponse().getStatusCode();
+        requestLog.record(request.getMethod().name(), request.getPath().value(), request.getURI().getRawQuery(),
+                status != null ? status.value() : 200, start, outcome, failure);
+    }
+
+    private static HttpStatusCode statusOf(Throwable failure) {
+        if (failure instanceof ResponseStatusException statusException) {
+            return statusException.getStatusCode();
+        }
+        ResponseStatus annotated = AnnotatedElementUtils.findMergedAnnotation(failure.getClass(), ResponseStatus.class);
+        return HttpStatusCode.valueOf(annotated != null ? annotated.code().value() : 500);
+    }
+}
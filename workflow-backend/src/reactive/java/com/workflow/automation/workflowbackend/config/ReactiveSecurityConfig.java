@@ -0,0 +1,100 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.repository.ReactiveUserRepository;
+import com.workflow.automation.workflowbackend.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.AndServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * {@link SecurityConfig} for the {@code reactive} profile: same public routes, admin rule,
+ * Prometheus scrapes on the management port, stateless bearer tokens, and the same 403 for
+ * unauthenticated requests.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtService jwtService,
+                                                         ReactiveUserDetailsService userDetailsService,
+                                                         RequestLog requestLog,
+                                                         ManagementPort managementPort,
+                                                         MeterRegistry meterRegistry) {
+        ReactiveJwtAuthFilter jwtAuthFilter = new ReactiveJwtAuthFilter(jwtService, userDetailsService, requestLog,
+                meterRegistry);
+        return http
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .matchers(new AndServerWebExchangeMatcher(ServerWebExchangeMatchers.pathMatchers("/actuator/prometheus"),
+                                onPort(managementPort))).permitAll()
+                        .pathMatchers("/actuator/prometheus").hasAuthority("ROLE_ADMIN")
+                        .pathMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .exceptionHandling(errors -> errors
+                        .authenticationEntryPoint((exchange, e) -> Mono.fromRunnable(
+                                () -> exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN))))
+                .addFilterAt(jwtAuthFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    private static ServerWebExchangeMatcher onPort(ManagementPort managementPort) {
+        return exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            return local != null && managementPort.matches(local.getPort())
+                    ? ServerWebExchangeMatcher.MatchResult.match()
+                    : ServerWebExchangeMatcher.MatchResult.notMatch();
+        };
+    }
+
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(ReactiveUserRepository userRepository) {
+        return email -> userRepository.findByEmail(email).map(AuthenticatedUser::from);
+    }
+
+    // BCrypt checks run on boundedElastic, off the event loop
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        manager.setPasswordEncoder(passwordEncoder);
+        return manager;
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+        return source;
+    }
+}
@@ -0,0 +1,56 @@
+package com.workflow.automation.workflowbackend.controller;
+
+import com.workflow.automation.workflowbackend.dto.LoginRequest;
+import com.workflow.automation.workflowbackend.dto.LoginResponse;
+import com.workflow.automation.workflowbackend.exception.AuthenticationFailedException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.service.JwtService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager,
+                                  JwtService jwtService) {
+        this.authenticationManager = authenticationManager;
+        this.jwtService = jwtService;
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                loginRequest.getEmail(),
+                                loginRequest.getPassword()
+                        ))
+                .map(authentication -> {
+                    AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+                    return ResponseEntity.ok(
+                            new LoginResponse(
+                                    jwtService.generateToken(user),
+                                    user.getId(),
+                                    user.getEmail(),
+                                    user.getName(),
+                                    user.getRole()
+                            )
+                    );
+                })
+                .onErrorMap(BadCredentialsException.class,
+                        e -> new AuthenticationFailedException("Invalid email or password"));
+    }
+}
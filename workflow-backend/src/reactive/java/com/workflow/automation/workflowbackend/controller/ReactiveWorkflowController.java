@@ -0,0 +1,130 @@
+package com.workflow.automation.workflowbackend.controller;
+
+import com.workflow.automation.workflowbackend.config.ResultSizeMetrics;
+import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.service.ReactiveWorkflowService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link WorkflowController}'s routes on WebFlux. List responses are {@code Flux}es written
+ * as they arrive from the Mongo cursor, as a JSON array or, with
+ * {@code Accept: application/x-ndjson}, one document per line; a slow client slows the
+ * cursor rather than growing a buffer.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/workflows")
+public class ReactiveWorkflowController {
+
+    private final ReactiveWorkflowService workflowService;
+    private final ResultSizeMetrics resultSizeMetrics;
+
+    public ReactiveWorkflowController(ReactiveWorkflowService workflowService, ResultSizeMetrics resultSizeMetrics) {
+        this.workflowService = workflowService;
+        this.resultSizeMetrics = resultSizeMetrics;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<WorkflowDTO>> createWorkflow(
+            @RequestBody Workflow workflow,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return workflowService.createWorkflow(workflow, currentUser)
+                .map(created -> new ResponseEntity<>(WorkflowDTO.fromWorkflow(created), HttpStatus.CREATED));
+    }
+
+    @GetMapping
+    public Flux<WorkflowDTO> getAllWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) String assignedToRole,
+            @RequestParam(required = false) String createdBy) {
+        return dtos("workflows", workflowService.getAllWorkflows(currentUser, status, assigneeId, assignedToRole));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<WorkflowDTO>> exportWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) String assignedToRole) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"workflows.json\"")
+                .body(dtos("workflows_export",
+                        workflowService.getAllWorkflows(currentUser, status, assigneeId, assignedToRole)));
+    }
+
+    @GetMapping("/search")
+    public Flux<WorkflowDTO> searchWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) String assignedToRole,
+            @RequestParam(defaultValue = "50") int limit) {
+        return dtos("workflows_search", workflowService.searchWorkflows(q, currentUser, status, assigneeId,
+                assignedToRole, Math.min(limit, 500)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<WorkflowDTO> getWorkflowById(
+            @PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return workflowService.getWorkflowById(id, currentUser).map(WorkflowDTO::fromWorkflow);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<WorkflowDTO> updateWorkflow(
+            @PathVariable String id,
+            @RequestBody Workflow workflowDetails,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return workflowService.updateWorkflow(id, workflowDetails, currentUser).map(WorkflowDTO::fromWorkflow);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteWorkflow(
+            @PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return workflowService.deleteWorkflow(id, currentUser)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @GetMapping("/me/assigned")
+    public Flux<WorkflowDTO> getMyAssignedWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return dtos("workflows_me_assigned", workflowService.getWorkflowsByAssignee(currentUser.getEmail(), currentUser));
+    }
+
+    @GetMapping("/me/created")
+    public Flux<WorkflowDTO> getMyCreatedWorkflows(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return dtos("workflows_me_created", workflowService.getWorkflowsByCreator(currentUser.getEmail(), currentUser));
+    }
+
+    @PatchMapping("/{id}/status")
+    public Mono<WorkflowDTO> updateWorkflowStatus(
+            @PathVariable String id,
+            @RequestParam String newStatus,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return workflowService.updateWorkflowStatus(id, newStatus, currentUser).map(WorkflowDTO::fromWorkflow);
+    }
+
+    // Counts rows as they stream through and records the total once the stream completes
+    private Flux<WorkflowDTO> dtos(String endpoint, Flux<Workflow> workflows) {
+        return Flux.defer(() -> {
+            long[] count = new long[1];
+            return workflows.map(WorkflowDTO::fromWorkflow)
+                    .doOnNext(row -> count[0]++)
+                    .doOnComplete(() -> resultSizeMetrics.record(endpoint, count[0]));
+        });
+    }
+}
@@ -0,0 +1,10 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository} for the reactive profile.
+ */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+}
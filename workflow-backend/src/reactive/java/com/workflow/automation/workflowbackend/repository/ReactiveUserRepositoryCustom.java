@@ -0,0 +1,12 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.User;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link UserRepositoryCustom}.
+ */
+public interface ReactiveUserRepositoryCustom {
+
+    Mono<User> findByEmail(String email);
+}
@@ -0,0 +1,40 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.User;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import static com.workflow.automation.workflowbackend.model.CompactFormat.USERS;
+
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final StorageFormat storageFormat;
+
+    public ReactiveUserRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate, StorageFormat storageFormat) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.storageFormat = storageFormat;
+    }
+
+    // See UserRepositoryCustomImpl
+    @Override
+    public Mono<User> findByEmail(String email) {
+        Query query = new Query(Criteria.where("email").is(email));
+        if (!storageFormat.isMixed(USERS)) {
+            return mongoTemplate.findOne(query, User.class);
+        }
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(User.class);
+        Document filter = storageFormat.filter(queryMapper.getMappedObject(query.getQueryObject(), entity), USERS);
+        return mongoTemplate.getCollection(USERS)
+                .flatMap(collection -> Mono.from(collection.find(filter).first()))
+                .map(document -> mongoTemplate.getConverter().read(User.class, storageFormat.normalize(document, USERS)));
+    }
+}
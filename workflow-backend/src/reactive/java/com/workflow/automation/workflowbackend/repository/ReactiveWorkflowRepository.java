@@ -0,0 +1,11 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link WorkflowRepository} for the reactive profile.
+ */
+public interface ReactiveWorkflowRepository extends ReactiveMongoRepository<Workflow, String>,
+        ReactiveWorkflowRepositoryCustom {
+}
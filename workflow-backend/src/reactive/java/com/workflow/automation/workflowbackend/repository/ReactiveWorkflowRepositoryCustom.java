@@ -0,0 +1,16 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveWorkflowRepositoryCustom {
+    /**
+     * Emits matching workflows as the cursor delivers them; the driver requests further
+     * batches only as fast as the subscriber consumes.
+     */
+    Flux<Workflow> findAllMatching(Criteria criteria);
+
+    Mono<Workflow> findOneMatching(Criteria criteria);
+}
@@ -0,0 +1,62 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.workflow.automation.workflowbackend.model.CompactFormat.WORKFLOWS;
+
+public class ReactiveWorkflowRepositoryCustomImpl implements ReactiveWorkflowRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final StorageFormat storageFormat;
+
+    public ReactiveWorkflowRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate, StorageFormat storageFormat) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.storageFormat = storageFormat;
+    }
+
+    // See WorkflowRepositoryCustomImpl: a widened filter goes to the collection directly
+    @Override
+    public Flux<Workflow> findAllMatching(Criteria criteria) {
+        if (!storageFormat.isMixed(WORKFLOWS)) {
+            return mongoTemplate.find(toQuery(criteria), Workflow.class);
+        }
+        return mongoTemplate.getCollection(WORKFLOWS)
+                .flatMapMany(collection -> Flux.from(collection.find(filter(criteria))))
+                .map(this::read);
+    }
+
+    @Override
+    public Mono<Workflow> findOneMatching(Criteria criteria) {
+        if (!storageFormat.isMixed(WORKFLOWS)) {
+            return mongoTemplate.findOne(toQuery(criteria), Workflow.class);
+        }
+        return mongoTemplate.getCollection(WORKFLOWS)
+                .flatMap(collection -> Mono.from(collection.find(filter(criteria)).first()))
+                .map(this::read);
+    }
+
+    private Document filter(Criteria criteria) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Workflow.class);
+        Document mapped = queryMapper.getMappedObject(toQuery(criteria).getQueryObject(), entity);
+        return storageFormat.filter(mapped, WORKFLOWS);
+    }
+
+    private Workflow read(Document document) {
+        return mongoTemplate.getConverter().read(Workflow.class, storageFormat.normalize(document, WORKFLOWS));
+    }
+
+    private static Query toQuery(Criteria criteria) {
+        return criteria != null ? new Query(criteria) : new Query();
+    }
+}
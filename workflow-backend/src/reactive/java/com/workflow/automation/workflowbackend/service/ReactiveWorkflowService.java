@@ -0,0 +1,170 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.ReactiveUserRepository;
+import com.workflow.automation.workflowbackend.repository.ReactiveWorkflowRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static com.workflow.automation.workflowbackend.service.WorkflowRules.and;
+
+/**
+ * {@link WorkflowService} for the {@code reactive} profile. Decisions come from
+ * {@link WorkflowRules} and {@link WorkflowVisibility}, as they do there; list reads are
+ * a single visibility-filtered query streamed straight from the cursor, since there is no
+ * coalescer to share the role-wide part with. Rule violations are signalled as errors.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWorkflowService {
+
+    private final ReactiveWorkflowRepository workflowRepository;
+    private final ReactiveUserRepository userRepository;
+    private final WorkflowSearchIndex searchIndex;
+    private final WorkflowAttachmentCleanup attachmentCleanup;
+
+    public ReactiveWorkflowService(ReactiveWorkflowRepository workflowRepository, ReactiveUserRepository userRepository,
+                                   WorkflowSearchIndex searchIndex, WorkflowAttachmentCleanup attachmentCleanup) {
+        this.workflowRepository = workflowRepository;
+        this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.attachmentCleanup = attachmentCleanup;
+    }
+
+    public Mono<Workflow> createWorkflow(Workflow workflow, AuthenticatedUser currentUser) {
+        return validateAssignee(workflow.getAssignedTo(), workflow.getAssignedToRole())
+                .then(Mono.defer(() -> {
+                    WorkflowRules.prepareNew(workflow, currentUser);
+                    return persist(workflow);
+                }));
+    }
+
+    public Flux<Workflow> getAllWorkflows(AuthenticatedUser currentUser, String status, String assigneeId,
+                                          String assignedToRole) {
+        return Flux.defer(() -> findVisible(WorkflowVisibility.forList(currentUser),
+                WorkflowRules.listFilters(status, assigneeId, assignedToRole)));
+    }
+
+    public Flux<Workflow> searchWorkflows(String query, AuthenticatedUser currentUser, String status,
+                                          String assigneeId, String assignedToRole, int limit) {
+        return Flux.defer(() -> {
+            WorkflowStatus statusFilter = status != null ? WorkflowStatus.valueOf(status.toUpperCase()) : null;
+            UserRole roleFilter = assignedToRole != null ? UserRole.valueOf(assignedToRole.toUpperCase()) : null;
+            WorkflowVisibility visibility = WorkflowVisibility.forList(currentUser);
+
+            Predicate<WorkflowSearchIndex.Entry> filter = entry -> {
+                if (statusFilter != null && entry.status() != statusFilter) return false;
+                if (assigneeId != null && !assigneeId.equals(entry.assignedTo())) return false;
+                if (roleFilter != null && entry.assignedToRole() != roleFilter) return false;
+                return visibility.test(entry.assignedTo(), entry.createdBy(), entry.assignedToRole());
+            };
+
+            // The index lives in memory, so ranking never waits on I/O
+            List<String> rankedIds = searchIndex.search(query, filter, limit);
+            if (rankedIds.isEmpty()) {
+                return Flux.empty();
+            }
+            return workflowRepository.findAllMatching(and(visibility.toCriteria(), Criteria.where("_id").in(rankedIds)))
+                    .collectMap(Workflow::getId)
+                    .flatMapMany(byId -> Flux.fromIterable(rankedIds).mapNotNull(byId::get));
+        });
+    }
+
+    public Mono<Workflow> getWorkflowById(String id, AuthenticatedUser currentUser) {
+        return findVisibleById(id, WorkflowVisibility.forDetail(currentUser));
+    }
+
+    public Mono<Workflow> updateWorkflow(String id, Workflow workflowDetails, AuthenticatedUser currentUser) {
+        return findVisibleById(id, WorkflowVisibility.forDetail(currentUser))
+                .flatMap(workflow -> {
+                    WorkflowRules.checkCanEdit(workflow, currentUser);
+                    WorkflowRules.applyUpdate(workflow, workflowDetails, currentUser);
+                    return persist(workflow);
+                });
+    }
+
+    public Mono<Void> deleteWorkflow(String id, AuthenticatedUser currentUser) {
+        return findExisting(id)
+                .flatMap(workflow -> {
+                    WorkflowRules.checkCanDelete(workflow, currentUser);
+                    return workflowRepository.delete(workflow)
+                            .then(Mono.fromRunnable(() -> searchIndex.remove(workflow.getId())))
+                            // GridFS cleanup is blocking, as on the servlet path
+                            .then(Mono.fromRunnable(() -> attachmentCleanup.deleteAll(workflow.getId()))
+                                    .subscribeOn(Schedulers.boundedElastic()))
+                            .then();
+                });
+    }
+
+    public Flux<Workflow> getWorkflowsByAssignee(String assigneeId, AuthenticatedUser currentUser) {
+        return Flux.defer(() -> {
+            WorkflowRules.checkCanListAssignee(assigneeId, currentUser);
+            return findVisible(WorkflowVisibility.forList(currentUser), List.of(Criteria.where("assignedTo").is(assigneeId)));
+        });
+    }
+
+    public Flux<Workflow> getWorkflowsByCreator(String creatorId, AuthenticatedUser currentUser) {
+        return Flux.defer(() -> findVisible(WorkflowVisibility.of(currentUser),
+                List.of(Criteria.where("createdBy").is(creatorId))));
+    }
+
+    public Flux<Workflow> getWorkflowsByAssignedToRole(String role, AuthenticatedUser currentUser) {
+        return Flux.defer(() -> {
+            UserRole userRole = WorkflowRules.checkCanListRole(role, currentUser);
+            return findVisible(WorkflowVisibility.forList(currentUser), List.of(Criteria.where("assignedToRole").is(userRole)));
+        });
+    }
+
+    public Mono<Workflow> updateWorkflowStatus(String id, String newStatus, AuthenticatedUser currentUser) {
+        return findExisting(id)
+                .flatMap(workflow -> {
+                    WorkflowRules.applyStatus(workflow, newStatus, currentUser);
+                    return persist(workflow);
+                });
+    }
+
+    public Mono<Void> validateAssignee(String assigneeId, UserRole assignedRole) {
+        return userRepository.findByEmail(assigneeId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(assignee -> WorkflowRules.checkAssignee(assigneeId, assignedRole, assignee))
+                .then();
+    }
+
+    private Flux<Workflow> findVisible(WorkflowVisibility visibility, List<Criteria> filters) {
+        List<Criteria> clauses = new ArrayList<>(filters);
+        clauses.add(visibility.toCriteria());
+        return workflowRepository.findAllMatching(and(clauses.toArray(new Criteria[0])));
+    }
+
+    private Mono<Workflow> findVisibleById(String id, WorkflowVisibility visibility) {
+        return workflowRepository.findOneMatching(and(Criteria.where("_id").is(id), visibility.toCriteria()))
+                .switchIfEmpty(Mono.defer(() -> workflowRepository.existsById(id)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new AccessDeniedException("Not authorized to access this workflow")
+                                : new ResourceNotFoundException("Workflow not found with id: " + id)))));
+    }
+
+    private Mono<Workflow> findExisting(String id) {
+        return workflowRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Workflow not found with id: " + id)));
+    }
+
+    private Mono<Workflow> persist(Workflow workflow) {
+        return workflowRepository.save(workflow).doOnNext(searchIndex::index);
+    }
+}
@@ -0,0 +1,118 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.config.ConcurrencyLimitFilter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 1.5);
+
+        runBatches(limit, 200, 10);
+        int grown = limit.limit();
+        assertTrue(grown > 20, "limit grew to " + grown);
+
+        runBatches(limit, 5, 100);
+        int shrunk = limit.limit();
+        assertTrue(shrunk < grown / 2, "limit fell from " + grown + " to " + shrunk);
+    }
+
+    @Test
+    void failuresBackOffToTheMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 200, 1.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+            limit.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+        }
+
+        assertEquals(5, limit.limit());
+        assertEquals(0, limit.inflight());
+    }
+
+    @Test
+    void streamedExportsHoldASlotWithoutSkewingLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200, 1.5);
+        runBatches(limit, 50, 10);
+        int settled = limit.limit();
+        double baseline = limit.baselineRttMillis();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+            limit.releaseUnsampled(false);
+        }
+
+        assertEquals(settled, limit.limit());
+        assertEquals(baseline, limit.baselineRttMillis());
+        assertEquals(0, limit.inflight());
+        assertTrue(ConcurrencyLimitFilter.routeOf("GET", PathContainer.parsePath("/api/workflows/export")).streamed());
+        assertFalse(ConcurrencyLimitFilter.routeOf("GET", PathContainer.parsePath("/api/workflows")).streamed());
+    }
+
+    @Test
+    void lowerPrioritiesAreTurnedAwayFirst() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 10, 10, 1.5);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limit.tryAcquire(0.6));
+        }
+        assertFalse(limit.tryAcquire(0.6));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire(0.9));
+        }
+        assertFalse(limit.tryAcquire(0.9));
+        assertTrue(limit.tryAcquire(1.0));
+        assertFalse(limit.tryAcquire(1.0));
+    }
+
+    @Test
+    void routesMapToPriorities() {
+        assertEquals(Priority.CRITICAL, ConcurrencyLimitFilter.priorityOf("POST", "/api/auth/login"));
+        assertEquals(Priority.CRITICAL, ConcurrencyLimitFilter.priorityOf("PATCH", "/api/workflows/abc/status"));
+        assertEquals(Priority.SHEDDABLE, ConcurrencyLimitFilter.priorityOf("GET", "/api/workflows/export"));
+        assertEquals(Priority.SHEDDABLE, ConcurrencyLimitFilter.priorityOf("GET", "/api/workflows/me/assigned"));
+        assertEquals(Priority.NORMAL, ConcurrencyLimitFilter.priorityOf("GET", "/api/workflows/abc"));
+        assertEquals(Priority.NORMAL, ConcurrencyLimitFilter.priorityOf("DELETE", "/api/users/u1"));
+        assertNull(ConcurrencyLimitFilter.priorityOf("GET", "/actuator/health"));
+        assertNull(ConcurrencyLimitFilter.priorityOf("GET", "/api/workflows/abc/attachments/def"));
+        assertEquals(Priority.NORMAL, ConcurrencyLimitFilter.priorityOf("DELETE", "/api/workflows/abc/attachments/def"));
+        assertNull(ConcurrencyLimitFilter.priorityOf("GET", "/api/admin/query-profile"));
+    }
+
+    // Fills the current limit, then completes every request with the given latency
+    @Test
+    void routesMatchWithinTheApplicationUnderAContextPath() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(true, 50, 10, 200, 1.5, 0.9, 0.6,
+                new SimpleMeterRegistry());
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/app/api/workflows/export");
+        export.setContextPath("/app");
+        MockHttpServletRequest health = new MockHttpServletRequest("GET", "/app/actuator/health");
+        health.setContextPath("/app");
+
+        assertFalse(filter.shouldNotFilter(export));
+        assertTrue(filter.shouldNotFilter(health));
+    }
+
+    private static void runBatches(AdaptiveConcurrencyLimit limit, int batches, long latencyMillis) {
+        for (int b = 0; b < batches; b++) {
+            int acquired = 0;
+            while (limit.tryAcquire(1.0)) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis), false);
+            }
+        }
+    }
+}
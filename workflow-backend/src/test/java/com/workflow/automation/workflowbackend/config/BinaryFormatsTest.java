@@ -0,0 +1,127 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.dto.WorkflowList;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BinaryFormatsTest {
+
+    private final WebConfig webConfig = new WebConfig(null, null);
+    private final ObjectMapper json = builder().build();
+    private final AbstractJackson2HttpMessageConverter cbor = webConfig.cborHttpMessageConverter(builder());
+    private final AbstractJackson2HttpMessageConverter smile = webConfig.smileHttpMessageConverter(builder());
+
+    @Test
+    void binaryResponsesDecodeToTheSameTreeAsJson() throws IOException {
+        WorkflowList body = new WorkflowList(workflows(3));
+        Object expected = json.readTree(json.writeValueAsBytes(body));
+
+        assertEquals(expected, json.readTree(json.writeValueAsBytes(decode(cbor, MediaType.APPLICATION_CBOR, body))));
+        assertEquals(expected, json.readTree(json.writeValueAsBytes(decode(smile, WebConfig.APPLICATION_SMILE, body))));
+    }
+
+    @Test
+    void readsRequestBodiesInBinaryFormats() throws IOException {
+        Workflow workflow = workflows(1).get(0);
+
+        for (AbstractJackson2HttpMessageConverter converter : List.of(cbor, smile)) {
+            byte[] encoded = converter.getObjectMapper().writeValueAsBytes(workflow);
+            MockHttpInputMessage input = new MockHttpInputMessage(encoded);
+            input.getHeaders().setContentType(converter.getSupportedMediaTypes().get(0));
+
+            Workflow read = (Workflow) converter.read(Workflow.class, null, input);
+            assertEquals(workflow.getTitle(), read.getTitle());
+            assertEquals(workflow.getDueDate(), read.getDueDate());
+            assertEquals(workflow.getUpdatedAt(), read.getUpdatedAt());
+        }
+    }
+
+    // mvn test -DskipTests=false -Dbenchmark=true -Dtest=BinaryFormatsTest
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareSizeAndSpeedWithJson() throws IOException {
+        List<WorkflowDTO> dtos = new WorkflowList(workflows(1_000)).toDTOs();
+        TypeReference<List<WorkflowDTO>> type = new TypeReference<>() {
+        };
+
+        record Format(String name, ObjectMapper mapper) {
+        }
+
+        System.out.printf("%-6s %10s %12s %12s%n", "format", "bytes", "encode/s", "decode/s");
+        for (Format format : List.of(new Format("json", json), new Format("cbor", cbor.getObjectMapper()),
+                new Format("smile", smile.getObjectMapper()))) {
+            ObjectMapper mapper = format.mapper();
+            byte[] encoded = mapper.writeValueAsBytes(dtos);
+
+            for (int i = 0; i < 300; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(dtos), type);
+            }
+            int iterations = 1_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                mapper.writeValueAsBytes(dtos);
+            }
+            long encode = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                mapper.readValue(encoded, type);
+            }
+            long decode = System.nanoTime() - start;
+
+            System.out.printf("%-6s %,10d %,12d %,12d%n", format.name(), encoded.length,
+                    iterations * 1_000_000_000L / encode, iterations * 1_000_000_000L / decode);
+        }
+    }
+
+    private Object decode(AbstractJackson2HttpMessageConverter converter, MediaType mediaType, WorkflowList body)
+            throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, mediaType, output);
+        return converter.getObjectMapper().readValue(output.getBodyAsBytes(), Object.class);
+    }
+
+    // Mirrors the defaults Spring Boot applies to the shared builder
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<Workflow> workflows(int count) {
+        List<Workflow> workflows = new ArrayList<>();
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        for (int i = 0; i < count; i++) {
+            Workflow workflow = new Workflow();
+            workflow.setId("wf-" + i);
+            workflow.setTitle("Workflow " + i);
+            workflow.setDescription("Review the quarterly budget for team " + i);
+            workflow.setStatus(WorkflowStatus.values()[i % WorkflowStatus.values().length]);
+            workflow.setAssignedTo("staff" + (i % 50) + "@example.com");
+            workflow.setAssignedToRole(UserRole.STAFF);
+            workflow.setCreatedBy("manager@example.com");
+            workflow.setCreatedAt(now);
+            workflow.setUpdatedAt(now.plusSeconds(i));
+            workflow.setDueDate(LocalDate.of(2026, 3, 1).plusDays(i % 30));
+            workflows.add(workflow);
+        }
+        return workflows;
+    }
+}
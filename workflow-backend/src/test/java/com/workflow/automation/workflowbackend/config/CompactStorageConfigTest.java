@@ -0,0 +1,141 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.StorageFormat;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactStorageConfigTest {
+
+    private final MappingMongoConverter standard = converter(false);
+    private final MappingMongoConverter compact = converter(true);
+
+    @Test
+    void writesShortKeysOrdinalsAndEpochDays() {
+        Document document = new Document();
+        compact.write(workflow(), document);
+
+        assertEquals(1, document.get("s"));
+        assertEquals(2, document.get("r"));
+        assertEquals((int) LocalDate.of(2026, 3, 1).toEpochDay(), document.get("dd"));
+        assertEquals("staff@example.com", document.get("a"));
+        assertTrue(document.keySet().stream().allMatch(key -> key.equals("_id") || key.length() <= 2));
+        assertTrue(size(document) < size(written(standard, workflow())));
+    }
+
+    @Test
+    void translatesStoredDocumentsBetweenLayouts() {
+        Document standardWorkflow = written(standard, workflow());
+        Document compactWorkflow = written(compact, workflow());
+        assertEquals(compactWorkflow, CompactFormat.translate(standardWorkflow, CompactFormat.WORKFLOWS, true));
+        standardWorkflow.remove("_class");
+        assertEquals(standardWorkflow, CompactFormat.translate(compactWorkflow, CompactFormat.WORKFLOWS, false));
+
+        User user = new User(new ObjectId().toHexString(), "Sam", "sam@example.com", UserRole.STAFF,
+                LocalDateTime.of(2026, 1, 1, 9, 0), "admin@example.com");
+        user.setPassword("hash");
+        Document standardUser = written(standard, user);
+        Document compactUser = written(compact, user);
+        assertEquals(compactUser, CompactFormat.translate(standardUser, CompactFormat.USERS, true));
+        standardUser.remove("_class");
+        assertEquals(standardUser, CompactFormat.translate(compactUser, CompactFormat.USERS, false));
+    }
+
+    @Test
+    void readsEitherLayoutOnceNormalized() {
+        StorageFormat storageFormat = new StorageFormat(true);
+        Document standardWorkflow = written(standard, workflow());
+
+        Workflow read = compact.read(Workflow.class, storageFormat.normalize(standardWorkflow, CompactFormat.WORKFLOWS));
+        assertEquals(WorkflowStatus.IN_PROGRESS, read.getStatus());
+        assertEquals(UserRole.STAFF, read.getAssignedToRole());
+        assertEquals(LocalDate.of(2026, 3, 1), read.getDueDate());
+        assertEquals("manager@example.com", read.getCreatedBy());
+    }
+
+    @Test
+    void widensFiltersToBothLayoutsUntilSettled() {
+        QueryMapper mapper = new QueryMapper(compact);
+        Criteria criteria = new Criteria().andOperator(
+                Criteria.where("status").is(WorkflowStatus.PENDING),
+                new Criteria().orOperator(
+                        Criteria.where("assignedToRole").in(List.of(UserRole.MANAGER, UserRole.STAFF)),
+                        Criteria.where("assignedTo").is("staff@example.com")));
+        Document mapped = mapper.getMappedObject(criteria.getCriteriaObject(),
+                compact.getMappingContext().getRequiredPersistentEntity(Workflow.class));
+
+        assertEquals(Document.parse("{$and: [{s: 0}, {$or: [{r: {$in: [1, 2]}}, {a: 'staff@example.com'}]}]}"), mapped);
+
+        StorageFormat storageFormat = new StorageFormat(true);
+        assertEquals(new Document("$or", List.of(mapped, Document.parse(
+                        "{$and: [{status: 'PENDING'}, {$or: [{assignedToRole: {$in: ['MANAGER', 'STAFF']}}, {assignedTo: 'staff@example.com'}]}]}"))),
+                storageFormat.filter(mapped, CompactFormat.WORKFLOWS));
+
+        storageFormat.markSettled(CompactFormat.WORKFLOWS);
+        assertEquals(mapped, storageFormat.filter(mapped, CompactFormat.WORKFLOWS));
+    }
+
+    private static Workflow workflow() {
+        Workflow workflow = new Workflow();
+        workflow.setId(new ObjectId("65f000000000000000000001").toHexString());
+        workflow.setTitle("Quarterly budget");
+        workflow.setDescription("Collect numbers");
+        workflow.setStatus(WorkflowStatus.IN_PROGRESS);
+        workflow.setAssignedTo("staff@example.com");
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setCreatedBy("manager@example.com");
+        workflow.setCreatedAt(Instant.parse("2026-01-01T10:00:00.123Z"));
+        workflow.setUpdatedAt(Instant.parse("2026-01-02T08:30:00Z"));
+        workflow.setDueDate(LocalDate.of(2026, 3, 1));
+        return workflow;
+    }
+
+    private static Document written(MappingMongoConverter converter, Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return document;
+    }
+
+    private static int size(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private static MappingMongoConverter converter(boolean compactLayout) {
+        MongoCustomConversions conversions = CompactStorageConfig.conversions(compactLayout);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        if (compactLayout) {
+            mappingContext.setFieldNamingStrategy(CompactStorageConfig.COMPACT_FIELD_NAMES);
+        }
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        if (compactLayout) {
+            converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        }
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,80 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.workflow.automation.workflowbackend.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTableTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final TokenBucketTable table = new TokenBucketTable(2, clock::get);
+
+    @Test
+    void allowsABurstThenOneTokenPerInterval() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, table.tryAcquire("alice", 0, INTERVAL, 5));
+        }
+        long wait = table.tryAcquire("alice", 0, INTERVAL, 5);
+        assertTrue(wait > 0 && wait <= INTERVAL, "wait " + wait);
+
+        clock.addAndGet(INTERVAL);
+        assertEquals(0, table.tryAcquire("alice", 0, INTERVAL, 5));
+        assertTrue(table.tryAcquire("alice", 0, INTERVAL, 5) > 0);
+    }
+
+    @Test
+    void bucketsAreSeparatePerUserAndSlot() {
+        assertEquals(0, table.tryAcquire("alice", 0, INTERVAL, 1));
+        assertTrue(table.tryAcquire("alice", 0, INTERVAL, 1) > 0);
+
+        assertEquals(0, table.tryAcquire("alice", 1, INTERVAL, 1));
+        assertEquals(0, table.tryAcquire("bob", 0, INTERVAL, 1));
+    }
+
+    @Test
+    void evictsOnlyRefilledBuckets() {
+        table.tryAcquire("alice", 0, INTERVAL, 5);
+        clock.addAndGet(INTERVAL / 2);
+        table.tryAcquire("bob", 1, INTERVAL, 5);
+
+        clock.addAndGet(INTERVAL / 2);
+        assertEquals(1, table.evictIdle());
+        assertEquals(1, table.size());
+
+        clock.addAndGet(INTERVAL);
+        assertEquals(1, table.evictIdle());
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void parsesQuotaSpecs() {
+        assertEquals(Map.of(UserRole.STAFF, 10.0, UserRole.ADMIN, 50.0),
+                RateLimitFilter.parseRoleRates("ADMIN=50, staff=10"));
+        assertEquals(2, RateLimitFilter.parseEndpoints("GET /api/workflows/export=0.05,/api/workflows/**=1").size());
+        assertThrows(IllegalArgumentException.class, () -> RateLimitFilter.parseRoleRates("STAFF=0"));
+    }
+
+    @Test
+    void requestsResolveToTheFirstMatchingEndpoint() {
+        RateLimitFilter filter = new RateLimitFilter(true, "STAFF=10",
+                "GET /api/workflows/export=0.05,GET /api/workflows=0.5,/api/workflows/**=1", 5, 30, new SimpleMeterRegistry());
+        filter.shutdown();
+
+        assertEquals(0, filter.endpointOf("GET", PathContainer.parsePath("/api/workflows/export")));
+        assertEquals(2, filter.endpointOf("POST", PathContainer.parsePath("/api/workflows/export")));
+        assertEquals(1, filter.endpointOf("GET", PathContainer.parsePath("/api/workflows")));
+        assertEquals(2, filter.endpointOf("PUT", PathContainer.parsePath("/api/workflows/42/status")));
+        assertEquals(-1, filter.endpointOf("GET", PathContainer.parsePath("/api/users/me")));
+    }
+}
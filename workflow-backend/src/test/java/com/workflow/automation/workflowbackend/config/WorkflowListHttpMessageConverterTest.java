@@ -0,0 +1,150 @@
+package com.workflow.automation.workflowbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.automation.workflowbackend.dto.WorkflowList;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WorkflowListHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final WorkflowJsonFragmentCache cache = new WorkflowJsonFragmentCache(objectMapper, 100_000);
+    private final WorkflowListHttpMessageConverter converter = new WorkflowListHttpMessageConverter(cache);
+
+    @Test
+    void writesSameBytesAsJacksonAndReserializesOnlyChangedRows() throws IOException {
+        List<Workflow> workflows = workflows(3);
+        WorkflowList body = new WorkflowList(workflows);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(body.toDTOs()), write(body));
+
+        // A second write within the same millisecond leaves updatedAt as it was
+        workflows.get(1).setTitle("Renamed");
+        workflows.get(1).setRevision(workflows.get(1).getRevision() + 1);
+        assertArrayEquals(objectMapper.writeValueAsBytes(body.toDTOs()), write(body));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyWrittenRows() throws IOException {
+        WorkflowJsonFragmentCache small = new WorkflowJsonFragmentCache(objectMapper, 10);
+        List<Workflow> workflows = workflows(11);
+        for (Workflow workflow : workflows) {
+            small.get(workflow);
+            small.get(workflows.get(0));
+        }
+
+        assertEquals(9, small.size());
+        byte[] kept = small.get(workflows.get(0));
+        workflows.get(0).setTitle("Renamed");
+        assertSame(kept, small.get(workflows.get(0)));
+    }
+
+    // mvn test -DskipTests=false -Dbenchmark=true -Dtest=WorkflowListHttpMessageConverterTest
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareWithDtoSerialization() throws IOException {
+        WorkflowList body = new WorkflowList(workflows(1_000));
+        int iterations = 2_000;
+
+        // Both paths write to a discarding stream so only serialization work is measured
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        HttpOutputMessage message = new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public OutputStream getBody() {
+                return sink;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        Task jackson = () -> objectMapper.writeValue(sink, body.toDTOs());
+        Task fragments = () -> converter.write(body, MediaType.APPLICATION_JSON, message);
+
+        for (int i = 0; i < 200; i++) {
+            jackson.run();
+            fragments.run();
+        }
+
+        long[] dto = measure(iterations, jackson);
+        long[] cached = measure(iterations, fragments);
+
+        System.out.printf("DTO + Jackson : %,8d lists/s  %,10d bytes allocated/list%n", dto[0], dto[1]);
+        System.out.printf("Fragment cache: %,8d lists/s  %,10d bytes allocated/list%n", cached[0], cached[1]);
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+
+    private static long[] measure(int iterations, Task task) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new long[]{iterations * 1_000_000_000L / elapsed, allocated / iterations};
+    }
+
+    private byte[] write(WorkflowList body) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+
+    private static List<Workflow> workflows(int count) {
+        List<Workflow> workflows = new ArrayList<>();
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        for (int i = 0; i < count; i++) {
+            Workflow workflow = new Workflow();
+            workflow.setId("wf-" + i);
+            workflow.setTitle("Workflow " + i);
+            workflow.setDescription("Review the quarterly budget for team " + i);
+            workflow.setStatus(WorkflowStatus.values()[i % WorkflowStatus.values().length]);
+            workflow.setAssignedTo("staff" + (i % 50) + "@example.com");
+            workflow.setAssignedToRole(UserRole.STAFF);
+            workflow.setCreatedBy("manager@example.com");
+            workflow.setCreatedAt(now);
+            workflow.setUpdatedAt(now.plusSeconds(i));
+            workflow.setDueDate(LocalDate.of(2026, 3, 1).plusDays(i % 30));
+            workflows.add(workflow);
+        }
+        return workflows;
+    }
+}
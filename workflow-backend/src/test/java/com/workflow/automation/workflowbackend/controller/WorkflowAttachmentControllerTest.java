@@ -0,0 +1,77 @@
+package com.workflow.automation.workflowbackend.controller;
+
+import com.workflow.automation.workflowbackend.dto.AttachmentDTO;
+import com.workflow.automation.workflowbackend.service.WorkflowAttachmentService;
+import com.workflow.automation.workflowbackend.service.WorkflowAttachmentService.AttachmentContent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WorkflowAttachmentControllerTest {
+
+    private static final String ATTACHMENT_ID = "66f1c0ffee0000000000beef";
+    private static final String URL = "/api/workflows/w1/attachments/" + ATTACHMENT_ID;
+    private static final byte[] BODY = "hello world".getBytes(StandardCharsets.UTF_8);
+    // SHA-256 of "hello world"
+    private static final String SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    private final WorkflowAttachmentService attachmentService = mock(WorkflowAttachmentService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new WorkflowAttachmentController(attachmentService))
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build();
+
+    @BeforeEach
+    void attachment() throws Exception {
+        Instant uploadedAt = Instant.parse("2025-01-06T09:00:00Z");
+        AttachmentContent content = mock(AttachmentContent.class);
+        when(content.attachment()).thenReturn(new AttachmentDTO(ATTACHMENT_ID, "w1", "notes.txt", "text/plain",
+                BODY.length, uploadedAt, "staff@example.com", SHA256));
+        when(content.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(BODY));
+        when(content.contentLength()).thenReturn((long) BODY.length);
+        when(content.lastModified()).thenReturn(uploadedAt.toEpochMilli());
+        when(content.getFilename()).thenReturn("notes.txt");
+        when(content.exists()).thenReturn(true);
+        when(content.isReadable()).thenReturn(true);
+        when(attachmentService.open(eq("w1"), eq(ATTACHMENT_ID), any())).thenReturn(content);
+    }
+
+    @Test
+    void rangesAreServedAsPartialContent() throws Exception {
+        mvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=6-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-10/11"))
+                .andExpect(content().string("world"));
+
+        mvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void aMatchingETagAnswersNotModified() throws Exception {
+        mvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + SHA256 + "\""))
+                .andExpect(header().string("Repr-Digest", "sha-256=:uU0nuZNNPgilLlLX2n2r+sSE7+N6U4DukIj3rOLvzek=:"))
+                .andExpect(content().bytes(BODY));
+
+        mvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"" + SHA256 + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+}
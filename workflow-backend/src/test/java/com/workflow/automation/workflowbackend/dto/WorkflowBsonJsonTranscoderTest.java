@@ -0,0 +1,85 @@
+package com.workflow.automation.workflowbackend.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workflow.automation.workflowbackend.config.CompactStorageConfig;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkflowBsonJsonTranscoderTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void producesSameJsonAsDtoMapping() throws Exception {
+        Workflow workflow = new Workflow();
+        workflow.setId(new ObjectId().toHexString());
+        workflow.setTitle("Quarterly budget");
+        workflow.setDescription("Collect numbers");
+        workflow.setStatus(WorkflowStatus.IN_PROGRESS);
+        workflow.setAssignedTo("staff@example.com");
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setCreatedBy("manager@example.com");
+        workflow.setCreatedAt(Instant.parse("2026-01-01T10:00:00.123Z"));
+        workflow.setUpdatedAt(Instant.parse("2026-01-02T08:30:00Z"));
+        workflow.setDueDate(LocalDate.of(2026, 3, 1));
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(WorkflowDTO.fromWorkflow(workflow))),
+                objectMapper.readTree(transcode(workflow)));
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(WorkflowDTO.fromWorkflow(workflow))),
+                objectMapper.readTree(transcode(workflow, true)));
+
+        workflow.setDueDate(null);
+        workflow.setDescription(null);
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(WorkflowDTO.fromWorkflow(workflow))),
+                objectMapper.readTree(transcode(workflow)));
+    }
+
+    private String transcode(Workflow workflow) throws Exception {
+        return transcode(workflow, false);
+    }
+
+    private String transcode(Workflow workflow, boolean compact) throws Exception {
+        MongoCustomConversions conversions = CompactStorageConfig.conversions(compact);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        if (compact) {
+            mappingContext.setFieldNamingStrategy(CompactStorageConfig.COMPACT_FIELD_NAMES);
+        }
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        Document document = new Document();
+        converter.write(workflow, document);
+        RawBsonDocument raw = new RawBsonDocument(document, new DocumentCodec());
+
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            WorkflowBsonJsonTranscoder.write(raw, json);
+        }
+        return out.toString();
+    }
+}
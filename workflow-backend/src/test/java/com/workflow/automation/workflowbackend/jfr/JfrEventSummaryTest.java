@@ -0,0 +1,61 @@
+package com.workflow.automation.workflowbackend.jfr;
+
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventSummaryTest {
+
+    @Test
+    void shapeHidesLiteralsAndInListLength() {
+        Criteria a = new Criteria().andOperator(Criteria.where("status").is(WorkflowStatus.PENDING),
+                Criteria.where("_id").in(List.of("a", "b", "c")));
+        Criteria b = new Criteria().andOperator(Criteria.where("status").is(WorkflowStatus.COMPLETED),
+                Criteria.where("_id").in(List.of("d")));
+
+        assertEquals("{$and:[{status:?},{_id:{$in:[?]}}]}", WorkflowQueryEvent.shapeOf(a.getCriteriaObject()));
+        assertEquals(WorkflowQueryEvent.shapeOf(a.getCriteriaObject()), WorkflowQueryEvent.shapeOf(b.getCriteriaObject()));
+    }
+
+    @Test
+    void summarizesEventsRecordedWithTheWorkflowProfile(@TempDir Path dir) throws Exception {
+        Path dump = dir.resolve("workflow.jfr");
+        Configuration profile = Configuration.create(Path.of("src/main/resources/jfr/workflow.jfc"));
+        try (Recording recording = new Recording(profile)) {
+            recording.start();
+            for (String assignee : List.of("staff1@example.com", "staff2@example.com", "staff3@example.com")) {
+                WorkflowQueryEvent event = WorkflowQueryEvent.start("assignee");
+                event.mongo(() -> List.of());
+                event.finish(() -> Criteria.where("assignedTo").is(assignee), 4);
+            }
+            TokenVerifyEvent.start(TokenVerifyEvent.PARSE).finish(true);
+            TokenVerifyEvent.start(TokenVerifyEvent.PARSE).finish(false);
+            PrincipalLoadEvent.start().finish(null);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, JfrEventSummary.Group> groups = JfrEventSummary.summarize(dump).stream()
+                .collect(Collectors.toMap(g -> g.event() + " " + g.key(), Function.identity()));
+
+        JfrEventSummary.Group queries = groups.get("WorkflowQuery assignee {assignedTo:?}");
+        assertEquals(3, queries.count());
+        assertEquals(4.0, queries.meanRows());
+        assertTrue(queries.mongoShare() >= 0 && queries.mongoShare() <= 1);
+        assertEquals(1, groups.get("TokenVerify parse").count());
+        assertEquals(1, groups.get("TokenVerify parse (invalid)").count());
+        assertEquals(1, groups.get("PrincipalLoad not found").count());
+    }
+}
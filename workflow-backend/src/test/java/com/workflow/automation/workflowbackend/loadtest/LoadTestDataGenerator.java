@@ -0,0 +1,174 @@
+package com.workflow.automation.workflowbackend.loadtest;
+
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds users across every {@link UserRole} and workflows with a skewed status mix and
+ * Zipf-distributed assignees and creators, so a handful of people own most of the work
+ * the way they do in production. Seeded from a fixed value, so runs are reproducible.
+ * The application declares no indexes of its own; {@code indexes} adds the ones its
+ * lookups would need so a run can be compared with and without them.
+ */
+final class LoadTestDataGenerator {
+
+    static final String PASSWORD = "loadtest-password";
+
+    // PENDING, IN_PROGRESS, COMPLETED, REJECTED
+    private static final double[] STATUS_WEIGHTS = {0.40, 0.30, 0.25, 0.05};
+    private static final int BATCH_SIZE = 10_000;
+    private static final int SAMPLE_PER_USER = 64;
+
+    /**
+     * Seeded users by role, plus a sample of workflow ids each user is assigned to or
+     * created, which the workload uses for detail reads and status updates.
+     */
+    record Dataset(List<User> admins, List<User> managers, List<User> staff,
+                   Map<String, List<String>> assignedSample, Map<String, List<String>> createdSample) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final double skew;
+    private final boolean indexes;
+    private final SplittableRandom random = new SplittableRandom(20_240_601);
+
+    LoadTestDataGenerator(MongoTemplate mongoTemplate, double skew, boolean indexes) {
+        this.mongoTemplate = mongoTemplate;
+        this.skew = skew;
+        this.indexes = indexes;
+    }
+
+    Dataset generate(int users, long workflows) {
+        mongoTemplate.dropCollection(User.class);
+        mongoTemplate.dropCollection(Workflow.class);
+
+        // One hash for everyone: login still pays the full BCrypt verify
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        int admins = Math.max(1, users / 100);
+        int managers = Math.max(1, users / 10);
+        Dataset dataset = new Dataset(
+                insertUsers("admin", UserRole.ADMIN, admins, passwordHash),
+                insertUsers("manager", UserRole.MANAGER, managers, passwordHash),
+                insertUsers("staff", UserRole.STAFF, Math.max(1, users - admins - managers), passwordHash),
+                new HashMap<>(), new HashMap<>());
+
+        double[] staffCdf = zipfCdf(dataset.staff().size());
+        double[] managerCdf = zipfCdf(dataset.managers().size());
+        double[] adminCdf = zipfCdf(dataset.admins().size());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        List<Workflow> batch = new ArrayList<>(BATCH_SIZE);
+        for (long i = 0; i < workflows; i++) {
+            boolean toStaff = random.nextDouble() < 0.8;
+            User assignee = toStaff ? pick(dataset.staff(), staffCdf) : pick(dataset.managers(), managerCdf);
+            User creator = random.nextDouble() < 0.85 ? pick(dataset.managers(), managerCdf) : pick(dataset.admins(), adminCdf);
+            Instant createdAt = now.minus(random.nextLong(365L * 24 * 60), ChronoUnit.MINUTES);
+
+            Workflow workflow = new Workflow();
+            workflow.setTitle(TITLES[random.nextInt(TITLES.length)] + " #" + i);
+            workflow.setDescription("Seeded workflow " + i + " for load testing; owner " + assignee.getName());
+            workflow.setStatus(WorkflowStatus.values()[weighted(STATUS_WEIGHTS)]);
+            workflow.setAssignedTo(assignee.getEmail());
+            workflow.setAssignedToRole(assignee.getRole());
+            workflow.setCreatedBy(creator.getEmail());
+            workflow.setCreatedAt(createdAt);
+            workflow.setUpdatedAt(createdAt.plus(random.nextLong(14L * 24 * 60), ChronoUnit.MINUTES));
+            workflow.setDueDate(LocalDate.ofInstant(createdAt, ZoneOffset.UTC).plusDays(7 + random.nextInt(60)));
+            batch.add(workflow);
+
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, dataset);
+            }
+        }
+        flush(batch, dataset);
+
+        if (indexes) {
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+            mongoTemplate.indexOps(Workflow.class).ensureIndex(new Index("assignedTo", Sort.Direction.ASC));
+            mongoTemplate.indexOps(Workflow.class).ensureIndex(new Index("createdBy", Sort.Direction.ASC));
+            mongoTemplate.indexOps(Workflow.class).ensureIndex(new Index("assignedToRole", Sort.Direction.ASC));
+        }
+        return dataset;
+    }
+
+    private List<User> insertUsers(String prefix, UserRole role, int count, String passwordHash) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User(null, prefix + " " + i, prefix + i + "@loadtest.example.com", role,
+                    LocalDateTime.now(), "loadtest");
+            user.setPassword(passwordHash);
+            users.add(user);
+        }
+        return new ArrayList<>(mongoTemplate.insert(users, User.class));
+    }
+
+    private void flush(List<Workflow> batch, Dataset dataset) {
+        if (batch.isEmpty()) return;
+        for (Workflow saved : mongoTemplate.insert(batch, Workflow.class)) {
+            sample(dataset.assignedSample(), saved.getAssignedTo(), saved.getId());
+            sample(dataset.createdSample(), saved.getCreatedBy(), saved.getId());
+        }
+        batch.clear();
+    }
+
+    // First few ids per user; later writes replace random slots so hot users don't
+    // only ever touch their oldest workflows
+    private void sample(Map<String, List<String>> samples, String email, String id) {
+        List<String> ids = samples.computeIfAbsent(email, k -> new ArrayList<>());
+        if (ids.size() < SAMPLE_PER_USER) {
+            ids.add(id);
+        } else if (random.nextInt(8) == 0) {
+            ids.set(random.nextInt(SAMPLE_PER_USER), id);
+        }
+    }
+
+    private double[] zipfCdf(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private User pick(List<User> users, double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return users.get(Math.min(index < 0 ? -index - 1 : index, users.size() - 1));
+    }
+
+    private int weighted(double[] weights) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            roll -= weights[i];
+            if (roll < 0) return i;
+        }
+        return weights.length - 1;
+    }
+
+    private static final String[] TITLES = {
+            "Budget approval", "Vendor onboarding", "Access request", "Quarterly review",
+            "Expense report", "Contract renewal", "Incident follow-up", "Hiring request"
+    };
+}
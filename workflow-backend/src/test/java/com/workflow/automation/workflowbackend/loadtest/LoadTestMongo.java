@@ -0,0 +1,35 @@
+package com.workflow.automation.workflowbackend.loadtest;
+
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.testcontainers.containers.MongoDBContainer;
+
+/**
+ * The Mongo instance a load or stress run talks to, chosen by system properties:
+ * {@code loadtest.mongo.uri} for an existing server, {@code loadtest.mongo=testcontainers}
+ * for a mongo:7.0 container, flapdoodle's embedded mongod otherwise.
+ */
+record LoadTestMongo(String uri, AutoCloseable shutdown) implements AutoCloseable {
+
+    static LoadTestMongo start() {
+        String uri = System.getProperty("loadtest.mongo.uri");
+        if (uri != null) {
+            return new LoadTestMongo(uri, () -> {
+            });
+        }
+        if ("testcontainers".equals(System.getProperty("loadtest.mongo"))) {
+            MongoDBContainer container = new MongoDBContainer("mongo:7.0");
+            container.start();
+            return new LoadTestMongo(container.getConnectionString(), container::stop);
+        }
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+        return new LoadTestMongo("mongodb://" + mongod.current().getServerAddress(), mongod::close);
+    }
+
+    @Override
+    public void close() throws Exception {
+        shutdown.close();
+    }
+}
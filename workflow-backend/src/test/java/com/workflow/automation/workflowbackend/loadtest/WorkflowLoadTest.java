@@ -0,0 +1,380 @@
+package com.workflow.automation.workflowbackend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.workflow.automation.workflowbackend.WorkflowBackendApplication;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end macro benchmark: seeds Mongo with {@link LoadTestDataGenerator}, boots the
+ * application on a random port and drives a closed-loop mix of login, list, detail, create
+ * and status updates over HTTP. Latency per endpoint goes into HdrHistograms; the report is
+ * printed and written to target/loadtest.
+ *
+ * <pre>
+ * mvn test -DskipTests=false -Dtest=WorkflowLoadTest -Dloadtest=true \
+ *     -Dloadtest.workflows=10000,1000000,10000000 -DargLine=-Xmx12g
+ * </pre>
+ *
+ * Mongo is flapdoodle's embedded mongod by default; {@code -Dloadtest.mongo=testcontainers}
+ * uses a mongo:7.0 container and {@code -Dloadtest.mongo.uri=...} an existing server.
+ * Other knobs: loadtest.users (default one per 1,000 workflows, at least 100),
+ * loadtest.concurrency, loadtest.warmup-seconds, loadtest.seconds, loadtest.skew,
+ * loadtest.indexes.
+ * <p>
+ * {@code loadtest.threads} picks the server's request threads: {@code platform} (default,
+ * Tomcat's pool of {@code loadtest.tomcat-threads}, 200 by default), {@code virtual}
+ * (Java 21+), or both against the same dataset. At a concurrency well above the Tomcat pool
+ * the platform run queues in the acceptor while the virtual run queues for a Mongo
+ * connection instead, so compare req/s and p99/p99.9 side by side:
+ *
+ * <pre>
+ * mvn test -DskipTests=false -Dtest=WorkflowLoadTest -Dloadtest=true -Dloadtest.workflows=1000000 \
+ *     -Dloadtest.threads=platform,virtual -Dloadtest.concurrency=1000 -Dloadtest.mongo.pool=200
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class WorkflowLoadTest {
+
+    private static final String DATABASE = "workflow-loadtest";
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    enum Endpoint {
+        LOGIN("POST /api/auth/login", 2),
+        LIST("GET /api/workflows", 30),
+        DETAIL("GET /api/workflows/{id}", 45),
+        CREATE("POST /api/workflows", 8),
+        STATUS("PATCH /api/workflows/{id}/status", 15);
+
+        final String label;
+        final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private volatile boolean recording;
+    private volatile boolean running;
+    private long measuredNanos;
+
+    @Test
+    void run() throws Exception {
+        String scales = System.getProperty("loadtest.workflows", "10000");
+        try (LoadTestMongo mongo = LoadTestMongo.start()) {
+            for (String scale : scales.split(",")) {
+                long workflows = Long.parseLong(scale.trim());
+                int users = Integer.getInteger("loadtest.users", (int) Math.max(100, workflows / 1_000));
+                runScale(mongo.uri(), users, workflows);
+            }
+        }
+    }
+
+    private void runScale(String mongoUri, int users, long workflows) throws Exception {
+        LoadTestDataGenerator.Dataset dataset;
+        long seedStart = System.nanoTime();
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            LoadTestDataGenerator generator = new LoadTestDataGenerator(new MongoTemplate(client, DATABASE),
+                    Double.parseDouble(System.getProperty("loadtest.skew", "0.8")),
+                    Boolean.parseBoolean(System.getProperty("loadtest.indexes", "true")));
+            dataset = generator.generate(users, workflows);
+        }
+        System.out.printf("Seeded %,d users and %,d workflows in %d s%n",
+                users, workflows, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStart));
+
+        for (String threads : System.getProperty("loadtest.threads", "platform").split(",")) {
+            threads = threads.trim();
+            if (threads.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.printf("Skipping the virtual thread run: Java %d has no virtual threads%n",
+                        Runtime.version().feature());
+                continue;
+            }
+            runServer(mongoUri, threads, dataset);
+            report(users, workflows, threads);
+        }
+    }
+
+    private void runServer(String mongoUri, String threads, LoadTestDataGenerator.Dataset dataset) throws Exception {
+        ConnectionString connection = new ConnectionString(mongoUri);
+        String[] hostAndPort = connection.getHosts().get(0).split(":");
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(WorkflowBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "spring.data.mongodb.host=" + hostAndPort[0],
+                        "spring.data.mongodb.port=" + (hostAndPort.length > 1 ? hostAndPort[1] : "27017"),
+                        "spring.data.mongodb.database=" + DATABASE,
+                        "spring.devtools.restart.enabled=false",
+                        // A few simulated users drive the whole load, far past any per-user quota
+                        "workflow.rate-limit.enabled=false",
+                        "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                        "server.tomcat.threads.max=" + Integer.getInteger("loadtest.tomcat-threads", 200),
+                        "workflow.mongo.max-pool-size=" + Integer.getInteger("loadtest.mongo.pool", 100))
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+            drive("http://localhost:" + port, dataset);
+        }
+    }
+
+    private void drive(String baseUrl, LoadTestDataGenerator.Dataset dataset) throws InterruptedException {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        long warmup = Long.getLong("loadtest.warmup-seconds", 15);
+        long measure = Long.getLong("loadtest.seconds", 60);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+
+        running = true;
+        recording = false;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            VirtualUser user = new VirtualUser(baseUrl, dataset, new SplittableRandom(i));
+            Thread thread = new Thread(user, "loadtest-vu-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.get(endpoint).reset();
+            errors.get(endpoint).reset();
+        }
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(measure));
+        recording = false;
+        measuredNanos = System.nanoTime() - start;
+
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void report(int users, long workflows, String threads) throws IOException {
+        Path dir = Path.of("target", "loadtest");
+        Files.createDirectories(dir);
+        double seconds = measuredNanos / 1e9;
+
+        StringBuilder csv = new StringBuilder("endpoint,count,throughput_per_s,p50_ms,p99_ms,p99_9_ms,max_ms,errors\n");
+        System.out.printf("%n%,d workflows, %,d users, %s threads, %.0f s measured%n", workflows, users, threads, seconds);
+        System.out.printf("%-34s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long count = histogram.getTotalCount();
+            double throughput = count / seconds;
+            double p50 = millis(histogram.getValueAtPercentile(50));
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            double p999 = millis(histogram.getValueAtPercentile(99.9));
+            double max = millis(histogram.getMaxValue());
+            long failed = errors.get(endpoint).sum();
+
+            System.out.printf("%-34s %,9d %9.1f %9.2f %9.2f %9.2f %9.2f %,7d%n",
+                    endpoint.label, count, throughput, p50, p99, p999, max, failed);
+            csv.append(String.format("%s,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%d%n",
+                    endpoint.label, count, throughput, p50, p99, p999, max, failed));
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    dir.resolve("workflows-" + workflows + "-" + threads + "-" + endpoint.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        Files.writeString(dir.resolve("workflows-" + workflows + "-" + threads + ".csv"), csv);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * One simulated client: logs in as a manager or staff member, then issues requests
+     * back to back, switching identity on each login.
+     */
+    private final class VirtualUser implements Runnable {
+        private final String baseUrl;
+        private final LoadTestDataGenerator.Dataset dataset;
+        private final SplittableRandom random;
+        private final int totalWeight;
+        private User actor;
+        private String token;
+
+        VirtualUser(String baseUrl, LoadTestDataGenerator.Dataset dataset, SplittableRandom random) {
+            this.baseUrl = baseUrl;
+            this.dataset = dataset;
+            this.random = random;
+            int weights = 0;
+            for (Endpoint endpoint : Endpoint.values()) weights += endpoint.weight;
+            this.totalWeight = weights;
+        }
+
+        @Override
+        public void run() {
+            login();
+            while (running) {
+                Endpoint endpoint = next();
+                if (endpoint == Endpoint.LOGIN) {
+                    login();
+                } else if (token != null) {
+                    execute(endpoint);
+                } else {
+                    login();
+                }
+            }
+        }
+
+        private Endpoint next() {
+            int roll = random.nextInt(totalWeight);
+            for (Endpoint endpoint : Endpoint.values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) return endpoint;
+            }
+            return Endpoint.LIST;
+        }
+
+        // Admins are left out: their unrestricted list would dominate every run
+        private void login() {
+            List<User> pool = random.nextInt(5) == 0 ? dataset.managers() : dataset.staff();
+            actor = pool.get(random.nextInt(pool.size()));
+            HttpResponse<byte[]> response = send(Endpoint.LOGIN, HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("email", actor.getEmail(), "password", LoadTestDataGenerator.PASSWORD))));
+            token = null;
+            if (response != null) {
+                try {
+                    token = objectMapper.readTree(response.body()).get("token").asText();
+                } catch (IOException e) {
+                    errors.get(Endpoint.LOGIN).increment();
+                }
+            }
+        }
+
+        private void execute(Endpoint endpoint) {
+            List<String> assigned = dataset.assignedSample().getOrDefault(actor.getEmail(), List.of());
+            List<String> created = dataset.createdSample().getOrDefault(actor.getEmail(), List.of());
+
+            switch (endpoint) {
+                case LIST -> {
+                    String path = "/api/workflows";
+                    if (actor.getRole() == UserRole.MANAGER) {
+                        User staff = dataset.staff().get(random.nextInt(dataset.staff().size()));
+                        path += "?status=PENDING&assigneeId=" + staff.getEmail();
+                    }
+                    send(endpoint, authorized(path).GET());
+                }
+                case DETAIL -> {
+                    List<String> ids = random.nextBoolean() && !created.isEmpty() ? created : assigned;
+                    if (ids.isEmpty()) {
+                        execute(Endpoint.LIST);
+                        return;
+                    }
+                    send(endpoint, authorized("/api/workflows/" + ids.get(random.nextInt(ids.size()))).GET());
+                }
+                case CREATE -> {
+                    User assignee = actor.getRole() == UserRole.MANAGER
+                            ? dataset.staff().get(random.nextInt(dataset.staff().size()))
+                            : actor;
+                    send(endpoint, authorized("/api/workflows")
+                            .header("Content-Type", "application/json")
+                            .POST(json(Map.of(
+                                    "title", "Load test request " + random.nextInt(1_000_000),
+                                    "description", "Created during the load test run",
+                                    "assignedTo", assignee.getEmail(),
+                                    "assignedToRole", assignee.getRole().name(),
+                                    "dueDate", LocalDate.now().plusDays(14).toString()))));
+                }
+                case STATUS -> {
+                    if (assigned.isEmpty()) {
+                        execute(Endpoint.DETAIL);
+                        return;
+                    }
+                    String status = random.nextBoolean() ? "IN_PROGRESS" : "COMPLETED";
+                    send(endpoint, authorized("/api/workflows/" + assigned.get(random.nextInt(assigned.size()))
+                            + "/status?newStatus=" + status)
+                            .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+                }
+                default -> throw new IllegalStateException("Unexpected endpoint " + endpoint);
+            }
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        }
+
+        private URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+
+        private HttpRequest.BodyPublisher json(Map<String, String> body) {
+            try {
+                return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // Returns the response on 2xx, otherwise counts an error and returns null
+        private HttpResponse<byte[]> send(Endpoint endpoint, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(60)).build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                if (response.statusCode() / 100 != 2) {
+                    if (recording) errors.get(endpoint).increment();
+                    return null;
+                }
+                if (recording) latencies.get(endpoint).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                return response;
+            } catch (IOException e) {
+                if (recording) errors.get(endpoint).increment();
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.workflow.automation.workflowbackend.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.workflow.automation.workflowbackend.WorkflowBackendApplication;
+import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.exception.ResourceNotFoundException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.UserRepository;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import com.workflow.automation.workflowbackend.service.CustomUserDetailsService;
+import com.workflow.automation.workflowbackend.service.UserService;
+import com.workflow.automation.workflowbackend.service.WorkflowRules;
+import com.workflow.automation.workflowbackend.service.WorkflowService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency stress test for the write paths: boots the application against Mongo and has
+ * many threads call {@link WorkflowService#updateWorkflow}, {@link WorkflowService#updateWorkflowStatus},
+ * {@link WorkflowService#deleteWorkflow}, {@link UserService#changeUserRole} and
+ * {@link UserService#updateUser} at random on a small, shared set of workflows and users.
+ *
+ * <pre>
+ * mvn test -DskipTests=false -Dtest=WorkflowWriteStressTest -Dstresstest=true \
+ *     -Dstresstest.threads=32 -Dstresstest.seconds=60
+ * </pre>
+ *
+ * Every workflow has one thread that moves its status (acting as the assignee) and another
+ * that edits and occasionally deletes it (acting as the creator); every user has one thread
+ * that changes the role and another that renames. Each thread keeps a ledger of the last
+ * value it wrote, so once the threads stop the stored documents must match it exactly:
+ * <ul>
+ *     <li>status and title are the last ones written, so no transition or edit was lost to a
+ *     concurrent read-modify-write save;</li>
+ *     <li>a deleted workflow stays deleted, so nothing wrote to it afterwards;</li>
+ *     <li>role and name are the last ones written, and the principal the security filter
+ *     loads for the user passes role checks exactly as that role should.</li>
+ * </ul>
+ * Calls that fail because their workflow was deleted meanwhile are expected and counted as
+ * rejected. Throughput and latency per operation are printed and written to
+ * target/stresstest, so runs before and after a concurrency change can be compared.
+ * <p>
+ * Knobs: stresstest.threads (16), stresstest.workflows (64) and stresstest.users (16), both
+ * at least the thread count, stresstest.seconds (30), stresstest.seed. Mongo is chosen as
+ * for {@link WorkflowLoadTest}.
+ */
+@EnabledIfSystemProperty(named = "stresstest", matches = "true")
+class WorkflowWriteStressTest {
+
+    private static final String DATABASE = "workflow-stresstest";
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    enum Operation {
+        STATUS("updateWorkflowStatus", 40),
+        EDIT("updateWorkflow", 30),
+        DELETE("deleteWorkflow + create", 4),
+        ROLE("changeUserRole", 13),
+        RENAME("updateUser", 13);
+
+        final String label;
+        final int weight;
+
+        Operation(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    // Each field has a single writer thread; everything is read after the threads have joined
+    private static final class WorkflowLedger {
+        volatile WorkflowStatus status = WorkflowStatus.PENDING;
+        volatile String title;
+        volatile boolean deleted;
+
+        WorkflowLedger(String title) {
+            this.title = title;
+        }
+    }
+
+    private static final class UserLedger {
+        final String id;
+        final String email;
+        volatile UserRole role;
+        volatile String name;
+
+        UserLedger(User user) {
+            this.id = user.getId();
+            this.email = user.getEmail();
+            this.role = user.getRole();
+            this.name = user.getName();
+        }
+    }
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<String> errorMessages = new ConcurrentLinkedQueue<>();
+    private final Map<String, WorkflowLedger> workflowLedgers = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    private WorkflowService workflowService;
+    private UserService userService;
+    private CustomUserDetailsService principals;
+    private WorkflowRepository workflowRepository;
+    private UserRepository userRepository;
+
+    private int threadCount;
+    private AuthenticatedUser admin;
+    private List<User> managers;
+    private List<User> staff;
+    private AtomicReferenceArray<String> slots;
+    private List<UserLedger> subjects;
+
+    @Test
+    void run() throws Exception {
+        threadCount = Integer.getInteger("stresstest.threads", 16);
+        int workflows = Integer.getInteger("stresstest.workflows", 64);
+        int users = Integer.getInteger("stresstest.users", 16);
+        if (workflows < threadCount || users < threadCount) {
+            throw new IllegalArgumentException("stresstest.workflows and stresstest.users must be at least stresstest.threads");
+        }
+
+        try (LoadTestMongo mongo = LoadTestMongo.start();
+             ConfigurableApplicationContext app = start(mongo.uri())) {
+            workflowService = app.getBean(WorkflowService.class);
+            userService = app.getBean(UserService.class);
+            principals = app.getBean(CustomUserDetailsService.class);
+            workflowRepository = app.getBean(WorkflowRepository.class);
+            userRepository = app.getBean(UserRepository.class);
+            app.getBean(MongoTemplate.class).getDb().drop();
+
+            seed(workflows, users);
+            long nanos = drive();
+            report(nanos);
+
+            Map<String, Integer> violations = checkInvariants();
+            assertTrue(violations.values().stream().allMatch(count -> count == 0),
+                    "Invariants violated after the run: " + violations);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mongoUri) {
+        ConnectionString connection = new ConnectionString(mongoUri);
+        String[] hostAndPort = connection.getHosts().get(0).split(":");
+        return new SpringApplicationBuilder(WorkflowBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "spring.data.mongodb.host=" + hostAndPort[0],
+                        "spring.data.mongodb.port=" + (hostAndPort.length > 1 ? hostAndPort[1] : "27017"),
+                        "spring.data.mongodb.database=" + DATABASE,
+                        "spring.devtools.restart.enabled=false",
+                        "workflow.rate-limit.enabled=false")
+                .run();
+    }
+
+    // Workflow slot i has its status moved by thread i % n and is edited by thread (i + 1) % n;
+    // user j has its role changed by thread j % n and is renamed by thread (j + 1) % n
+    private int statusThread(int slot) {
+        return slot % threadCount;
+    }
+
+    private int editThread(int slot) {
+        return (slot + 1) % threadCount;
+    }
+
+    private void seed(int workflows, int users) {
+        admin = AuthenticatedUser.from(saveUser("stress-admin@example.com", UserRole.ADMIN));
+        managers = new ArrayList<>();
+        staff = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            managers.add(saveUser("stress-manager-" + t + "@example.com", UserRole.MANAGER));
+            staff.add(saveUser("stress-staff-" + t + "@example.com", UserRole.STAFF));
+        }
+        subjects = new ArrayList<>();
+        for (int j = 0; j < users; j++) {
+            UserRole role = j % 2 == 0 ? UserRole.STAFF : UserRole.MANAGER;
+            subjects.add(new UserLedger(saveUser("stress-subject-" + j + "@example.com", role)));
+        }
+        slots = new AtomicReferenceArray<>(workflows);
+        for (int i = 0; i < workflows; i++) {
+            createInSlot(i);
+        }
+        System.out.printf("Seeded %,d workflows and %,d users for %d threads%n", workflows, users, threadCount);
+    }
+
+    private User saveUser(String email, UserRole role) {
+        User user = new User(null, email.substring(0, email.indexOf('@')), email, role,
+                LocalDateTime.now(), "stress-admin@example.com");
+        user.setPassword("unused");
+        return userRepository.save(user);
+    }
+
+    private void createInSlot(int slot) {
+        Workflow workflow = new Workflow();
+        workflow.setTitle("Stress workflow " + slot);
+        workflow.setDescription("Created by the write stress test");
+        workflow.setAssignedTo(staff.get(statusThread(slot)).getEmail());
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setDueDate(LocalDate.now().plusDays(14));
+        Workflow created = workflowService.createWorkflow(workflow, AuthenticatedUser.from(managers.get(editThread(slot))));
+        workflowLedgers.put(created.getId(), new WorkflowLedger(created.getTitle()));
+        slots.set(slot, created.getId());
+    }
+
+    private long drive() throws InterruptedException {
+        long seconds = Long.getLong("stresstest.seconds", 30);
+        long seed = Long.getLong("stresstest.seed", 42);
+
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+
+        running = true;
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(new Worker(t, new SplittableRandom(seed + t)), "stresstest-" + t);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Map<String, Integer> checkInvariants() {
+        Map<String, Integer> violations = new LinkedHashMap<>();
+        for (String check : List.of("lost status transitions", "lost workflow edits", "writes to deleted workflows",
+                "workflows gone without a delete", "lost role changes", "lost renames",
+                "principals out of date", "role checks inconsistent with the final role")) {
+            violations.put(check, 0);
+        }
+
+        workflowLedgers.forEach((id, ledger) -> {
+            Optional<Workflow> stored = workflowRepository.findById(id);
+            if (ledger.deleted) {
+                stored.ifPresent(workflow -> violation(violations, "writes to deleted workflows",
+                        "workflow %s exists after its delete, with status %s", id, workflow.getStatus()));
+                return;
+            }
+            if (stored.isEmpty()) {
+                violation(violations, "workflows gone without a delete", "workflow %s is missing", id);
+                return;
+            }
+            if (stored.get().getStatus() != ledger.status) {
+                violation(violations, "lost status transitions",
+                        "workflow %s has status %s, last set to %s", id, stored.get().getStatus(), ledger.status);
+            }
+            if (!ledger.title.equals(stored.get().getTitle())) {
+                violation(violations, "lost workflow edits",
+                        "workflow %s has title '%s', last set to '%s'", id, stored.get().getTitle(), ledger.title);
+            }
+        });
+
+        for (UserLedger subject : subjects) {
+            User stored = userRepository.findById(subject.id).orElseThrow();
+            if (stored.getRole() != subject.role) {
+                violation(violations, "lost role changes",
+                        "user %s has role %s, last set to %s", subject.email, stored.getRole(), subject.role);
+            }
+            if (!subject.name.equals(stored.getName())) {
+                violation(violations, "lost renames",
+                        "user %s is named '%s', last set to '%s'", subject.email, stored.getName(), subject.name);
+            }
+            AuthenticatedUser principal = principals.loadUserByUsername(subject.email);
+            if (principal.getRole() != stored.getRole()) {
+                violation(violations, "principals out of date",
+                        "user %s authenticates as %s but is stored as %s", subject.email, principal.getRole(), stored.getRole());
+            }
+            boolean mayListManagers = allowed(() -> WorkflowRules.checkCanListRole("MANAGER", principal));
+            if (mayListManagers != (subject.role != UserRole.STAFF)) {
+                violation(violations, "role checks inconsistent with the final role",
+                        "user %s with final role %s %s list MANAGER workflows", subject.email, subject.role,
+                        mayListManagers ? "may" : "may not");
+            }
+        }
+        return violations;
+    }
+
+    private static void violation(Map<String, Integer> violations, String check, String format, Object... args) {
+        if (violations.merge(check, 1, Integer::sum) <= MAX_REPORTED_ERRORS) {
+            System.out.printf("VIOLATION %s: %s%n", check, String.format(format, args));
+        }
+    }
+
+    private static boolean allowed(Runnable check) {
+        try {
+            check.run();
+            return true;
+        } catch (AccessDeniedException e) {
+            return false;
+        }
+    }
+
+    private void report(long nanos) throws IOException {
+        Path dir = Path.of("target", "stresstest");
+        Files.createDirectories(dir);
+        double seconds = nanos / 1e9;
+
+        StringBuilder csv = new StringBuilder("operation,count,throughput_per_s,rejected,errors,p50_ms,p99_ms,max_ms\n");
+        System.out.printf("%n%d threads, %,d workflows, %,d users, %.0f s%n",
+                threadCount, slots.length(), subjects.size(), seconds);
+        System.out.printf("%-24s %9s %9s %9s %7s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "rejected", "errors", "p50 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long count = histogram.getTotalCount();
+            total += count;
+            double throughput = count / seconds;
+            double p50 = histogram.getValueAtPercentile(50) / 1000.0;
+            double p99 = histogram.getValueAtPercentile(99) / 1000.0;
+            double max = histogram.getMaxValue() / 1000.0;
+            long rejectedCount = rejected.get(operation).sum();
+            long errorCount = errors.get(operation).sum();
+
+            System.out.printf("%-24s %,9d %9.1f %,9d %,7d %9.2f %9.2f %9.2f%n",
+                    operation.label, count, throughput, rejectedCount, errorCount, p50, p99, max);
+            csv.append(String.format("%s,%d,%.2f,%d,%d,%.3f,%.3f,%.3f%n",
+                    operation.label, count, throughput, rejectedCount, errorCount, p50, p99, max));
+        }
+        System.out.printf("%-24s %,9d %9.1f%n", "total", total, total / seconds);
+        errorMessages.forEach(message -> System.out.println("ERROR " + message));
+        Files.writeString(dir.resolve("threads-" + threadCount + ".csv"), csv);
+    }
+
+    /**
+     * One thread of the run: picks a weighted random operation on the workflows and users it
+     * owns, records its outcome and, on success, the value it wrote.
+     */
+    private final class Worker implements Runnable {
+        private final int index;
+        private final SplittableRandom random;
+        private final int totalWeight;
+        private final AuthenticatedUser assignee;
+        private final AuthenticatedUser creator;
+        private final List<Integer> statusSlots = new ArrayList<>();
+        private final List<Integer> editSlots = new ArrayList<>();
+        private final List<UserLedger> roleSubjects = new ArrayList<>();
+        private final List<UserLedger> renameSubjects = new ArrayList<>();
+        private long writes;
+
+        Worker(int index, SplittableRandom random) {
+            this.index = index;
+            this.random = random;
+            int weights = 0;
+            for (Operation operation : Operation.values()) weights += operation.weight;
+            this.totalWeight = weights;
+            this.assignee = AuthenticatedUser.from(staff.get(index));
+            this.creator = AuthenticatedUser.from(managers.get(index));
+            for (int slot = 0; slot < slots.length(); slot++) {
+                if (statusThread(slot) == index) statusSlots.add(slot);
+                if (editThread(slot) == index) editSlots.add(slot);
+            }
+            for (int j = 0; j < subjects.size(); j++) {
+                if (j % threadCount == index) roleSubjects.add(subjects.get(j));
+                if ((j + 1) % threadCount == index) renameSubjects.add(subjects.get(j));
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Operation operation = next();
+                long start = System.nanoTime();
+                try {
+                    execute(operation);
+                    latencies.get(operation).recordValue(
+                            Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), MAX_LATENCY_MICROS));
+                } catch (ResourceNotFoundException e) {
+                    // The workflow was deleted by its creator's thread in the meantime
+                    rejected.get(operation).increment();
+                } catch (RuntimeException e) {
+                    errors.get(operation).increment();
+                    if (errorMessages.size() < MAX_REPORTED_ERRORS) {
+                        errorMessages.add(operation.label + ": " + e);
+                    }
+                }
+            }
+        }
+
+        private Operation next() {
+            int roll = random.nextInt(totalWeight);
+            for (Operation operation : Operation.values()) {
+                roll -= operation.weight;
+                if (roll < 0) return operation;
+            }
+            return Operation.STATUS;
+        }
+
+        private void execute(Operation operation) {
+            switch (operation) {
+                case STATUS -> {
+                    String id = slots.get(statusSlots.get(random.nextInt(statusSlots.size())));
+                    WorkflowStatus[] statuses = WorkflowStatus.values();
+                    WorkflowStatus status = statuses[random.nextInt(statuses.length)];
+                    workflowService.updateWorkflowStatus(id, status.name(), assignee);
+                    workflowLedgers.get(id).status = status;
+                }
+                case EDIT -> {
+                    int slot = editSlots.get(random.nextInt(editSlots.size()));
+                    String id = slots.get(slot);
+                    Workflow details = new Workflow();
+                    details.setTitle("Edit " + index + "-" + ++writes);
+                    details.setDescription("Edited by the write stress test");
+                    details.setAssignedTo(staff.get(statusThread(slot)).getEmail());
+                    details.setAssignedToRole(UserRole.STAFF);
+                    workflowService.updateWorkflow(id, details, creator);
+                    workflowLedgers.get(id).title = details.getTitle();
+                }
+                case DELETE -> {
+                    int slot = editSlots.get(random.nextInt(editSlots.size()));
+                    String id = slots.get(slot);
+                    workflowService.deleteWorkflow(id, creator);
+                    workflowLedgers.get(id).deleted = true;
+                    createInSlot(slot);
+                }
+                case ROLE -> {
+                    UserLedger subject = roleSubjects.get(random.nextInt(roleSubjects.size()));
+                    UserRole role = random.nextBoolean() ? UserRole.MANAGER : UserRole.STAFF;
+                    userService.changeUserRole(subject.id, role, admin);
+                    subject.role = role;
+                }
+                case RENAME -> {
+                    UserLedger subject = renameSubjects.get(random.nextInt(renameSubjects.size()));
+                    User details = new User();
+                    details.setName("Subject " + index + "-" + ++writes);
+                    userService.updateUser(subject.id, details, admin);
+                    subject.name = details.getName();
+                }
+                default -> throw new IllegalStateException("Unexpected operation " + operation);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.workflow.automation.workflowbackend.repository;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.workflow.automation.workflowbackend.config.CompactStorageConfig;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.CompactFormat;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.service.CustomUserDetailsService;
+import com.workflow.automation.workflowbackend.service.MongoCircuitBreaker;
+import com.workflow.automation.workflowbackend.service.StaleReadStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserRepositoryCustomImplTest {
+
+    // A user as stored before workflow.storage.compact was switched on
+    private final Document standardUser = new Document("_id", new ObjectId())
+            .append("name", "Sam")
+            .append("email", "sam@example.com")
+            .append("role", "MANAGER")
+            .append("createdAt", new Date())
+            .append("password", "hash");
+
+    @Test
+    void standardLayoutUsersAuthenticateWhileUsersAreMigrated() {
+        StorageFormat storageFormat = new StorageFormat(true);
+        UserRepositoryCustomImpl users = new UserRepositoryCustomImpl(template(), storageFormat);
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findByEmail(any())).thenAnswer(invocation -> users.findByEmail(invocation.getArgument(0)));
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 5, 10, new SimpleMeterRegistry());
+        CustomUserDetailsService principals = new CustomUserDetailsService(repository, breaker,
+                new StaleReadStore(breaker, true, 100, 10_000, new SimpleMeterRegistry()));
+
+        AuthenticatedUser principal = principals.loadUserByUsername("sam@example.com");
+
+        assertEquals(UserRole.MANAGER, principal.getRole());
+        assertEquals("hash", principal.getPassword());
+        assertEquals(List.of("sam@example.com"), users.findByRole(UserRole.MANAGER).stream().map(User::getEmail).toList());
+        assertTrue(users.findByRoleIn(List.of(UserRole.STAFF)).isEmpty());
+    }
+
+    // Answers finds on the users collection by matching the filter, or any branch of a
+    // top-level $or, against the stored standard-layout user
+    @SuppressWarnings("unchecked")
+    private MongoTemplate template() {
+        MongoTemplate template = mock(MongoTemplate.class);
+        when(template.getConverter()).thenReturn(compactConverter());
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(template.getCollection(CompactFormat.USERS)).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenAnswer(invocation -> {
+            List<Document> found = matches(invocation.getArgument(0)) ? List.of(standardUser) : List.of();
+            FindIterable<Document> iterable = mock(FindIterable.class);
+            when(iterable.limit(anyInt())).thenReturn(iterable);
+            when(iterable.first()).thenReturn(found.isEmpty() ? null : found.get(0));
+            doAnswer(call -> {
+                found.forEach(call.<Consumer<Document>>getArgument(0));
+                return null;
+            }).when(iterable).forEach(any());
+            return iterable;
+        });
+        return template;
+    }
+
+    private boolean matches(Document filter) {
+        if (filter.containsKey("$or")) {
+            return filter.getList("$or", Document.class).stream().anyMatch(this::matches);
+        }
+        return filter.entrySet().stream().allMatch(entry -> {
+            Object stored = standardUser.get(entry.getKey());
+            if (entry.getValue() instanceof Document operators && operators.containsKey("$in")) {
+                return operators.getList("$in", Object.class).contains(stored);
+            }
+            return Objects.equals(stored, entry.getValue());
+        });
+    }
+
+    private static MappingMongoConverter compactConverter() {
+        MongoCustomConversions conversions = CompactStorageConfig.conversions(true);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setFieldNamingStrategy(CompactStorageConfig.COMPACT_FIELD_NAMES);
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
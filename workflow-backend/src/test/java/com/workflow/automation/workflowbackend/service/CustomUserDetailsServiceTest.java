@@ -0,0 +1,46 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.ServiceUnavailableException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 5, 10, new SimpleMeterRegistry());
+    private final CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository, breaker,
+            new StaleReadStore(breaker, true, 100, 10_000, new SimpleMeterRegistry()));
+
+    @Test
+    void onlyTokenLookupsFallBackToAKeptPrincipalWithoutItsPassword() {
+        User user = new User();
+        user.setEmail("sam@example.com");
+        user.setRole(UserRole.STAFF);
+        user.setPassword("hash");
+        when(userRepository.findByEmail("sam@example.com")).thenReturn(Optional.of(user));
+
+        assertEquals("hash", userDetailsService.loadUserByUsername("sam@example.com").getPassword());
+        assertNull(userDetailsService.loadTokenPrincipal("sam@example.com").getPassword());
+
+        when(userRepository.findByEmail("sam@example.com"))
+                .thenThrow(new DataAccessResourceFailureException("no primary"));
+
+        AuthenticatedUser kept = userDetailsService.loadTokenPrincipal("sam@example.com");
+        assertEquals(UserRole.STAFF, kept.getRole());
+        assertNull(kept.getPassword());
+        assertThrows(ServiceUnavailableException.class, () -> userDetailsService.loadUserByUsername("sam@example.com"));
+    }
+}
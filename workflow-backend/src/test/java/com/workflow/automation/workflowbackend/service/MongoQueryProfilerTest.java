@@ -0,0 +1,47 @@
+package com.workflow.automation.workflowbackend.service;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class MongoQueryProfilerTest {
+
+    @Test
+    void queriesDifferingOnlyInValuesShareAShape() {
+        String staff = MongoQueryProfiler.fingerprint("find", BsonDocument.parse("""
+                {find: "workflows", filter: {status: "PENDING", $or: [{assignedToRole: {$in: ["STAFF"]}},
+                 {assignedTo: "a@example.com"}]}, sort: {createdAt: -1}, $db: "workflowbackend", lsid: {id: 1}}"""));
+        String manager = MongoQueryProfiler.fingerprint("find", BsonDocument.parse("""
+                {find: "workflows", filter: {status: "COMPLETED", $or: [{assignedToRole: {$in: ["MANAGER", "STAFF"]}},
+                 {assignedTo: "b@example.com"}]}, sort: {createdAt: -1}, $db: "workflowbackend"}"""));
+        String byCreator = MongoQueryProfiler.fingerprint("find", BsonDocument.parse("""
+                {find: "workflows", filter: {createdBy: "a@example.com"}, $db: "workflowbackend"}"""));
+
+        assertEquals("find workflows filter={status:?,$or:[{assignedToRole:{$in:[?]}},{assignedTo:?}]} sort={createdAt:-1}",
+                staff);
+        assertEquals(staff, manager);
+        assertNotEquals(staff, byCreator);
+    }
+
+    @Test
+    void summarizesWinningPlanStages() {
+        Document explain = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "FETCH").append("inputStage",
+                        new Document("stage", "IXSCAN").append("indexName", "assignedTo_1"))));
+        Document sbeExplain = new Document("explainVersion", "2").append("queryPlanner", new Document("winningPlan",
+                new Document("queryPlan", new Document("stage", "COLLSCAN"))));
+        Document orExplain = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "SUBPLAN").append("inputStage", new Document("stage", "OR").append("inputStages",
+                        List.of(new Document("stage", "IXSCAN").append("indexName", "assignedTo_1"),
+                                new Document("stage", "COLLSCAN"))))));
+
+        assertEquals("FETCH > IXSCAN(assignedTo_1)", MongoQueryProfiler.summarizePlan(explain));
+        assertEquals("COLLSCAN", MongoQueryProfiler.summarizePlan(sbeExplain));
+        assertEquals("SUBPLAN > OR > [IXSCAN(assignedTo_1) | COLLSCAN]", MongoQueryProfiler.summarizePlan(orExplain));
+    }
+}
@@ -0,0 +1,89 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StaleReadStoreTest {
+
+    private final MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 2, 0, new SimpleMeterRegistry());
+    private final StaleReadStore store = new StaleReadStore(breaker, true, 100, 10_000, new SimpleMeterRegistry());
+
+    @Test
+    void servesTheKeptResultWhileMongoIsDown() {
+        assertEquals(List.of("a"), store.read("q", () -> List.of("a")));
+
+        Supplier<List<String>> down = () -> {
+            throw new DataAccessResourceFailureException("no primary");
+        };
+        assertEquals(List.of("a"), store.read("q", down));
+        assertThrows(ServiceUnavailableException.class, () -> store.read("other", down));
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesOnASuccessfulProbe() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> down = () -> {
+            calls.incrementAndGet();
+            throw new DataAccessResourceFailureException("timeout");
+        };
+
+        assertThrows(ServiceUnavailableException.class, () -> breaker.call(down));
+        assertThrows(ServiceUnavailableException.class, () -> breaker.call(down));
+        assertEquals(MongoCircuitBreaker.State.OPEN, breaker.state());
+
+        // open-seconds is 0, so the next call is the probe
+        assertEquals("up", breaker.call(() -> "up"));
+        assertEquals(MongoCircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void otherErrorsDoNotCountAgainstMongo() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(DuplicateKeyException.class, () -> breaker.call(() -> {
+                throw new DuplicateKeyException("dup");
+            }));
+        }
+        assertEquals(MongoCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedResultsOnceTheRowBudgetIsExceeded() {
+        StaleReadStore small = new StaleReadStore(breaker, true, 100, 10, new SimpleMeterRegistry());
+        small.read("old", () -> List.of(1, 2, 3, 4));
+        small.read("recent", () -> List.of(1, 2, 3, 4));
+        small.read("old", () -> List.of(1, 2, 3, 4));
+
+        small.read("new", () -> List.of(1, 2, 3, 4));
+
+        Supplier<List<Integer>> down = () -> {
+            throw new DataAccessResourceFailureException("no primary");
+        };
+        assertEquals(2, small.size());
+        assertThrows(ServiceUnavailableException.class, () -> small.read("recent", down));
+        assertEquals(List.of(1, 2, 3, 4), small.read("old", down));
+    }
+
+    @Test
+    void revalidationRefreshesKeptResults() {
+        AtomicInteger version = new AtomicInteger();
+        store.read("q", version::incrementAndGet);
+
+        store.revalidate();
+
+        Supplier<Integer> down = () -> {
+            throw new DataAccessResourceFailureException("no primary");
+        };
+        assertEquals(2, store.read("q", down));
+    }
+}
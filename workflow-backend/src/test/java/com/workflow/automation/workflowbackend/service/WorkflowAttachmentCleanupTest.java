@@ -0,0 +1,39 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSFindIterable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkflowAttachmentCleanupTest {
+
+    @Test
+    void failedCleanupsAreRetriedUntilTheyGoThrough() {
+        GridFSBucket bucket = mock(GridFSBucket.class);
+        when(bucket.find(any(Bson.class)))
+                .thenThrow(new MongoSocketReadException("connection reset", new ServerAddress()))
+                .thenReturn(mock(GridFSFindIterable.class));
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 5, 10, new SimpleMeterRegistry());
+        WorkflowAttachmentCleanup cleanup = new WorkflowAttachmentCleanup(bucket, breaker, 3600, new SimpleMeterRegistry());
+        try {
+            cleanup.deleteAll("w1");
+            assertEquals(1, cleanup.pendingCount());
+
+            cleanup.retryPending();
+            assertEquals(0, cleanup.pendingCount());
+            verify(bucket, times(2)).find(any(Bson.class));
+        } finally {
+            cleanup.shutdown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.exception.AttachmentTooLargeException;
+import com.workflow.automation.workflowbackend.exception.InvalidAttachmentException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WorkflowAttachmentServiceTest {
+
+    // sha-256 of "hello"
+    private static final String HELLO_DIGEST = "sha-256=:LPJNul+wow4m6DsqxbninhsWHlwfp0JecwQzYpOLmCQ=:";
+    private static final AuthenticatedUser STAFF = new AuthenticatedUser("id-staff", "staff@example.com",
+            "staff@example.com", UserRole.STAFF, null);
+
+    private final MongoDatabase database = mock(MongoDatabase.class, RETURNS_DEEP_STUBS);
+    private final GridFSBucket bucket = mock(GridFSBucket.class);
+    private final GridFSUploadStream upload = mock(GridFSUploadStream.class);
+    private final WorkflowService workflowService = mock(WorkflowService.class);
+
+    @Test
+    void keepsOnlyTheLastPathSegmentOfFileNames() {
+        assertEquals("budget.xlsx", WorkflowAttachmentService.sanitizeFilename("budget.xlsx"));
+        assertEquals("scan 1.pdf", WorkflowAttachmentService.sanitizeFilename("C:\\Users\\sam\\scan 1.pdf"));
+        assertEquals("passwd", WorkflowAttachmentService.sanitizeFilename("../../etc/passwd"));
+        assertEquals("report.pdf", WorkflowAttachmentService.sanitizeFilename("report\r\n.pdf"));
+        assertThrows(InvalidAttachmentException.class, () -> WorkflowAttachmentService.sanitizeFilename("uploads/"));
+        assertThrows(InvalidAttachmentException.class, () -> WorkflowAttachmentService.sanitizeFilename(".."));
+    }
+
+    @Test
+    void readsSha256FromContentDigest() {
+        // SHA-256 of "hello"
+        String hex = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+        byte[] sha256 = WorkflowAttachmentService.sha256Of(
+                "md5=:XUFAKrxLKna5cZ2REBfFkg==:, sha-256=:LPJNul+wow4m6DsqxbninhsWHlwfp0JecwQzYpOLmCQ=:");
+
+        assertEquals(hex, HexFormat.of().formatHex(sha256));
+        assertNull(WorkflowAttachmentService.sha256Of("md5=:XUFAKrxLKna5cZ2REBfFkg==:"));
+        assertNull(WorkflowAttachmentService.sha256Of(null));
+        assertThrows(InvalidAttachmentException.class, () -> WorkflowAttachmentService.sha256Of("sha-256=:not base64!:"));
+    }
+
+    @Test
+    void uploadsOverTheLimitAreAbortedBeforeTheRestIsWritten() {
+        when(bucket.openUploadStream(anyString(), any(GridFSUploadOptions.class))).thenReturn(upload);
+        WorkflowAttachmentService service = service(100_000);
+
+        assertThrows(AttachmentTooLargeException.class, () -> service.upload("w1", "scan.pdf", "application/pdf",
+                null, new ByteArrayInputStream(new byte[300_000]), STAFF));
+
+        ArgumentCaptor<Integer> written = ArgumentCaptor.forClass(Integer.class);
+        verify(upload, atLeastOnce()).write(any(byte[].class), anyInt(), written.capture());
+        assertTrue(written.getAllValues().stream().mapToInt(Integer::intValue).sum() <= 100_000);
+        verify(upload).abort();
+        verify(upload, never()).close();
+    }
+
+    @Test
+    void aContentDigestMismatchAbortsTheUpload() {
+        when(bucket.openUploadStream(anyString(), any(GridFSUploadOptions.class))).thenReturn(upload);
+        WorkflowAttachmentService service = service(1024);
+
+        assertThrows(InvalidAttachmentException.class, () -> service.upload("w1", "notes.txt", "text/plain",
+                HELLO_DIGEST, new ByteArrayInputStream("goodbye".getBytes(StandardCharsets.UTF_8)), STAFF));
+
+        verify(upload).abort();
+        verify(upload, never()).close();
+        verify(database.getCollection(WorkflowAttachmentService.BUCKET + ".files"), never())
+                .updateOne(any(Bson.class), any(Bson.class));
+    }
+
+    @Test
+    void uploadAndDeleteNeedEditAccessBeforeTouchingTheBucket() {
+        when(workflowService.getEditableWorkflow(eq("w1"), any()))
+                .thenThrow(new AccessDeniedException("Not authorized to edit this workflow"));
+        WorkflowAttachmentService service = service(1024);
+
+        assertThrows(AccessDeniedException.class, () -> service.upload("w1", "notes.txt", "text/plain",
+                null, new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), STAFF));
+        assertThrows(AccessDeniedException.class, () -> service.delete("w1", new ObjectId().toHexString(), STAFF));
+
+        verifyNoInteractions(bucket);
+    }
+
+    private WorkflowAttachmentService service(long maxBytes) {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 5, 10, new SimpleMeterRegistry());
+        return new WorkflowAttachmentService(database, bucket, workflowService, breaker,
+                new StaleReadStore(breaker, true, 100, 10_000, new SimpleMeterRegistry()), maxBytes, 4,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,139 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkflowColumnStoreTest {
+
+    private static final String[] EMAILS = {
+            "admin@example.com", "manager@example.com", "staff@example.com", "other@example.com"};
+
+    private final WorkflowColumnStore store = new WorkflowColumnStore(null, true, 10, 5, 5000, new SimpleMeterRegistry());
+
+    @Test
+    void selectionMatchesFiltersAndVisibilityRule() {
+        Random random = new Random(7);
+        List<Workflow> workflows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Workflow workflow = randomWorkflow(String.valueOf(i), random);
+            workflows.add(workflow);
+            store.index(workflow);
+        }
+        // Rewrites and deletes leave freed rows behind that later inserts reuse
+        for (int i = 0; i < 500; i++) {
+            Workflow workflow = workflows.get(random.nextInt(workflows.size()));
+            if (random.nextBoolean()) {
+                workflows.remove(workflow);
+                store.remove(workflow.getId());
+            } else {
+                Workflow replacement = randomWorkflow(workflow.getId(), random);
+                workflows.set(workflows.indexOf(workflow), replacement);
+                store.index(replacement);
+            }
+        }
+        assertEquals(workflows.size(), store.size());
+
+        for (UserRole callerRole : UserRole.values()) {
+            for (String email : EMAILS) {
+                AuthenticatedUser caller = new AuthenticatedUser("id-" + email, email, email, callerRole, null);
+                for (WorkflowVisibility visibility : List.of(
+                        WorkflowVisibility.forList(caller), WorkflowVisibility.of(caller))) {
+                    for (WorkflowStatus status : new WorkflowStatus[]{null, WorkflowStatus.PENDING}) {
+                        for (UserRole role : new UserRole[]{null, UserRole.STAFF}) {
+                            for (String assignee : new String[]{null, "staff@example.com", "nobody@example.com"}) {
+                                List<String> expected = workflows.stream()
+                                        .filter(w -> status == null || w.getStatus() == status)
+                                        .filter(w -> role == null || w.getAssignedToRole() == role)
+                                        .filter(w -> assignee == null || assignee.equals(w.getAssignedTo()))
+                                        .filter(w -> visibility.test(w.getAssignedTo(), w.getCreatedBy(), w.getAssignedToRole()))
+                                        .map(Workflow::getId)
+                                        .sorted()
+                                        .toList();
+                                List<String> selected = store.select(visibility, status, assignee, role).stream()
+                                        .sorted()
+                                        .toList();
+                                assertEquals(expected, selected, callerRole + " " + email + " " + status + " " + role + " " + assignee);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownEmailsSelectNothing() {
+        store.index(workflow("1", WorkflowStatus.PENDING, UserRole.STAFF, "staff@example.com", "manager@example.com"));
+        WorkflowVisibility stranger = WorkflowVisibility.forList(
+                new AuthenticatedUser("id", "new@example.com", "new@example.com", UserRole.STAFF, null));
+
+        assertTrue(store.select(stranger, null, null, null).isEmpty());
+    }
+
+    // mvn test -DskipTests=false -Dbenchmark=true -Dtest=WorkflowColumnStoreTest -DargLine=-Xmx2g
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void selectLatencyAtOneMillionWorkflows() {
+        Random random = new Random(42);
+        String[] users = new String[5_000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = "user" + i + "@example.com";
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            store.index(workflow(String.valueOf(i),
+                    WorkflowStatus.values()[random.nextInt(WorkflowStatus.values().length)],
+                    UserRole.values()[random.nextInt(UserRole.values().length)],
+                    users[random.nextInt(users.length)], users[random.nextInt(users.length)]));
+        }
+
+        WorkflowVisibility manager = WorkflowVisibility.forList(
+                new AuthenticatedUser("id", users[0], users[0], UserRole.MANAGER, null));
+        WorkflowVisibility staff = WorkflowVisibility.forList(
+                new AuthenticatedUser("id", users[1], users[1], UserRole.STAFF, null));
+        for (int i = 0; i < 200; i++) {
+            store.select(manager, WorkflowStatus.PENDING, null, UserRole.STAFF);
+        }
+        int runs = 200;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            store.select(manager, WorkflowStatus.PENDING, users[i], null);
+        }
+        System.out.printf("manager status+assignee avg=%.1f us%n", (System.nanoTime() - start) / 1e3 / runs);
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            store.select(staff, WorkflowStatus.IN_PROGRESS, null, null);
+        }
+        System.out.printf("staff status avg=%.1f us%n", (System.nanoTime() - start) / 1e3 / runs);
+    }
+
+    private static Workflow randomWorkflow(String id, Random random) {
+        UserRole[] roles = {null, UserRole.ADMIN, UserRole.MANAGER, UserRole.STAFF};
+        return workflow(id,
+                WorkflowStatus.values()[random.nextInt(WorkflowStatus.values().length)],
+                roles[random.nextInt(roles.length)],
+                EMAILS[random.nextInt(EMAILS.length)],
+                EMAILS[random.nextInt(EMAILS.length)]);
+    }
+
+    private static Workflow workflow(String id, WorkflowStatus status, UserRole role, String assignedTo, String createdBy) {
+        Workflow workflow = new Workflow();
+        workflow.setId(id);
+        workflow.setStatus(status);
+        workflow.setAssignedToRole(role);
+        workflow.setAssignedTo(assignedTo);
+        workflow.setCreatedBy(createdBy);
+        return workflow;
+    }
+}
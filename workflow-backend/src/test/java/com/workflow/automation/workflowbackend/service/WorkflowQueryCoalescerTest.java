@@ -0,0 +1,109 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.Workflow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WorkflowQueryCoalescerTest {
+
+    private final Criteria query = Criteria.where("assignedToRole").in("MANAGER", "STAFF");
+
+    @Test
+    void concurrentIdenticalQueriesShareOneExecution() throws Exception {
+        WorkflowQueryCoalescer coalescer = new WorkflowQueryCoalescer(0, new SimpleMeterRegistry());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Workflow> rows = List.of(new Workflow());
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<Workflow>> first = pool.submit(() -> coalescer.execute(query, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return rows;
+            }));
+            while (executions.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<List<Workflow>> second = pool.submit(() -> coalescer.execute(query, () -> {
+                executions.incrementAndGet();
+                return rows;
+            }));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+            assertEquals(0.5, coalescer.coalescingRatio());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void freshResultsAreReusedUntilInvalidated() {
+        WorkflowQueryCoalescer coalescer = new WorkflowQueryCoalescer(60_000, new SimpleMeterRegistry());
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute(query, () -> load(executions));
+        coalescer.execute(query, () -> load(executions));
+        assertEquals(1, executions.get());
+
+        coalescer.invalidate();
+        coalescer.execute(query, () -> load(executions));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void readsAfterAWriteDoNotJoinAQueryStartedBeforeIt() throws Exception {
+        WorkflowQueryCoalescer coalescer = new WorkflowQueryCoalescer(60_000, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Workflow> beforeWrite = List.of(new Workflow());
+        List<Workflow> afterWrite = List.of(new Workflow());
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Workflow>> blocked = pool.submit(() -> coalescer.execute(query, () -> {
+                started.countDown();
+                await(release);
+                return beforeWrite;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            coalescer.invalidate();
+            assertSame(afterWrite, coalescer.execute(query, () -> afterWrite));
+
+            release.countDown();
+            assertSame(beforeWrite, blocked.get(5, TimeUnit.SECONDS));
+            assertSame(afterWrite, coalescer.execute(query, () -> List.of()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<Workflow> load(AtomicInteger executions) {
+        executions.incrementAndGet();
+        return List.of(new Workflow());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkflowSearchIndexTest {
+
+    private final WorkflowSearchIndex index = new WorkflowSearchIndex(null, 64);
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        index.index(workflow("1", "Quarterly budget review", "Collect numbers", WorkflowStatus.PENDING));
+        index.index(workflow("2", "Office move", "Budget for new chairs", WorkflowStatus.PENDING));
+
+        assertEquals(List.of("1", "2"), index.search("budget", e -> true, 10));
+    }
+
+    @Test
+    void matchesPrefixesAndRequiresEveryToken() {
+        index.index(workflow("1", "Invoice approval", "Approve supplier invoices", WorkflowStatus.PENDING));
+        index.index(workflow("2", "Invoice archive", "Move old files", WorkflowStatus.PENDING));
+
+        assertEquals(List.of("1", "2"), index.search("inv", e -> true, 10));
+        assertEquals(List.of("1"), index.search("invoice appr", e -> true, 10));
+    }
+
+    @Test
+    void appliesFilterAndTracksUpdates() {
+        Workflow workflow = workflow("1", "Server patching", "Patch the servers", WorkflowStatus.PENDING);
+        index.index(workflow);
+        assertTrue(index.search("patch", e -> e.status() == WorkflowStatus.COMPLETED, 10).isEmpty());
+
+        workflow.setStatus(WorkflowStatus.COMPLETED);
+        workflow.setTitle("Server upgrade");
+        workflow.setDescription("Upgrade the servers");
+        index.index(workflow);
+        assertTrue(index.search("patch", e -> true, 10).isEmpty());
+        assertEquals(List.of("1"), index.search("upgrade", e -> e.status() == WorkflowStatus.COMPLETED, 10));
+
+        index.remove("1");
+        assertTrue(index.search("upgrade", e -> true, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildDoesNotResurrectAWorkflowDeletedAfterItWasRead() {
+        WorkflowRepository repository = mock(WorkflowRepository.class);
+        WorkflowSearchIndex rebuilt = new WorkflowSearchIndex(repository, 64);
+        Workflow deleted = workflow("1", "Vendor audit", "Check vendor contracts", WorkflowStatus.PENDING);
+        Workflow kept = workflow("2", "Vendor onboarding", "New vendor forms", WorkflowStatus.PENDING);
+        // The delete lands between the cursor returning the row and the rebuild indexing it
+        when(repository.streamAllBy()).thenReturn(Stream.of(deleted, kept)
+                .peek(w -> {
+                    if (w == deleted) rebuilt.remove("1");
+                }));
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of("2"), rebuilt.search("vendor", e -> true, 10));
+    }
+
+    // mvn test -DskipTests=false -Dbenchmark=true -Dtest=WorkflowSearchIndexTest -DargLine=-Xmx3g
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void searchLatencyAtOneMillionWorkflows() {
+        List<String> vocabulary = new ArrayList<>(Arrays.asList(
+                "invoice", "budget", "review", "approval", "server", "patch", "onboarding", "contract",
+                "audit", "payroll", "vendor", "renewal", "migration", "report", "quarterly", "security",
+                "training", "hiring", "policy", "expense", "travel", "license", "backup", "release"));
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            vocabulary.add(Integer.toString(random.nextInt(Integer.MAX_VALUE), 36));
+        }
+
+        for (int i = 0; i < 1_000_000; i++) {
+            String title = words(vocabulary, random, 3) + " " + i;
+            String description = words(vocabulary, random, 12);
+            index.index(workflow(String.valueOf(i), title, description,
+                    WorkflowStatus.values()[random.nextInt(WorkflowStatus.values().length)]));
+        }
+
+        String[] queries = {"invoice", "budget review", "serv", "quarterly audit report", "on"};
+        for (String query : queries) {
+            for (int i = 0; i < 5; i++) {
+                index.search(query, e -> true, 50);
+            }
+            long start = System.nanoTime();
+            int runs = 20;
+            for (int i = 0; i < runs; i++) {
+                index.search(query, e -> e.status() == WorkflowStatus.PENDING, 50);
+            }
+            System.out.printf("query=%-24s avg=%.2f ms%n", query, (System.nanoTime() - start) / 1e6 / runs);
+        }
+    }
+
+    private static String words(List<String> vocabulary, Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            // Skewed towards the head of the vocabulary, like real titles
+            int bound = random.nextInt(4) == 0 ? 24 : vocabulary.size();
+            sb.append(vocabulary.get(random.nextInt(bound)));
+        }
+        return sb.toString();
+    }
+
+    private static Workflow workflow(String id, String title, String description, WorkflowStatus status) {
+        Workflow workflow = new Workflow();
+        workflow.setId(id);
+        workflow.setTitle(title);
+        workflow.setDescription(description);
+        workflow.setStatus(status);
+        workflow.setAssignedTo("staff@example.com");
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setCreatedBy("manager@example.com");
+        return workflow;
+    }
+}
@@ -0,0 +1,145 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.exception.AccessDeniedException;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.UserRepository;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkflowServiceArchiveTest {
+
+    private final WorkflowRepository workflowRepository = mock(WorkflowRepository.class);
+    private final WorkflowAttachmentCleanup attachmentCleanup = mock(WorkflowAttachmentCleanup.class);
+    private StaleReadStore staleReads;
+    private WorkflowService service;
+
+    @BeforeEach
+    void setUp() {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 5, 10, new SimpleMeterRegistry());
+        staleReads = new StaleReadStore(breaker, true, 100, 10_000, new SimpleMeterRegistry());
+        service = new WorkflowService(workflowRepository, mock(UserRepository.class), mock(WorkflowSearchIndex.class),
+                new WorkflowQueryCoalescer(0, new SimpleMeterRegistry()), breaker, staleReads,
+                new WorkflowColumnStore(null, false, 10, 5, 5000, new SimpleMeterRegistry()), attachmentCleanup);
+        when(workflowRepository.findAllMatching(any())).thenReturn(List.of());
+        when(workflowRepository.findAllArchivedMatching(any())).thenReturn(List.of());
+        when(workflowRepository.findOneMatching(any())).thenReturn(Optional.empty());
+        when(workflowRepository.findOneArchivedMatching(any())).thenReturn(Optional.empty());
+        when(workflowRepository.save(any(Workflow.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void listsLeaveTheArchiveAloneUnlessAsked() {
+        Workflow hot = workflow("1", WorkflowStatus.PENDING);
+        Workflow restoring = workflow("2", WorkflowStatus.IN_PROGRESS);
+        when(workflowRepository.findAllMatching(any())).thenReturn(List.of(hot, restoring));
+        when(workflowRepository.findAllArchivedMatching(any()))
+                .thenReturn(List.of(workflow("2", WorkflowStatus.COMPLETED), workflow("3", WorkflowStatus.REJECTED)));
+
+        assertEquals(List.of("1", "2"), ids(service.getAllWorkflows(admin(), null, null, null, false)));
+        verify(workflowRepository, never()).findAllArchivedMatching(any());
+
+        List<Workflow> all = service.getAllWorkflows(admin(), null, null, null, true);
+        assertEquals(List.of("1", "2", "3"), ids(all));
+        assertEquals(WorkflowStatus.IN_PROGRESS, all.get(1).getStatus());
+    }
+
+    @Test
+    void onlyListsAreKeptForDegradedReads() throws Exception {
+        when(workflowRepository.findOneArchivedMatching(any(Criteria.class)))
+                .thenReturn(Optional.of(workflow("1", WorkflowStatus.COMPLETED)));
+
+        service.getWorkflowById("1", admin());
+        assertEquals(0, staleReads.size());
+
+        service.getAllWorkflows(admin(), null, null, null, true);
+        assertEquals(2, staleReads.size());
+    }
+
+    @Test
+    void updatingAnArchivedWorkflowRestoresItFirst() throws Exception {
+        Workflow archived = workflow("1", WorkflowStatus.COMPLETED);
+        when(workflowRepository.findOneArchivedMatching(any(Criteria.class))).thenReturn(Optional.of(archived));
+
+        Workflow updated = service.updateWorkflowStatus("1", "IN_PROGRESS", assignee());
+
+        assertEquals(WorkflowStatus.IN_PROGRESS, updated.getStatus());
+        InOrder order = inOrder(workflowRepository);
+        order.verify(workflowRepository).save(archived);
+        order.verify(workflowRepository).deleteArchivedById("1");
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void refusedChangesLeaveTheArchiveUntouched() {
+        Workflow archived = workflow("1", WorkflowStatus.COMPLETED);
+        when(workflowRepository.findOneArchivedMatching(any(Criteria.class))).thenReturn(Optional.of(archived));
+
+        assertThrows(AccessDeniedException.class, () -> service.deleteWorkflow("1", otherStaff()));
+        assertThrows(AccessDeniedException.class, () -> service.updateWorkflowStatus("1", "IN_PROGRESS", otherStaff()));
+
+        verify(workflowRepository, never()).save(any(Workflow.class));
+        verify(workflowRepository, never()).deleteArchivedById(any());
+        verify(workflowRepository, never()).delete(any(Workflow.class));
+        verify(attachmentCleanup, never()).deleteAll(any());
+    }
+
+    @Test
+    void deletingAnArchivedWorkflowRemovesItFromTheArchiveOnly() {
+        Workflow archived = workflow("1", WorkflowStatus.COMPLETED);
+        when(workflowRepository.findOneArchivedMatching(any(Criteria.class))).thenReturn(Optional.of(archived));
+
+        service.deleteWorkflow("1", admin());
+
+        verify(workflowRepository).deleteArchivedById("1");
+        verify(workflowRepository, never()).save(any(Workflow.class));
+        verify(attachmentCleanup).deleteAll("1");
+    }
+
+    private static List<String> ids(List<Workflow> workflows) {
+        return workflows.stream().map(Workflow::getId).toList();
+    }
+
+    private static Workflow workflow(String id, WorkflowStatus status) {
+        Workflow workflow = new Workflow();
+        workflow.setId(id);
+        workflow.setTitle("Workflow " + id);
+        workflow.setStatus(status);
+        workflow.setAssignedTo("staff@example.com");
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setCreatedBy("manager@example.com");
+        workflow.setUpdatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return workflow;
+    }
+
+    private static AuthenticatedUser assignee() {
+        return new AuthenticatedUser("id-staff", "staff@example.com", "Staff", UserRole.STAFF, null);
+    }
+
+    private static AuthenticatedUser otherStaff() {
+        return new AuthenticatedUser("id-other", "other@example.com", "Other", UserRole.STAFF, null);
+    }
+
+    private static AuthenticatedUser admin() {
+        return new AuthenticatedUser("id-admin", "admin@example.com", "Admin", UserRole.ADMIN, null);
+    }
+}
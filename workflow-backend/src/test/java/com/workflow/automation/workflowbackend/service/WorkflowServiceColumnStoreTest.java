@@ -0,0 +1,93 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+import com.workflow.automation.workflowbackend.repository.UserRepository;
+import com.workflow.automation.workflowbackend.repository.WorkflowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkflowServiceColumnStoreTest {
+
+    private final WorkflowRepository workflowRepository = mock(WorkflowRepository.class);
+
+    @Test
+    void listsIncludeWorkflowsWrittenByOtherInstancesSinceTheLastRebuild() {
+        Workflow known = workflow("1");
+        Workflow writtenElsewhere = workflow("2");
+        when(workflowRepository.streamAllBy()).thenReturn(Stream.of(known));
+        when(workflowRepository.findIdsMatching(any(Criteria.class))).thenReturn(List.of("2", "1"));
+        when(workflowRepository.findAllMatching(any(Criteria.class))).thenReturn(List.of(known, writtenElsewhere));
+        WorkflowColumnStore columnStore = columnStore(5000);
+        WorkflowService service = service(columnStore);
+
+        columnStore.rebuild();
+        assertTrue(columnStore.changesSince().isBefore(Instant.now()));
+
+        List<String> ids = service.getAllWorkflows(admin(), null, null, null).stream().map(Workflow::getId).toList();
+        assertEquals(List.of("1", "2"), ids);
+        verify(workflowRepository).ensureUpdatedAtIndex();
+        // The changed ids join the selection, so the documents are loaded once, by id
+        ArgumentCaptor<Criteria> loaded = ArgumentCaptor.forClass(Criteria.class);
+        verify(workflowRepository).findAllMatching(loaded.capture());
+        assertEquals(List.of("1", "2"), loaded.getValue().getCriteriaObject().get("_id", Document.class).get("$in"));
+    }
+
+    @Test
+    void selectionsLargerThanTheBoundQueryMongoDirectly() {
+        when(workflowRepository.streamAllBy()).thenReturn(Stream.of(workflow("1"), workflow("2")));
+        // An admin's unfiltered list has no criteria at all
+        when(workflowRepository.findAllMatching(any())).thenReturn(List.of(workflow("1"), workflow("2")));
+        WorkflowColumnStore columnStore = columnStore(1);
+        WorkflowService service = service(columnStore);
+
+        columnStore.rebuild();
+
+        assertEquals(2, service.getAllWorkflows(admin(), null, null, null).size());
+        verify(workflowRepository, never()).findIdsMatching(any(Criteria.class));
+    }
+
+    private WorkflowColumnStore columnStore(int maxSelection) {
+        return new WorkflowColumnStore(workflowRepository, true, 10, 5, maxSelection, new SimpleMeterRegistry());
+    }
+
+    private WorkflowService service(WorkflowColumnStore columnStore) {
+        MongoCircuitBreaker breaker = new MongoCircuitBreaker(true, 5, 10, new SimpleMeterRegistry());
+        return new WorkflowService(workflowRepository, mock(UserRepository.class),
+                mock(WorkflowSearchIndex.class), new WorkflowQueryCoalescer(0, new SimpleMeterRegistry()), breaker,
+                new StaleReadStore(breaker, true, 100, 10_000, new SimpleMeterRegistry()), columnStore,
+                mock(WorkflowAttachmentCleanup.class));
+    }
+
+    private static Workflow workflow(String id) {
+        Workflow workflow = new Workflow();
+        workflow.setId(id);
+        workflow.setStatus(WorkflowStatus.PENDING);
+        workflow.setAssignedTo("staff@example.com");
+        workflow.setAssignedToRole(UserRole.STAFF);
+        workflow.setCreatedBy("manager@example.com");
+        workflow.setUpdatedAt(Instant.now());
+        return workflow;
+    }
+
+    private static AuthenticatedUser admin() {
+        return new AuthenticatedUser("id-admin", "admin@example.com", "Admin", UserRole.ADMIN, null);
+    }
+}
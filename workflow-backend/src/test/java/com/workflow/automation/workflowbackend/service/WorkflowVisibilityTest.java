@@ -0,0 +1,121 @@
+package com.workflow.automation.workflowbackend.service;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WorkflowVisibilityTest {
+
+    private static final List<String> EMAILS = List.of("admin@example.com", "manager@example.com",
+            "staff@example.com", "other@example.com");
+    private static final List<UserRole> ROLES = Stream.concat(Stream.of((UserRole) null),
+            Arrays.stream(UserRole.values())).toList();
+
+    @Test
+    void adminIsUnrestricted() {
+        AuthenticatedUser admin = user("admin@example.com", UserRole.ADMIN);
+
+        assertNull(WorkflowVisibility.forList(admin).toCriteria());
+        assertNull(WorkflowVisibility.forDetail(admin).toCriteria());
+        assertNull(WorkflowVisibility.of(admin).toCriteria());
+    }
+
+    // Baseline getAllWorkflowsForManager / getAllWorkflowsForStaff: managers list MANAGER and
+    // STAFF workflows, staff only those assigned to them; neither lists what they created
+    @Test
+    void listsKeepTheBaselineScope() {
+        for (UserRole callerRole : UserRole.values()) {
+            AuthenticatedUser caller = user(callerRole.name().toLowerCase() + "@example.com", callerRole);
+            WorkflowVisibility visibility = WorkflowVisibility.forList(caller);
+            forEachWorkflow((assignedTo, createdBy, role) -> assertEquals(
+                    switch (callerRole) {
+                        case ADMIN -> true;
+                        case MANAGER -> role == UserRole.MANAGER || role == UserRole.STAFF;
+                        case STAFF -> caller.getEmail().equals(assignedTo);
+                    },
+                    visibility.test(assignedTo, createdBy, role),
+                    callerRole + " list " + assignedTo + " " + createdBy + " " + role));
+        }
+
+        Document managerList = WorkflowVisibility.forList(user("manager@example.com", UserRole.MANAGER))
+                .toCriteria().getCriteriaObject();
+        assertEquals(List.of("assignedToRole"), List.copyOf(managerList.keySet()));
+        assertEquals(Set.of(UserRole.MANAGER, UserRole.STAFF),
+                Set.copyOf(managerList.get("assignedToRole", Document.class).get("$in", Collection.class)));
+        assertEquals(new Document("assignedTo", "staff@example.com"),
+                WorkflowVisibility.forList(user("staff@example.com", UserRole.STAFF)).toCriteria().getCriteriaObject());
+    }
+
+    // Baseline hasAccessToWorkflow: only the assignee and the creator open a workflow by id,
+    // whatever role it is assigned to
+    @Test
+    void detailsKeepTheBaselineScope() {
+        for (UserRole callerRole : List.of(UserRole.MANAGER, UserRole.STAFF)) {
+            AuthenticatedUser caller = user(callerRole.name().toLowerCase() + "@example.com", callerRole);
+            WorkflowVisibility visibility = WorkflowVisibility.forDetail(caller);
+            forEachWorkflow((assignedTo, createdBy, role) -> assertEquals(
+                    caller.getEmail().equals(assignedTo) || caller.getEmail().equals(createdBy),
+                    visibility.test(assignedTo, createdBy, role),
+                    callerRole + " detail " + assignedTo + " " + createdBy + " " + role));
+        }
+
+        Document query = WorkflowVisibility.forDetail(user("manager@example.com", UserRole.MANAGER))
+                .toCriteria().getCriteriaObject();
+        assertEquals(List.of(
+                new Document("assignedTo", "manager@example.com"),
+                new Document("createdBy", "manager@example.com")
+        ), query.getList("$or", Document.class));
+    }
+
+    // Creator lists were unrestricted in the baseline; they now show what either rule allows
+    @Test
+    void creatorListsSeeWhatEitherRuleAllows() {
+        for (UserRole callerRole : List.of(UserRole.MANAGER, UserRole.STAFF)) {
+            AuthenticatedUser caller = user(callerRole.name().toLowerCase() + "@example.com", callerRole);
+            WorkflowVisibility list = WorkflowVisibility.forList(caller);
+            WorkflowVisibility detail = WorkflowVisibility.forDetail(caller);
+            WorkflowVisibility any = WorkflowVisibility.of(caller);
+            forEachWorkflow((assignedTo, createdBy, role) -> assertEquals(
+                    list.test(assignedTo, createdBy, role) || detail.test(assignedTo, createdBy, role),
+                    any.test(assignedTo, createdBy, role)));
+        }
+    }
+
+    @Test
+    void sharedAndPersonalPartsCoverTheListRuleWithoutOverlap() {
+        WorkflowVisibility manager = WorkflowVisibility.forList(user("manager@example.com", UserRole.MANAGER));
+        assertNull(manager.toPersonalCriteria());
+
+        WorkflowVisibility staff = WorkflowVisibility.forList(user("staff@example.com", UserRole.STAFF));
+        assertNull(staff.toSharedCriteria());
+        assertEquals(new Document("assignedTo", "staff@example.com"), staff.toPersonalCriteria().getCriteriaObject());
+    }
+
+    private interface WorkflowCheck {
+        void accept(String assignedTo, String createdBy, UserRole role);
+    }
+
+    private static void forEachWorkflow(WorkflowCheck check) {
+        for (String assignedTo : EMAILS) {
+            for (String createdBy : EMAILS) {
+                for (UserRole role : ROLES) {
+                    check.accept(assignedTo, createdBy, role);
+                }
+            }
+        }
+    }
+
+    private static AuthenticatedUser user(String email, UserRole role) {
+        return new AuthenticatedUser("id-" + email, email, email, role, null);
+    }
+}
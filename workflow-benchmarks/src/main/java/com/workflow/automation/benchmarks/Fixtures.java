@@ -0,0 +1,59 @@
+package com.workflow.automation.benchmarks;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.model.WorkflowStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test data shared by the benchmarks, so runs on different commits
+ * measure the same inputs.
+ */
+final class Fixtures {
+
+    static final int STAFF = 200;
+    static final int MANAGERS = 20;
+
+    private Fixtures() {
+    }
+
+    static AuthenticatedUser user(UserRole role) {
+        String email = switch (role) {
+            case ADMIN -> "admin@example.com";
+            case MANAGER -> "manager0@example.com";
+            case STAFF -> "staff0@example.com";
+        };
+        return new AuthenticatedUser("id-" + email, email, email, role, null);
+    }
+
+    static List<Workflow> workflows(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant base = Instant.parse("2026-01-01T10:00:00Z");
+        List<Workflow> workflows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean toStaff = random.nextInt(4) != 0;
+            Workflow workflow = new Workflow();
+            workflow.setId(String.format("%024x", i));
+            workflow.setTitle("Quarterly review " + i);
+            workflow.setDescription("Collect the budget figures for team " + random.nextInt(100)
+                    + " and prepare the summary for sign-off");
+            workflow.setStatus(WorkflowStatus.values()[random.nextInt(WorkflowStatus.values().length)]);
+            workflow.setAssignedToRole(toStaff ? UserRole.STAFF : UserRole.MANAGER);
+            workflow.setAssignedTo(toStaff
+                    ? "staff" + random.nextInt(STAFF) + "@example.com"
+                    : "manager" + random.nextInt(MANAGERS) + "@example.com");
+            workflow.setCreatedBy("manager" + random.nextInt(MANAGERS) + "@example.com");
+            workflow.setCreatedAt(base.plusSeconds(i));
+            workflow.setUpdatedAt(base.plusSeconds(i + random.nextInt(86_400)));
+            workflow.setDueDate(LocalDate.of(2026, 3, 1).plusDays(random.nextInt(90)));
+            workflows.add(workflow);
+        }
+        return workflows;
+    }
+}
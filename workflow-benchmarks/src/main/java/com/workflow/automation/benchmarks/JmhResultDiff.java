@@ -0,0 +1,71 @@
+package com.workflow.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (baseline first) and prints the change per
+ * benchmark and parameter set. Exits with 1 when any score regressed by more than
+ * the threshold, so it can gate a CI job.
+ *
+ * <pre>java -cp ... JmhResultDiff base.json head.json [thresholdPercent]</pre>
+ */
+public final class JmhResultDiff {
+
+    private JmhResultDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhResultDiff <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().get("primaryMetric");
+            String unit = after.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", after.get("score").asDouble(), "new", unit);
+                continue;
+            }
+
+            double base = before.get("primaryMetric").get("score").asDouble();
+            double score = after.get("score").asDouble();
+            double change = (score - base) / base * 100;
+            // Time-per-op modes regress upwards, throughput regresses downwards
+            boolean worse = unit.endsWith("/op") ? change > threshold : change < -threshold;
+            regressed |= worse;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    entry.getKey(), base, score, change, unit, worse ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,105 @@
+package com.workflow.automation.benchmarks;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.User;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.repository.UserRepository;
+import com.workflow.automation.workflowbackend.service.CustomUserDetailsService;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request user lookup behind JwtAuthFilter, through the real repository
+ * against an embedded mongod. Set BENCHMARK_MONGO_URI to use an existing server instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    @Param({"false", "true"})
+    public boolean emailIndex;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient client;
+    private CustomUserDetailsService userDetailsService;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getenv("BENCHMARK_MONGO_URI");
+        if (uri == null) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            uri = "mongodb://" + mongod.current().getServerAddress();
+        }
+        client = MongoClients.create(uri);
+        MongoTemplate template = new MongoTemplate(client, "workflow-benchmarks");
+        template.dropCollection(User.class);
+
+        emails = new String[users];
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            emails[i] = "user" + i + "@example.com";
+            User user = new User(null, "User " + i, emails[i], UserRole.values()[i % 3], LocalDateTime.now(), null);
+            user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3lYdv7Q0nK0y6t3H3bUe3cS");
+            batch.add(user);
+            if (batch.size() == 10_000) {
+                template.insert(batch, User.class);
+                batch.clear();
+            }
+        }
+        template.insert(batch, User.class);
+        if (emailIndex) {
+            template.indexOps(User.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+        }
+
+        UserRepository userRepository = new MongoRepositoryFactory(template).getRepository(UserRepository.class);
+        userDetailsService = new CustomUserDetailsService(userRepository);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @Benchmark
+    public AuthenticatedUser loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+}
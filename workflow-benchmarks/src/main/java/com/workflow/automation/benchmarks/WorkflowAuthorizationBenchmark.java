@@ -0,0 +1,78 @@
+package com.workflow.automation.benchmarks;
+
+import com.workflow.automation.workflowbackend.model.AuthenticatedUser;
+import com.workflow.automation.workflowbackend.model.UserRole;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import com.workflow.automation.workflowbackend.service.WorkflowVisibility;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The authorization rules WorkflowService applies to every read: building the caller's
+ * visibility, checking it against workflows in memory, and rendering it as a Mongo filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class WorkflowAuthorizationBenchmark {
+
+    @Param({"ADMIN", "MANAGER", "STAFF"})
+    public UserRole role;
+
+    private AuthenticatedUser user;
+    private WorkflowVisibility visibility;
+    private Workflow[] workflows;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user(role);
+        visibility = WorkflowVisibility.of(user);
+        workflows = Fixtures.workflows(1_000).toArray(new Workflow[0]);
+    }
+
+    @Benchmark
+    public WorkflowVisibility visibilityOf() {
+        return WorkflowVisibility.of(user);
+    }
+
+    // Per-row check over 1,000 workflows, as used when filtering search hits
+    @Benchmark
+    public int testThousandWorkflows() {
+        int visible = 0;
+        for (Workflow workflow : workflows) {
+            if (visibility.test(workflow.getAssignedTo(), workflow.getCreatedBy(), workflow.getAssignedToRole())) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public List<Document> toQueryFilters() {
+        WorkflowVisibility visibility = WorkflowVisibility.of(user);
+        return List.of(criteriaObject(visibility.toCriteria()),
+                criteriaObject(visibility.toSharedCriteria()),
+                criteriaObject(visibility.toPersonalCriteria()));
+    }
+
+    private static Document criteriaObject(Criteria criteria) {
+        return criteria != null ? criteria.getCriteriaObject() : new Document();
+    }
+}
@@ -0,0 +1,117 @@
+package com.workflow.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workflow.automation.workflowbackend.config.WorkflowJsonFragmentCache;
+import com.workflow.automation.workflowbackend.config.WorkflowListHttpMessageConverter;
+import com.workflow.automation.workflowbackend.dto.WorkflowDTO;
+import com.workflow.automation.workflowbackend.dto.WorkflowList;
+import com.workflow.automation.workflowbackend.model.Workflow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rendering a workflow list response: entity to DTO mapping, the Jackson write the
+ * controllers originally did, and the fragment-cache converter that now serves JSON lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WorkflowSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int rows;
+
+    private List<Workflow> workflows;
+    private ObjectMapper objectMapper;
+    private WorkflowListHttpMessageConverter converter;
+    private HttpOutputMessage response;
+    private DiscardingOutputStream sink;
+
+    @Setup
+    public void setUp() throws IOException {
+        workflows = Fixtures.workflows(rows);
+        // Same settings Spring Boot applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new WorkflowListHttpMessageConverter(new WorkflowJsonFragmentCache(objectMapper, 200_000));
+        sink = new DiscardingOutputStream();
+        HttpHeaders headers = new HttpHeaders();
+        response = new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return sink;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+        // Fill the fragment cache so the converter benchmark measures the steady state
+        converter.write(new WorkflowList(workflows), MediaType.APPLICATION_JSON, response);
+    }
+
+    @Benchmark
+    public List<WorkflowDTO> fromWorkflow() {
+        return workflows.stream().map(WorkflowDTO::fromWorkflow).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long fromWorkflowAndSerialize() throws IOException {
+        List<WorkflowDTO> dtos = workflows.stream().map(WorkflowDTO::fromWorkflow).collect(Collectors.toList());
+        objectMapper.writeValue(sink, dtos);
+        return sink.drain();
+    }
+
+    @Benchmark
+    public long fragmentCacheConverter() throws IOException {
+        converter.write(new WorkflowList(workflows), MediaType.APPLICATION_JSON, response);
+        return sink.drain();
+    }
+
+    // Counts bytes so the write can't be optimized away; close() is a no-op because
+    // Jackson closes its target after each write
+    private static final class DiscardingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        long drain() {
+            long written = count;
+            count = 0;
+            return written;
+        }
+    }
+}
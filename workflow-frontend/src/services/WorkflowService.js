@@ -133,6 +133,32 @@ class WorkflowService {
     }
   }
 
+  /**
+   * Search workflows by title and description, ranked by relevance
+   * @param {string} query - Search text
+   * @param {Object} filters - Optional status/assigneeId/assignedToRole filters
+   * @returns {Promise<Array>} Array of matching workflows, best match first
+   */
+  async searchWorkflows(query, filters = {}) {
+    try {
+      console.debug(`[WorkflowService] Searching workflows for: ${query}`, filters);
+
+      const params = { q: query };
+      ['status', 'assigneeId', 'assignedToRole', 'limit'].forEach(key => {
+        if (filters[key]) params[key] = filters[key];
+      });
+
+      const response = await api.get('/workflows/search', { params });
+      return response.data;
+    } catch (error) {
+      console.error('[WorkflowService] Failed to search workflows:', {
+        error: error.message,
+        query
+      });
+      throw error;
+    }
+  }
+
   /**
    * Get workflow by ID
    * @param {string} id - Workflow ID